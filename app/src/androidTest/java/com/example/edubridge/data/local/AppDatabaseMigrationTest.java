@@ -0,0 +1,161 @@
+package com.example.edubridge.data.local;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Opens every exported schema version populated with a large fixture, runs the
+ * explicit migrations up to {@link AppDatabase#VERSION} and checks no rows were lost.
+ *
+ * Schemas are read from app/schemas (added to the androidTest assets in build.gradle).
+ */
+@RunWith(AndroidJUnit4.class)
+public class AppDatabaseMigrationTest {
+
+    private static final String TEST_DB = "migration-test";
+    private static final int FIXTURE_ROWS = 2000;
+
+    @Rule
+    public MigrationTestHelper helper = new MigrationTestHelper(
+            InstrumentationRegistry.getInstrumentation(), AppDatabase.class);
+
+    @Test
+    public void migrateEachExportedVersionToLatest() throws IOException {
+        for (int from = DatabaseMigrations.FIRST_EXPORTED_VERSION; from < AppDatabase.VERSION; from++) {
+            String name = TEST_DB + "-" + from;
+            SupportSQLiteDatabase db = helper.createDatabase(name, from);
+            insertFixture(db);
+            if (from < 17) insertLegacyOfflineCourse(db);
+            if (from >= 16 && from < 19) insertOwnerlessOutboxRows(db);
+            db.close();
+
+            db = helper.runMigrationsAndValidate(name, AppDatabase.VERSION, true, DatabaseMigrations.ALL);
+            assertFixtureKept(db);
+            if (from < 17) assertOfflineCourseMoved(db);
+            if (from >= 16 && from < 19) assertOutboxOwnersBackfilled(db);
+            assertCatalogSearchable(db);
+            db.close();
+        }
+    }
+
+    @Test
+    public void roomOpensMigratedDatabaseWithoutDataLoss() throws IOException {
+        SupportSQLiteDatabase db = helper.createDatabase(TEST_DB, DatabaseMigrations.FIRST_EXPORTED_VERSION);
+        insertFixture(db);
+        db.close();
+
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        AppDatabase appDb = Room.databaseBuilder(context, AppDatabase.class, TEST_DB)
+                .addMigrations(DatabaseMigrations.ALL)
+                .build();
+        assertFixtureKept(appDb.getOpenHelper().getWritableDatabase());
+        appDb.close();
+    }
+
+    /**
+     * Fixture rows use the columns present since the first exported version.
+     */
+    private void insertFixture(SupportSQLiteDatabase db) {
+        db.beginTransaction();
+        try {
+            for (int i = 0; i < FIXTURE_ROWS; i++) {
+                db.execSQL("INSERT INTO courses (courseId, title, description, category, progress, "
+                                + "totalLessons, isPublished, createdAt) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                        new Object[]{ "course" + i, "Course " + i, "Description " + i, "Science",
+                                i % 10, 10, 1, 1_700_000_000_000L + i });
+                db.execSQL("INSERT INTO notifications (id, title, body, type, isRead, timestamp) "
+                                + "VALUES (?, ?, ?, ?, ?, ?)",
+                        new Object[]{ "n" + i, "Title " + i, "Body " + i, "reminder", i % 2,
+                                1_700_000_000_000L + i });
+                db.execSQL("INSERT INTO chat_messages (id, content, isUser, timestamp) VALUES (?, ?, ?, ?)",
+                        new Object[]{ "m" + i, "Message " + i, i % 2, 1_700_000_000_000L + i });
+                db.execSQL("INSERT INTO planner_tasks (id, userId, title, dueDate, isCompleted, createdAt) "
+                                + "VALUES (?, ?, ?, ?, ?, ?)",
+                        new Object[]{ "t" + i, "user" + (i % 20), "Task " + i, 1_700_000_000_000L + i,
+                                i % 3 == 0 ? 1 : 0, 1_700_000_000_000L });
+                db.execSQL("INSERT INTO community_posts (id, authorId, userName, content, createdAt, avatarRes) "
+                                + "VALUES (?, ?, ?, ?, ?, ?)",
+                        new Object[]{ "p" + i, "user" + (i % 20), "Student", "Post " + i,
+                                1_700_000_000_000L + i, 0 });
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Before 17 OfflineManager kept its placeholders in courses.
+     */
+    private void insertLegacyOfflineCourse(SupportSQLiteDatabase db) {
+        db.execSQL("INSERT INTO courses (courseId, title, description, category, progress, "
+                        + "totalLessons, isPublished, createdAt) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                new Object[]{ "offline_math", "Mathematics", "Algebra & Geometry", "Mathematics",
+                        0, 0, 1, 1_700_000_000_000L });
+    }
+
+    private void assertOfflineCourseMoved(SupportSQLiteDatabase db) {
+        assertEquals(0, count(db, "courses WHERE courseId = 'offline_math'"));
+        assertEquals(1, count(db, "catalog_courses WHERE courseId = 'offline_math'"));
+        // Indexed by the 17 -> 18 rebuild
+        assertEquals(1, count(db, "courses_fts WHERE courses_fts MATCH 'mathem*'"));
+    }
+
+    /**
+     * Before 19 outbox rows had no uid.
+     */
+    private void insertOwnerlessOutboxRows(SupportSQLiteDatabase db) {
+        for (String path : new String[]{ "users/alice/enrollments/c1", "community_posts/p1" }) {
+            db.execSQL("INSERT INTO outbox (groupId, documentPath, type, fieldsJson, createdAt, "
+                            + "attempts, inFlight) VALUES (0, ?, 'UPDATE', '{}', 0, 0, 0)",
+                    new Object[]{ path });
+        }
+    }
+
+    private void assertOutboxOwnersBackfilled(SupportSQLiteDatabase db) {
+        assertEquals(1, count(db, "outbox WHERE documentPath = 'users/alice/enrollments/c1' "
+                + "AND uid = 'alice'"));
+        assertEquals(1, count(db, "outbox WHERE documentPath = 'community_posts/p1' AND uid IS NULL"));
+    }
+
+    /**
+     * courses_fts follows catalog_courses only; the synced courses stay out of it.
+     */
+    private void assertCatalogSearchable(SupportSQLiteDatabase db) {
+        assertEquals(0, count(db, "courses_fts WHERE courses_fts MATCH 'cours*'"));
+        db.execSQL("INSERT INTO catalog_courses (courseId, title, description, category, "
+                        + "totalLessons, isPublished, createdAt) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                new Object[]{ "catalog1", "Searchable Course", "Description", "Science",
+                        10, 1, 1_700_000_000_000L });
+        assertEquals(1, count(db, "courses_fts WHERE courses_fts MATCH 'searchable'"));
+    }
+
+    private void assertFixtureKept(SupportSQLiteDatabase db) {
+        assertEquals(FIXTURE_ROWS, count(db, "courses"));
+        assertEquals(FIXTURE_ROWS, count(db, "notifications"));
+        assertEquals(FIXTURE_ROWS, count(db, "chat_messages"));
+        assertEquals(FIXTURE_ROWS, count(db, "planner_tasks"));
+        assertEquals(FIXTURE_ROWS, count(db, "community_posts"));
+    }
+
+    private int count(SupportSQLiteDatabase db, String table) {
+        try (Cursor c = db.query("SELECT COUNT(*) FROM " + table)) {
+            c.moveToFirst();
+            return c.getInt(0);
+        }
+    }
+}
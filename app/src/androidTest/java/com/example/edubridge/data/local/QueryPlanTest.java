@@ -0,0 +1,219 @@
+package com.example.edubridge.data.local;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.room.Room;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs EXPLAIN QUERY PLAN on every statement issued by every DAO method and fails
+ * on full table scans or temp B-tree sorts, so new queries can't regress.
+ *
+ * DAO methods are discovered through AppDatabase and invoked with dummy arguments;
+ * the SQL they run is captured through RoomDatabase.QueryCallback.
+ */
+@RunWith(AndroidJUnit4.class)
+public class QueryPlanTest {
+
+    /**
+     * Methods that read (or clear) a whole table by design.
+     */
+    private static final Set<String> ALLOWED_SCANS = new HashSet<>(Arrays.asList(
+            "CourseDao#getAllCourses",
+            "CourseDao#getAllCoursesSync",
+            "CourseDao#deleteAll",
+            "CourseDao#replaceAll", // deleteAll + upsertAll
+            "CatalogCourseDao#getAllSync",
+            "CatalogCourseDao#getCount",
+            "CatalogCourseDao#search", // FTS MATCH runs through the virtual table
+            "NotificationDao#observeLatestPage", // reads :limit rows from the end of the index
+            "NotificationDao#deleteAll",
+            "NotificationDao#deleteAllRows",
+            "NotificationDao#deleteBeyond", // walks the index past the newest :maxRows
+            "NotificationDao#compact",
+            "NotificationDao#replaceAll",
+            "ChatMessageDao#getAllMessages",
+            "ChatMessageDao#getAllMessagesSync",
+            "ChatMessageDao#getLatestPage", // reads :limit rows from the end of the index
+            "ChatMessageDao#getMessageCount",
+            "ChatMessageDao#deleteAll",
+            "ChatMessageDao#replaceAll",
+            "CommunityPostDao#getAllPosts",
+            "CommunityPostDao#getAllPostsSync",
+            "CommunityPostDao#getPostCount",
+            "CommunityPostDao#deleteAll",
+            "CommunityPostDao#replaceAll",
+            "PlannerTaskDao#getAllTasksSync",
+            "PlannerTaskDao#deleteAll",
+            "OutboxDao#getPending", // queue head in rowid order
+            "OutboxDao#claim",
+            "OutboxDao#resetInFlight", // once per flush, table is tiny
+            "OutboxDao#observePendingCount",
+            "OutboxDao#countPending"
+    ));
+
+    /**
+     * Methods allowed to sort without an index.
+     */
+    private static final Set<String> ALLOWED_TEMP_SORTS = new HashSet<>(Arrays.asList(
+            "PlannerTaskDao#getAllTasksSync" // legacy, unfiltered export
+    ));
+
+    private final List<Statement> captured = new ArrayList<>();
+    private AppDatabase db;
+
+    private static class Statement {
+        final String sql;
+        final Object[] args;
+
+        Statement(String sql, Object[] args) {
+            this.sql = sql;
+            this.args = args;
+        }
+    }
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        db = Room.inMemoryDatabaseBuilder(context, AppDatabase.class)
+                .allowMainThreadQueries()
+                // Run LiveData queries synchronously so they are captured per method
+                .setQueryExecutor(Runnable::run)
+                .setQueryCallback((sql, bindArgs) -> {
+                    synchronized (captured) {
+                        captured.add(new Statement(sql, bindArgs.toArray()));
+                    }
+                }, Runnable::run)
+                .build();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void everyDaoQueryUsesAnIndex() throws Exception {
+        List<String> failures = new ArrayList<>();
+        int checked = 0;
+
+        for (Method daoGetter : AppDatabase.class.getDeclaredMethods()) {
+            Class<?> daoType = daoGetter.getReturnType();
+            if (daoGetter.getParameterTypes().length != 0
+                    || !daoType.isInterface()
+                    || !daoType.getPackage().getName().endsWith(".dao")) {
+                continue;
+            }
+            Object dao = daoGetter.invoke(db);
+
+            for (Method method : daoType.getMethods()) {
+                if (Modifier.isStatic(method.getModifiers())) continue;
+                String key = daoType.getSimpleName() + "#" + method.getName();
+
+                for (Statement statement : captureStatements(dao, method)) {
+                    checked++;
+                    for (String detail : explain(statement)) {
+                        if (detail.startsWith("SCAN") && !ALLOWED_SCANS.contains(key)) {
+                            failures.add(key + ": " + detail + "\n    " + statement.sql);
+                        }
+                        if (detail.contains("TEMP B-TREE") && !ALLOWED_TEMP_SORTS.contains(key)) {
+                            failures.add(key + ": " + detail + "\n    " + statement.sql);
+                        }
+                    }
+                }
+            }
+        }
+
+        assertTrue("No DAO statements were captured", checked > 0);
+        if (!failures.isEmpty()) {
+            fail("Query plan regressions:\n" + String.join("\n", failures));
+        }
+    }
+
+    /**
+     * Invoke a DAO method and return the SELECT/UPDATE/DELETE statements it ran.
+     */
+    private List<Statement> captureStatements(Object dao, Method method) throws Exception {
+        synchronized (captured) {
+            captured.clear();
+        }
+
+        Object result = method.invoke(dao, dummyArgs(method));
+        if (result instanceof LiveData) {
+            LiveData<?> live = (LiveData<?>) result;
+            Observer<Object> observer = value -> { };
+            InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+                live.observeForever(observer);
+                live.removeObserver(observer);
+            });
+        }
+
+        List<Statement> statements = new ArrayList<>();
+        synchronized (captured) {
+            for (Statement s : captured) {
+                String sql = s.sql.trim().toUpperCase();
+                boolean isQuery = sql.startsWith("SELECT") || sql.startsWith("UPDATE")
+                        || sql.startsWith("DELETE") || sql.startsWith("WITH");
+                if (isQuery && !sql.contains("ROOM_") && !sql.contains("SQLITE_MASTER")) {
+                    statements.add(s);
+                }
+            }
+        }
+        return statements;
+    }
+
+    private List<String> explain(Statement statement) {
+        SupportSQLiteDatabase sqlite = db.getOpenHelper().getWritableDatabase();
+        List<String> details = new ArrayList<>();
+        try (Cursor c = sqlite.query("EXPLAIN QUERY PLAN " + statement.sql, statement.args)) {
+            int detailIndex = c.getColumnIndexOrThrow("detail");
+            while (c.moveToNext()) {
+                details.add(c.getString(detailIndex));
+            }
+        }
+        return details;
+    }
+
+    private Object[] dummyArgs(Method method) throws Exception {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            args[i] = dummyValue(types[i]);
+        }
+        return args;
+    }
+
+    private Object dummyValue(Class<?> type) throws Exception {
+        if (type == String.class) return "x";
+        if (type == long.class || type == Long.class) return 0L;
+        if (type == int.class || type == Integer.class) return 10;
+        if (type == boolean.class || type == Boolean.class) return false;
+        if (List.class.isAssignableFrom(type) || Collection.class.isAssignableFrom(type)) {
+            return new ArrayList<>();
+        }
+        // Entities all have a public no-arg constructor for Room
+        return type.getConstructor().newInstance();
+    }
+}
@@ -13,6 +13,8 @@ import android.widget.Toast;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.example.edubridge.data.local.repository.CourseRepository;
+import com.example.edubridge.utils.TaskScope;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.switchmaterial.SwitchMaterial;
 import com.google.android.material.textfield.TextInputEditText;
@@ -51,6 +53,7 @@ public class AdminCourseEditActivity extends AppCompatActivity {
     private MaterialButton btnSave, btnDelete, btnPreview, btnAddModule;
 
     private FirebaseFirestore db;
+    private final TaskScope scope = TaskScope.of(this);
 
     // Store modules in memory
     private List<Map<String, Object>> modules = new ArrayList<>();
@@ -113,22 +116,22 @@ public class AdminCourseEditActivity extends AppCompatActivity {
             return;
 
         // Try to load from local DB first
-        new Thread(() -> {
-            com.example.edubridge.data.local.entity.Course localCourse = com.example.edubridge.data.local.AppDatabase
-                    .getInstance(this).courseDao().getCourseByIdSync(courseId);
-
+        scope.add(CourseRepository.getInstance(this).loadCourseById(courseId, scope.bind(localCourse -> {
             if (localCourse != null) {
-                runOnUiThread(() -> populateCourseFields(localCourse));
+                populateCourseFields(localCourse);
             } else {
                 // If not local, try Firestore
-                runOnUiThread(() -> loadFromFirestore());
+                loadFromFirestore();
             }
-        }).start();
+        })));
     }
 
     private void loadFromFirestore() {
         db.collection("courses").document(courseId).get()
                 .addOnSuccessListener(doc -> {
+                    // Not an activity-scoped listener: that one is dropped on onStop, which
+                    // would leave the form blank after a quick trip to the background
+                    if (!scope.isActive()) return;
                     if (doc.exists()) {
                         etTitle.setText(doc.getString("title"));
                         etDescription.setText(doc.getString("description"));
@@ -158,6 +161,7 @@ public class AdminCourseEditActivity extends AppCompatActivity {
                     }
                 })
                 .addOnFailureListener(e -> {
+                    if (!scope.isActive()) return;
                     Toast.makeText(this, "Error loading course: " + e.getMessage(), Toast.LENGTH_SHORT).show();
                 });
     }
@@ -181,6 +185,7 @@ public class AdminCourseEditActivity extends AppCompatActivity {
         // otherwise start empty
         db.collection("courses").document(courseId).get()
                 .addOnSuccessListener(doc -> {
+                    if (!scope.isActive()) return;
                     if (doc.exists()) {
                         List<Map<String, Object>> loadedModules = (List<Map<String, Object>>) doc.get("modules");
                         if (loadedModules != null) {
@@ -10,8 +10,8 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.example.edubridge.data.local.AppDatabase;
 import com.example.edubridge.data.local.entity.Course;
+import com.example.edubridge.data.local.repository.CourseRepository;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
 import com.google.firebase.firestore.FirebaseFirestore;
@@ -104,13 +104,11 @@ public class AdminCourseListActivity extends AppCompatActivity implements AdminC
         progressBar.setVisibility(View.VISIBLE);
         layoutEmpty.setVisibility(View.GONE);
 
-        // First, load from local Room database
-        List<AdminCourseAdapter.CourseItem> allCourses = new ArrayList<>();
-        Set<String> courseIds = new HashSet<>();
+        // First, load from local Room database (off the main thread)
+        CourseRepository.getInstance(this).loadAllCourses(localCourses -> {
+            List<AdminCourseAdapter.CourseItem> allCourses = new ArrayList<>();
+            Set<String> courseIds = new HashSet<>();
 
-        try {
-            AppDatabase localDb = AppDatabase.getInstance(this);
-            List<Course> localCourses = localDb.courseDao().getAllCoursesSync();
             if (localCourses != null) {
                 for (Course c : localCourses) {
                     if (c.courseId != null && !courseIds.contains(c.courseId)) {
@@ -120,10 +118,12 @@ public class AdminCourseListActivity extends AppCompatActivity implements AdminC
                     }
                 }
             }
-        } catch (Exception e) {
-            android.util.Log.e("AdminCourseList", "Failed to load local courses", e);
-        }
 
+            loadFirestoreCourses(allCourses, courseIds);
+        });
+    }
+
+    private void loadFirestoreCourses(List<AdminCourseAdapter.CourseItem> allCourses, Set<String> courseIds) {
         // Then, load from Firestore and merge
         db.collection("courses")
                 .get()
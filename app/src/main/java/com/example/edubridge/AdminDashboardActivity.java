@@ -11,6 +11,7 @@ import android.widget.Toast;
 import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.example.edubridge.data.local.work.CoEnrollmentWorker;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.card.MaterialCardView;
 import com.google.firebase.auth.FirebaseAuth;
@@ -112,6 +113,9 @@ public class AdminDashboardActivity extends AppCompatActivity {
         boolean isSuperAdmin = adminRole.equals(AdminManager.ROLE_SUPER_ADMIN);
         cardAnalytics.setVisibility(isSuperAdmin ? View.VISIBLE : View.GONE);
         cardSettings.setVisibility(isSuperAdmin ? View.VISIBLE : View.GONE);
+
+        // "Students also enrolled in" needs every user's enrollments, so only admins can build it
+        if (isSuperAdmin) CoEnrollmentWorker.schedule(this);
     }
 
     private void setupMenuClicks() {
@@ -132,7 +136,16 @@ public class AdminDashboardActivity extends AppCompatActivity {
         });
 
         cardAnalytics.setOnClickListener(v -> {
-            Toast.makeText(this, "Analytics - Coming Soon", Toast.LENGTH_SHORT).show();
+            new AlertDialog.Builder(this)
+                    .setTitle("Analytics")
+                    .setMessage("Analytics dashboards are coming soon.\n\n"
+                            + "Rebuild \"Students also enrolled in\" recommendations from all enrollments now?")
+                    .setPositiveButton("Rebuild", (d, w) -> {
+                        CoEnrollmentWorker.runNow(this);
+                        Toast.makeText(this, "Rebuild queued", Toast.LENGTH_SHORT).show();
+                    })
+                    .setNegativeButton("Cancel", null)
+                    .show();
         });
 
         cardSettings.setOnClickListener(v -> {
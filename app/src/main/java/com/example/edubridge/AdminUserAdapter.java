@@ -12,6 +12,7 @@ import androidx.recyclerview.widget.RecyclerView;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
 /**
  * Admin User Adapter for M6.2 User Management.
@@ -20,7 +21,7 @@ import java.util.Locale;
  * - A6.2.1: Display list of users
  * - A6.2.2: Filter by name/email/status
  */
-public class AdminUserAdapter extends RecyclerView.Adapter<AdminUserAdapter.VH> {
+public class AdminUserAdapter extends DiffListAdapter<AdminUserAdapter.UserItem, AdminUserAdapter.VH> {
 
     // User data model
     public static class UserItem {
@@ -44,7 +45,6 @@ public class AdminUserAdapter extends RecyclerView.Adapter<AdminUserAdapter.VH>
     }
 
     private List<UserItem> allUsers = new ArrayList<>();
-    private List<UserItem> filteredUsers = new ArrayList<>();
     private OnUserClickListener listener;
 
     private String currentSearchQuery = "";
@@ -74,7 +74,7 @@ public class AdminUserAdapter extends RecyclerView.Adapter<AdminUserAdapter.VH>
     }
 
     private void applyFilters() {
-        filteredUsers.clear();
+        List<UserItem> filteredUsers = new ArrayList<>();
 
         for (UserItem user : allUsers) {
             // Status filter
@@ -94,11 +94,25 @@ public class AdminUserAdapter extends RecyclerView.Adapter<AdminUserAdapter.VH>
             filteredUsers.add(user);
         }
 
-        notifyDataSetChanged();
+        submitList(filteredUsers);
     }
 
     public int getFilteredCount() {
-        return filteredUsers.size();
+        return getItems().size();
+    }
+
+    @NonNull
+    @Override
+    protected String idOf(@NonNull UserItem user) {
+        return user.uid;
+    }
+
+    @Override
+    protected boolean sameContents(@NonNull UserItem a, @NonNull UserItem b) {
+        return a.totalPoints == b.totalPoints
+                && a.isSuspended == b.isSuspended
+                && Objects.equals(a.name, b.name)
+                && Objects.equals(a.email, b.email);
     }
 
     @NonNull
@@ -111,7 +125,7 @@ public class AdminUserAdapter extends RecyclerView.Adapter<AdminUserAdapter.VH>
 
     @Override
     public void onBindViewHolder(@NonNull VH h, int position) {
-        UserItem user = filteredUsers.get(position);
+        UserItem user = getItem(position);
 
         h.tvName.setText(user.name);
         h.tvEmail.setText(user.email);
@@ -137,11 +151,6 @@ public class AdminUserAdapter extends RecyclerView.Adapter<AdminUserAdapter.VH>
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return filteredUsers.size();
-    }
-
     static class VH extends RecyclerView.ViewHolder {
         ImageView ivAvatar;
         View viewStatus;
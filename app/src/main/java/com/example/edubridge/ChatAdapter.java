@@ -7,26 +7,65 @@ import android.widget.ImageView;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.edubridge.data.local.entity.ChatMessage;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
- * RecyclerView adapter for displaying chat messages.
+ * RecyclerView adapter for displaying chat messages, oldest first.
+ * {@link #getItems()} is the conversation as last submitted.
  */
-public class ChatAdapter extends RecyclerView.Adapter<ChatAdapter.ChatViewHolder> {
+public class ChatAdapter extends DiffListAdapter<ChatMessage, ChatAdapter.ChatViewHolder> {
 
-    private List<ChatMessage> messages;
+    public void setMessages(List<ChatMessage> messages) {
+        submitList(messages);
+    }
 
-    public ChatAdapter(List<ChatMessage> messages) {
-        this.messages = messages;
+    /**
+     * Insert older messages (oldest first) at the top of the list.
+     *
+     * @param onCommitted runs once the list is on screen (also when nothing was added)
+     */
+    public void prependMessages(List<ChatMessage> older, @Nullable Runnable onCommitted) {
+        if (older == null || older.isEmpty()) {
+            if (onCommitted != null) onCommitted.run();
+            return;
+        }
+        List<ChatMessage> combined = new ArrayList<>(older);
+        combined.addAll(getItems());
+        submitList(combined, onCommitted);
     }
 
-    public void setMessages(List<ChatMessage> messages) {
-        this.messages = messages;
-        notifyDataSetChanged();
+    /**
+     * Append newer messages (oldest first) at the bottom of the list.
+     *
+     * @param onCommitted runs once they are on screen, e.g. to scroll to them
+     */
+    public void appendMessages(List<ChatMessage> newer, @Nullable Runnable onCommitted) {
+        if (newer == null || newer.isEmpty()) return;
+        List<ChatMessage> combined = new ArrayList<>(getItems());
+        combined.addAll(newer);
+        submitList(combined, onCommitted);
+    }
+
+    public void clearMessages() {
+        submitList(null);
+    }
+
+    @NonNull
+    @Override
+    protected String idOf(@NonNull ChatMessage message) {
+        return message.id;
+    }
+
+    @Override
+    protected boolean sameContents(@NonNull ChatMessage a, @NonNull ChatMessage b) {
+        return a.isUser == b.isUser && Objects.equals(a.content, b.content);
     }
 
     @NonNull
@@ -39,15 +78,10 @@ public class ChatAdapter extends RecyclerView.Adapter<ChatAdapter.ChatViewHolder
 
     @Override
     public void onBindViewHolder(@NonNull ChatViewHolder holder, int position) {
-        ChatMessage message = messages.get(position);
+        ChatMessage message = getItem(position);
         holder.bind(message);
     }
 
-    @Override
-    public int getItemCount() {
-        return messages == null ? 0 : messages.size();
-    }
-
     static class ChatViewHolder extends RecyclerView.ViewHolder {
         private final ImageView ivAiAvatar;
         private final TextView tvUserMessage;
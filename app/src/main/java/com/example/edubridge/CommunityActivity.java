@@ -14,13 +14,12 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.example.edubridge.data.local.AppDatabase;
-import com.example.edubridge.data.local.dao.CommunityPostDao;
 import com.example.edubridge.data.local.entity.LocalCommunityPost;
+import com.example.edubridge.data.local.repository.CommunityPostRepository;
+import com.example.edubridge.utils.TaskScope;
 import com.google.firebase.Timestamp;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.ListenerRegistration;
 import com.google.firebase.firestore.Query;
 
 import java.util.ArrayList;
@@ -44,8 +43,9 @@ public class CommunityActivity extends AppCompatActivity {
     private TextView tvOfflineIndicator;
 
     private FirebaseFirestore db;
-    private ListenerRegistration postListener;
-    private CommunityPostDao localPostDao;
+    // Owns the posts listener and cache reads; both end with the activity
+    private final TaskScope scope = TaskScope.of(this);
+    private CommunityPostRepository localPostRepository;
 
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
@@ -53,7 +53,7 @@ public class CommunityActivity extends AppCompatActivity {
         setContentView(R.layout.activity_community);
 
         // Initialize database
-        localPostDao = AppDatabase.getInstance(this).communityPostDao();
+        localPostRepository = CommunityPostRepository.getInstance(this);
 
         // Back
         View btnBack = findViewById(R.id.btn_back);
@@ -65,10 +65,6 @@ public class CommunityActivity extends AppCompatActivity {
         if (btnCreate != null) {
             btnCreate.setClickable(true);
             btnCreate.setOnClickListener(v -> {
-                if (!isOnline()) {
-                    Toast.makeText(this, "Cannot create posts while offline", Toast.LENGTH_SHORT).show();
-                    return;
-                }
                 try {
                     startActivity(new Intent(CommunityActivity.this, CreatePostActivity.class));
                 } catch (Exception e) {
@@ -81,7 +77,7 @@ public class CommunityActivity extends AppCompatActivity {
         recyclerPosts = findViewById(R.id.recycler_posts);
         recyclerPosts.setLayoutManager(new LinearLayoutManager(this));
 
-        adapter = new CommunityPostAdapter(this, postList);
+        adapter = new CommunityPostAdapter(this);
         recyclerPosts.setAdapter(adapter);
 
         db = FirebaseFirestore.getInstance();
@@ -111,7 +107,7 @@ public class CommunityActivity extends AppCompatActivity {
      * Load posts from Firestore and cache locally.
      */
     private void loadFromFirestore() {
-        postListener = db.collection("posts")
+        scope.add(db.collection("posts")
                 .orderBy("createdAt", Query.Direction.DESCENDING)
                 .addSnapshotListener((value, error) -> {
                     if (error != null) {
@@ -145,49 +141,35 @@ public class CommunityActivity extends AppCompatActivity {
                             localPosts.add(localPost);
                         }
                     }
-                    adapter.notifyDataSetChanged();
+                    adapter.submitList(postList);
 
                     // Cache posts to local database
-                    new Thread(() -> {
-                        localPostDao.deleteAll();
-                        localPostDao.insertAll(localPosts);
-                        Log.d(TAG, "Cached " + localPosts.size() + " posts locally");
-                    }).start();
-                });
+                    localPostRepository.replaceAll(localPosts, () ->
+                            Log.d(TAG, "Cached " + localPosts.size() + " posts locally"));
+                }));
     }
 
     /**
      * Load posts from local Room database (offline mode).
      */
     private void loadFromLocalCache() {
-        new Thread(() -> {
-            List<LocalCommunityPost> cachedPosts = localPostDao.getAllPostsSync();
-
-            runOnUiThread(() -> {
-                postList.clear();
-                for (LocalCommunityPost local : cachedPosts) {
-                    CommunityPost post = new CommunityPost();
-                    post.setId(local.id);
-                    post.setAuthorId(local.authorId);
-                    post.setUserName(local.userName);
-                    post.setContent(local.content);
-                    post.setCreatedAt(new Timestamp(local.createdAt / 1000, 0));
-                    post.setAvatarRes(local.avatarRes);
-                    postList.add(post);
-                }
-                adapter.notifyDataSetChanged();
-
-                if (cachedPosts.isEmpty()) {
-                    Toast.makeText(this, "No cached posts available", Toast.LENGTH_SHORT).show();
-                }
-            });
-        }).start();
-    }
-
-    @Override
-    protected void onDestroy() {
-        super.onDestroy();
-        if (postListener != null)
-            postListener.remove();
+        scope.add(localPostRepository.loadAllPosts(scope.bind(cachedPosts -> {
+            postList.clear();
+            for (LocalCommunityPost local : cachedPosts) {
+                CommunityPost post = new CommunityPost();
+                post.setId(local.id);
+                post.setAuthorId(local.authorId);
+                post.setUserName(local.userName);
+                post.setContent(local.content);
+                post.setCreatedAt(new Timestamp(local.createdAt / 1000, 0));
+                post.setAvatarRes(local.avatarRes);
+                postList.add(post);
+            }
+            adapter.submitList(postList);
+
+            if (cachedPosts.isEmpty()) {
+                Toast.makeText(this, "No cached posts available", Toast.LENGTH_SHORT).show();
+            }
+        })));
     }
 }
\ No newline at end of file
@@ -14,17 +14,30 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.google.firebase.Timestamp;
 
 import java.text.SimpleDateFormat;
-import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
-public class CommunityPostAdapter extends RecyclerView.Adapter<CommunityPostAdapter.PostViewHolder> {
+public class CommunityPostAdapter extends DiffListAdapter<CommunityPost, CommunityPostAdapter.PostViewHolder> {
 
     private final Context context;
-    private final List<CommunityPost> posts;
 
-    public CommunityPostAdapter(Context context, List<CommunityPost> posts) {
+    public CommunityPostAdapter(Context context) {
         this.context = context;
-        this.posts = posts;
+    }
+
+    @NonNull
+    @Override
+    protected String idOf(@NonNull CommunityPost post) {
+        return safe(post.getId());
+    }
+
+    @Override
+    protected boolean sameContents(@NonNull CommunityPost a, @NonNull CommunityPost b) {
+        return Objects.equals(a.getUserName(), b.getUserName())
+                && Objects.equals(a.getContent(), b.getContent())
+                && Objects.equals(a.getCreatedAt(), b.getCreatedAt())
+                && Objects.equals(a.getAuthorId(), b.getAuthorId())
+                && a.getAvatarRes() == b.getAvatarRes();
     }
 
     @NonNull
@@ -37,7 +50,7 @@ public class CommunityPostAdapter extends RecyclerView.Adapter<CommunityPostAdap
 
     @Override
     public void onBindViewHolder(@NonNull PostViewHolder holder, int position) {
-        CommunityPost post = posts.get(position);
+        CommunityPost post = getItem(position);
 
         holder.tvName.setText(safe(post.getUserName()));
         holder.tvContent.setText(safe(post.getContent()));
@@ -67,11 +80,6 @@ public class CommunityPostAdapter extends RecyclerView.Adapter<CommunityPostAdap
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return posts == null ? 0 : posts.size();
-    }
-
     static class PostViewHolder extends RecyclerView.ViewHolder {
         ImageView imgAvatar;
         TextView tvName, tvTime, tvContent;
@@ -2,6 +2,8 @@ package com.example.edubridge;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.Editable;
 import android.text.TextWatcher;
 import android.util.Log;
@@ -15,6 +17,7 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.edubridge.data.local.OfflineManager;
 import com.example.edubridge.data.local.entity.Course;
+import com.example.edubridge.data.local.repository.CatalogRepository;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.chip.ChipGroup;
 import com.google.firebase.firestore.DocumentSnapshot;
@@ -22,12 +25,15 @@ import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.ListenerRegistration;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ContentLibraryActivity extends AppCompatActivity
         implements CourseBrowseAdapter.OnCourseClickListener {
 
     private static final String TAG = "ContentLibrary";
+    private static final long SEARCH_DEBOUNCE_MS = 150;
 
     private RecyclerView rvCourses;
     private CourseBrowseAdapter adapter;
@@ -41,6 +47,14 @@ public class ContentLibraryActivity extends AppCompatActivity
 
     private List<Course> allCourses = new ArrayList<>();
     private List<Course> filteredCourses = new ArrayList<>();
+    private final Map<String, Course> coursesById = new HashMap<>();
+
+    // Full-text search (courses_fts): ranked ids of the latest query, null when not searching
+    private CatalogRepository catalogRepository;
+    private final Handler searchHandler = new Handler(Looper.getMainLooper());
+    private final Runnable searchRunnable = this::runSearch;
+    private List<String> searchRanking;
+    private int searchGeneration = 0;
 
     private String currentCategory = "All";
     private String currentDifficulty = "All";
@@ -56,6 +70,7 @@ public class ContentLibraryActivity extends AppCompatActivity
         OfflineManager.seedIfEmpty();
 
         db = FirebaseFirestore.getInstance();
+        catalogRepository = CatalogRepository.getInstance(this);
 
         initViews();
         setupRecyclerView();
@@ -91,7 +106,8 @@ public class ContentLibraryActivity extends AppCompatActivity
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
                 currentSearch = s.toString().trim();
-                applyFilters();
+                searchHandler.removeCallbacks(searchRunnable);
+                searchHandler.postDelayed(searchRunnable, SEARCH_DEBOUNCE_MS);
             }
 
             @Override
@@ -150,7 +166,7 @@ public class ContentLibraryActivity extends AppCompatActivity
                                 allCourses.add(course);
                             }
                         }
-                        applyFilters();
+                        onCatalogChanged();
                     } else {
                         loadSampleCourses();
                     }
@@ -225,7 +241,7 @@ public class ContentLibraryActivity extends AppCompatActivity
                 "Countries, capitals, and cultures",
                 "Geography", "Beginner", "2 hours", 8));
 
-        applyFilters();
+        onCatalogChanged();
         Log.d(TAG, "Loaded " + allCourses.size() + " sample courses");
     }
 
@@ -240,15 +256,54 @@ public class ContentLibraryActivity extends AppCompatActivity
         return course;
     }
 
-    private void applyFilters() {
-        filteredCourses.clear();
+    /**
+     * Re-index the catalog for search, then refresh the list.
+     */
+    private void onCatalogChanged() {
+        coursesById.clear();
         for (Course course : allCourses) {
-            boolean matchesSearch = course.matchesSearch(currentSearch);
-            boolean matchesCategory = course.matchesCategory(currentCategory);
-            boolean matchesDifficulty = course.matchesDifficulty(currentDifficulty);
+            coursesById.put(course.courseId, course);
+        }
+        applyFilters();
+        catalogRepository.cacheCatalog(new ArrayList<>(allCourses), () -> {
+            if (searchRanking != null) runSearch();
+        });
+    }
 
-            if (matchesSearch && matchesCategory && matchesDifficulty) {
-                filteredCourses.add(course);
+    /**
+     * Debounced: query courses_fts off the main thread; stale results are dropped.
+     */
+    private void runSearch() {
+        if (currentSearch.isEmpty()) {
+            searchGeneration++;
+            searchRanking = null;
+            applyFilters();
+            return;
+        }
+        int generation = ++searchGeneration;
+        catalogRepository.searchCourses(currentSearch, rankedIds -> {
+            if (generation != searchGeneration || isDestroyed()) return;
+            searchRanking = rankedIds;
+            applyFilters();
+        });
+    }
+
+    private void applyFilters() {
+        filteredCourses.clear();
+        if (searchRanking == null) {
+            for (Course course : allCourses) {
+                if (course.matchesCategory(currentCategory) && course.matchesDifficulty(currentDifficulty)) {
+                    filteredCourses.add(course);
+                }
+            }
+        } else {
+            // Ranked order; ids outside the browsed catalog are ignored
+            for (String courseId : searchRanking) {
+                Course course = coursesById.get(courseId);
+                if (course != null && course.matchesCategory(currentCategory)
+                        && course.matchesDifficulty(currentDifficulty)) {
+                    filteredCourses.add(course);
+                }
             }
         }
         adapter.updateCourses(filteredCourses);
@@ -283,6 +338,7 @@ public class ContentLibraryActivity extends AppCompatActivity
     @Override
     protected void onDestroy() {
         super.onDestroy();
+        searchHandler.removeCallbacks(searchRunnable);
         if (courseListener != null) {
             courseListener.remove();
         }
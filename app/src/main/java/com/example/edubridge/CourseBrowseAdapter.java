@@ -12,8 +12,8 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.edubridge.data.local.entity.Course;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * M3.1 Course Browsing - RecyclerView Adapter
@@ -21,10 +21,9 @@ import java.util.List;
  * Displays courses with thumbnail, title, description,
  * category badge, and difficulty indicator.
  */
-public class CourseBrowseAdapter extends RecyclerView.Adapter<CourseBrowseAdapter.CourseViewHolder> {
+public class CourseBrowseAdapter extends DiffListAdapter<Course, CourseBrowseAdapter.CourseViewHolder> {
 
     private final Context context;
-    private List<Course> courses;
     private final OnCourseClickListener listener;
 
     public interface OnCourseClickListener {
@@ -33,8 +32,24 @@ public class CourseBrowseAdapter extends RecyclerView.Adapter<CourseBrowseAdapte
 
     public CourseBrowseAdapter(Context context, List<Course> courses, OnCourseClickListener listener) {
         this.context = context;
-        this.courses = courses != null ? courses : new ArrayList<>();
         this.listener = listener;
+        submitList(courses);
+    }
+
+    @NonNull
+    @Override
+    protected String idOf(@NonNull Course course) {
+        return course.courseId;
+    }
+
+    @Override
+    protected boolean sameContents(@NonNull Course a, @NonNull Course b) {
+        return a.totalLessons == b.totalLessons
+                && Objects.equals(a.title, b.title)
+                && Objects.equals(a.description, b.description)
+                && Objects.equals(a.category, b.category)
+                && Objects.equals(a.difficulty, b.difficulty)
+                && Objects.equals(a.duration, b.duration);
     }
 
     @NonNull
@@ -46,21 +61,15 @@ public class CourseBrowseAdapter extends RecyclerView.Adapter<CourseBrowseAdapte
 
     @Override
     public void onBindViewHolder(@NonNull CourseViewHolder holder, int position) {
-        Course course = courses.get(position);
+        Course course = getItem(position);
         holder.bind(course);
     }
 
-    @Override
-    public int getItemCount() {
-        return courses.size();
-    }
-
     /**
-     * Update the course list and refresh display.
+     * Update the course list; only rows that changed are re-bound.
      */
     public void updateCourses(List<Course> newCourses) {
-        this.courses = newCourses != null ? newCourses : new ArrayList<>();
-        notifyDataSetChanged();
+        submitList(newCourses);
     }
 
     class CourseViewHolder extends RecyclerView.ViewHolder {
@@ -176,7 +176,7 @@ public class CourseDetailActivity extends AppCompatActivity {
     }
 
     private void checkEnrollmentStatus() {
-        EnrollmentManager.checkEnrollmentStatus(userId, courseId, (status, progress, enrolledAtTime) -> {
+        EnrollmentManager.checkEnrollmentStatus(this, userId, courseId, (status, progress, enrolledAtTime) -> {
             this.enrollmentStatus = status;
             this.userProgress = progress;
             this.enrolledAt = enrolledAtTime;
@@ -7,14 +7,17 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.example.edubridge.data.local.outbox.OutboxWrite;
+import com.example.edubridge.data.local.repository.OutboxRepository;
+import com.example.edubridge.utils.SyncManager;
 import com.google.firebase.Timestamp;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
-import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.WriteBatch;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class CreatePostActivity extends AppCompatActivity {
@@ -78,28 +81,27 @@ public class CreatePostActivity extends AppCompatActivity {
         // Disable button to prevent double click
         findViewById(R.id.btn_post_action).setEnabled(false);
 
-        // 2) Batch: add post + update points + store userName
-        WriteBatch batch = db.batch();
+        // 2) One outbox group: add post + update points + store userName.
+        //    Queued locally first, so posting works offline too.
+        String postId = db.collection("posts").document().getId();
+        List<OutboxWrite> writes = new ArrayList<>();
+        writes.add(OutboxWrite.set("posts/" + postId).putAll(post));
 
-        DocumentReference newPostRef = db.collection("posts").document();
-        batch.set(newPostRef, post);
-
-        DocumentReference userRef = db.collection("users").document(uid);
+        OutboxWrite userWrite = OutboxWrite.setMerge("users/" + uid);
 
         // ✅ store userName for leaderboard
-        PointsManager.applyUserName(batch, userRef, userName);
+        PointsManager.applyUserName(userWrite, userName);
 
         // ✅ +5 per post (centralized)
-        PointsManager.applyAwardPoints(batch, userRef, POINTS_PER_POST, "create_post");
-
-        batch.commit()
-                .addOnSuccessListener(unused -> {
-                    Toast.makeText(this, "Posted! +" + POINTS_PER_POST + " points", Toast.LENGTH_SHORT).show();
-                    finish();
-                })
-                .addOnFailureListener(e -> {
-                    findViewById(R.id.btn_post_action).setEnabled(true);
-                    Toast.makeText(this, "Post failed: " + e.getMessage(), Toast.LENGTH_LONG).show();
-                });
+        PointsManager.applyAwardPoints(userWrite, POINTS_PER_POST, "create_post");
+        writes.add(userWrite);
+
+        OutboxRepository.getInstance(this).enqueue(writes, () -> {
+            String message = SyncManager.isOnline(this)
+                    ? "Posted! +" + POINTS_PER_POST + " points"
+                    : "Saved. Your post will be published when you're back online";
+            Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
+            finish();
+        });
     }
 }
\ No newline at end of file
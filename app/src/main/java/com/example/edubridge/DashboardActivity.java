@@ -7,7 +7,6 @@ import android.os.Build;
 import android.os.Bundle;
 import android.text.TextUtils;
 import android.util.Log;
-import android.util.TypedValue;
 import android.view.View;
 import android.widget.ImageView;
 import android.widget.LinearLayout;
@@ -21,8 +20,24 @@ import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.example.edubridge.data.local.AppDatabase;
+import com.example.edubridge.data.local.coenroll.CoEnrollmentSignal;
 import com.example.edubridge.data.local.entity.Course;
+import com.example.edubridge.data.local.entity.Enrollment;
+import com.example.edubridge.data.local.outbox.OutboxWrite;
+import com.example.edubridge.data.local.repository.CourseRepository;
+import com.example.edubridge.data.local.repository.EnrollmentRepository;
+import com.example.edubridge.data.local.repository.NotificationRepository;
+import com.example.edubridge.data.local.repository.OutboxRepository;
+import com.example.edubridge.data.local.search.RecommendationCache;
+import com.example.edubridge.data.local.search.RecommendationEngine;
+import com.example.edubridge.data.local.snapshot.DashboardSnapshot;
+import com.example.edubridge.data.local.snapshot.DashboardSnapshotStore;
+import com.example.edubridge.data.local.stats.EnrollmentStats;
+import com.example.edubridge.data.local.sync.CourseSyncStage;
+import com.example.edubridge.data.local.work.EnrollmentStatsWorker;
+import com.example.edubridge.data.local.work.NotificationCompactionWorker;
+import com.example.edubridge.data.local.work.OutboxFlushWorker;
+import com.example.edubridge.utils.StartupScheduler;
 import com.example.edubridge.utils.SyncManager;
 import com.google.android.material.card.MaterialCardView;
 import com.google.android.material.progressindicator.LinearProgressIndicator;
@@ -31,6 +46,7 @@ import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.MetadataChanges;
 import com.google.firebase.firestore.SetOptions;
 import com.google.firebase.messaging.FirebaseMessaging;
 
@@ -38,6 +54,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * DashboardActivity
@@ -72,6 +89,7 @@ public class DashboardActivity extends AppCompatActivity {
     private CourseProgressAdapter courseAdapter;
     private TextView tvOverallProgress;
     private LinearProgressIndicator pbOverallProgress;
+    private ListenerRegistration statsListener;
 
     // Achievement Summary Fields
     private TextView tvAchievementXp;
@@ -81,17 +99,33 @@ public class DashboardActivity extends AppCompatActivity {
     // My Courses Section (Bottom)
     private TextView tvMyCoursesTitle;
     private LinearLayout layoutEnrolledCourses;
+    private MyCoursesAdapter myCoursesAdapter;
+    private TextView tvMyCoursesEmpty;
     private boolean isMyCoursesExpanded = true;
 
-    private ListenerRegistration progressListener;
-
     private String userLearningGoal;
-    private List<Course> cachedCourses;
 
     private RecyclerView rvRecommendations;
     private RecommendationAdapter recommendationAdapter;
     private final List<Course> recommendationCourses = new ArrayList<>();
-    private ListenerRegistration enrollmentListener;
+    // Catalog tokenized once; rankings cached per goal and results per enrolled-set version
+    private RecommendationCache recommendationCache;
+    private CoEnrollmentSignal coEnrollmentSignal;
+    private List<Course> renderedRecommendations;
+    // From the shared enrollment stream; null until its first emission
+    private Set<String> enrolledCourseIds;
+    private long enrolledIdsVersion;
+    private ListenerRegistration courseSyncListener;
+
+    // Last rendered state, persisted so the next cold start can draw it immediately
+    private DashboardSnapshot dashboardSnapshot;
+    private boolean userDataLive = false;
+    private boolean progressLive = false;
+    private boolean statsLive = false;
+    private boolean recommendationsLive = false;
+
+    // Keeps everything the first frame doesn't need out of onCreate
+    private final StartupScheduler startup = StartupScheduler.of(this, "Dashboard");
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -99,6 +133,7 @@ public class DashboardActivity extends AppCompatActivity {
 
         auth = FirebaseAuth.getInstance();
         db = FirebaseFirestore.getInstance();
+        coEnrollmentSignal = new CoEnrollmentSignal(db);
 
         // Auth Guard
         FirebaseUser currentUser = auth.getCurrentUser();
@@ -131,25 +166,39 @@ public class DashboardActivity extends AppCompatActivity {
 
         // My Courses UI
         layoutEnrolledCourses = findViewById(R.id.layout_enrolled_courses);
+        setupMyCoursesList();
         setupMyCoursesClick(); // ✅ Fix: make "My Courses" respond
 
         // Username
         setUsernameFromAuth(currentUser);
 
+        // Show the last known dashboard until live data arrives
+        dashboardSnapshot = new DashboardSnapshot(currentUid);
+        startup.add(StartupScheduler.Tier.CRITICAL, "restore_snapshot", this::restoreDashboardSnapshot);
+
         // M2.1 Progress Dashboard
         setupProgressDashboard();
 
         // M2.2 Course Recommendation
         setupRecommendationEngine();
 
-        // Points & Goal Realtime Listener
-        listenUserData(currentUid);
-
-        // M2.3 Token Sync
-        ensureNotificationPermissionThenSyncToken();
+        // One enrollment listener feeds progress, My Courses and recommendations
+        observeEnrollments();
 
+        // Live data: the restored snapshot covers the first frame
+        // M3.3 Warm the enrollment cache so course details open without a network read
+        startup.add(StartupScheduler.Tier.AFTER_FIRST_FRAME, "enrollments",
+                () -> EnrollmentRepository.getInstance(this).start(currentUid));
+        // Points & Goal Realtime Listener
+        startup.add(StartupScheduler.Tier.AFTER_FIRST_FRAME, "user_doc", () -> listenUserData(currentUid));
+        // Overall progress from the aggregate document
+        startup.add(StartupScheduler.Tier.AFTER_FIRST_FRAME, "enrollment_stats",
+                () -> listenEnrollmentStats(currentUid));
         // M2.1 Online/Offline Data Sync
-        syncFirestoreToLocal(currentUid);
+        startup.add(StartupScheduler.Tier.AFTER_FIRST_FRAME, "course_sync", () -> syncFirestoreToLocal(currentUid));
+
+        // M2.3 Token Sync; the permission dialog waits until the dashboard has settled
+        startup.add(StartupScheduler.Tier.IDLE, "fcm_token", this::ensureNotificationPermissionThenSyncToken);
 
         // Dashboard Cards
         setupCard(R.id.card_content_library, ContentLibraryActivity.class);
@@ -167,9 +216,14 @@ public class DashboardActivity extends AppCompatActivity {
             );
         }
 
-        // Seed dummy data
-        seedDummyNotifications();
-        seedDummyCourses();
+        // Seed dummy data and background jobs
+        startup.add(StartupScheduler.Tier.IDLE, "seed_notifications", this::seedDummyNotifications);
+        startup.add(StartupScheduler.Tier.IDLE, "schedule_workers", () -> {
+            NotificationCompactionWorker.schedule(this);
+            EnrollmentStatsWorker.schedule(this);
+            // Send what this account queued before it last signed out
+            OutboxFlushWorker.schedule(this);
+        });
 
         // Badges Card
         setupCard(R.id.card_badges, BadgesActivity.class);
@@ -213,6 +267,8 @@ public class DashboardActivity extends AppCompatActivity {
                     Toast.makeText(DashboardActivity.this, "Welcome back!", Toast.LENGTH_SHORT).show()
             );
         }
+
+        startup.start();
     }
 
     /**
@@ -230,8 +286,7 @@ public class DashboardActivity extends AppCompatActivity {
      * then uncomment findViewById below.
      */
     private void setupMyCoursesClick() {
-        // Optional: if you add id in XML, enable this:
-        // tvMyCoursesTitle = findViewById(R.id.tv_my_courses_title);
+        tvMyCoursesTitle = findViewById(R.id.tv_my_courses_title);
 
         View clickTarget = null;
 
@@ -251,10 +306,8 @@ public class DashboardActivity extends AppCompatActivity {
                     layoutEnrolledCourses.setVisibility(isMyCoursesExpanded ? View.VISIBLE : View.GONE);
                 }
 
-                // If expanded, render immediately
-                if (isMyCoursesExpanded) {
-                    renderMyCourses(cachedCourses);
-                } else {
+                // The list keeps updating while collapsed, so there is nothing to re-render
+                if (!isMyCoursesExpanded) {
                     Toast.makeText(this, "My Courses collapsed", Toast.LENGTH_SHORT).show();
                 }
             });
@@ -275,14 +328,85 @@ public class DashboardActivity extends AppCompatActivity {
         if (tvUsername != null) tvUsername.setText(name);
     }
 
+    /**
+     * Render the persisted snapshot for every section that has no live data yet.
+     * Runs after onCreate, so all views are bound.
+     */
+    private void restoreDashboardSnapshot() {
+        DashboardSnapshotStore.getInstance(this).load(currentUid, saved -> {
+            if (saved == null || isFinishing() || isDestroyed()) return;
+
+            if (!userDataLive) {
+                dashboardSnapshot.points = saved.points;
+                dashboardSnapshot.streakCount = saved.streakCount;
+                dashboardSnapshot.learningGoal = saved.learningGoal;
+                dashboardSnapshot.badgeIds = saved.badgeIds;
+                userLearningGoal = saved.learningGoal;
+                renderUserStats(saved.points, saved.streakCount, saved.badgeIds);
+            }
+            if (!statsLive && saved.overallProgress >= 0) {
+                dashboardSnapshot.overallProgress = saved.overallProgress;
+                renderOverallProgress(saved.overallProgress);
+            }
+            if (!progressLive) {
+                dashboardSnapshot.inProgressCourses = saved.inProgressCourses;
+                updateProgressUI(saved.inProgressCourses);
+                renderMyCourses(saved.inProgressCourses);
+            }
+            if (!recommendationsLive && recommendationAdapter != null) {
+                dashboardSnapshot.recommendations = saved.recommendations;
+                recommendationAdapter.setRecommendations(saved.recommendations);
+            }
+        });
+    }
+
+    private void saveDashboardSnapshot() {
+        DashboardSnapshotStore.getInstance(this).save(dashboardSnapshot);
+    }
+
+    /**
+     * One document read per change instead of the whole enrollments subcollection.
+     */
+    private void listenEnrollmentStats(String uid) {
+        if (statsListener != null) statsListener.remove();
+
+        statsListener = db.document(EnrollmentStats.documentPath(uid))
+                .addSnapshotListener((snapshot, error) -> {
+                    if (error != null) {
+                        Log.w(TAG, "Stats listen failed.", error);
+                        return;
+                    }
+                    EnrollmentStats stats = EnrollmentStats.fromSnapshot(snapshot);
+                    if (stats == null) {
+                        // Never written (account predates the aggregate): build it from enrollments
+                        if (snapshot != null && !snapshot.getMetadata().isFromCache()) {
+                            EnrollmentStatsWorker.reconcileSoon(this);
+                        }
+                        return;
+                    }
+                    statsLive = true;
+                    int overall = stats.overallPercent();
+                    renderOverallProgress(overall);
+                    if (dashboardSnapshot.overallProgress != overall) {
+                        dashboardSnapshot.overallProgress = overall;
+                        saveDashboardSnapshot();
+                    }
+                });
+    }
+
+    private void renderOverallProgress(int percent) {
+        if (tvOverallProgress != null) tvOverallProgress.setText(percent + "%");
+        if (pbOverallProgress != null) pbOverallProgress.setProgress(percent);
+    }
+
     private void listenUserData(String uid) {
-        if (tvPoints != null) tvPoints.setText("Points: 0");
         if (userDocListener != null) userDocListener.remove();
 
         userDocListener = db.collection("users")
                 .document(uid)
                 .addSnapshotListener((snapshot, error) -> {
                     if (error != null) return;
+                    userDataLive = true;
                     if (snapshot == null || !snapshot.exists()) {
                         if (tvPoints != null) tvPoints.setText("Points: 0");
                         return;
@@ -291,13 +415,10 @@ public class DashboardActivity extends AppCompatActivity {
                     // 1. Points
                     Long points = snapshot.getLong("totalPoints");
                     if (points == null) points = 0L;
-                    if (tvPoints != null) tvPoints.setText("Points: " + points);
 
                     // 2. Streak
                     Long streakCount = snapshot.getLong("streakCount");
                     if (streakCount == null) streakCount = 0L;
-                    TextView tvStreakDays = findViewById(R.id.tv_streak_days);
-                    if (tvStreakDays != null) tvStreakDays.setText(streakCount + " Days");
 
                     // 3. Learning Goal
                     String goal = snapshot.getString("learningGoal");
@@ -306,11 +427,15 @@ public class DashboardActivity extends AppCompatActivity {
                     userLearningGoal = goal;
                     if (goalChanged) refreshRecommendations();
 
-                    // 4. Achievement Summary
-                    updateAchievementSummary(points, snapshot.get("badges"));
+                    // 4-5. Achievement Summary and Level Progression
+                    List<String> badgeIds = toBadgeIds(snapshot.get("badges"));
+                    renderUserStats(points, streakCount, badgeIds);
 
-                    // 5. Level Progression
-                    updateLevelProgression(points);
+                    dashboardSnapshot.points = points;
+                    dashboardSnapshot.streakCount = streakCount;
+                    dashboardSnapshot.learningGoal = goal;
+                    dashboardSnapshot.badgeIds = badgeIds;
+                    saveDashboardSnapshot();
 
                     // 6. Level-Up Detection
                     Long storedLevel = snapshot.getLong("userLevel");
@@ -324,6 +449,26 @@ public class DashboardActivity extends AppCompatActivity {
                 });
     }
 
+    private void renderUserStats(long points, long streakCount, List<String> badgeIds) {
+        if (tvPoints != null) tvPoints.setText("Points: " + points);
+
+        TextView tvStreakDays = findViewById(R.id.tv_streak_days);
+        if (tvStreakDays != null) tvStreakDays.setText(streakCount + " Days");
+
+        updateAchievementSummary(points, badgeIds);
+        updateLevelProgression(points);
+    }
+
+    private static List<String> toBadgeIds(Object badgesObj) {
+        List<String> ids = new ArrayList<>();
+        if (badgesObj instanceof List) {
+            for (Object id : (List<?>) badgesObj) {
+                if (id instanceof String) ids.add((String) id);
+            }
+        }
+        return ids;
+    }
+
     private void setupCard(int cardId, Class<?> destinationActivity) {
         MaterialCardView card = findViewById(cardId);
         if (card != null) {
@@ -401,53 +546,55 @@ public class DashboardActivity extends AppCompatActivity {
             rvCourseProgress.setAdapter(courseAdapter);
             rvCourseProgress.setNestedScrollingEnabled(true);
         }
-
-        loadEnrolledCoursesProgress();
     }
 
-    private void loadEnrolledCoursesProgress() {
-        if (currentUid == null) {
-            updateProgressUI(new ArrayList<>());
-            return;
-        }
-
-        if (progressListener != null) progressListener.remove();
-
-        progressListener = db.collection("users").document(currentUid)
-                .collection("enrollments")
-                .addSnapshotListener((snapshots, error) -> {
-                    if (error != null) {
-                        Log.w(TAG, "Error loading enrollment progress", error);
-                        return;
-                    }
-
-                    List<Course> inProgressCourses = new ArrayList<>();
-                    if (snapshots != null) {
-                        for (com.google.firebase.firestore.QueryDocumentSnapshot doc : snapshots) {
-                            String status = doc.getString("status");
-                            if (status != null && status.equals("completed")) continue;
-
-                            Course course = new Course();
-                            course.courseId = doc.getId();
-                            course.title = doc.getString("courseTitle");
-                            course.category = doc.getString("category");
+    /**
+     * Subscribe to the shared enrollment stream (EnrollmentRepository) and fan each
+     * emission out to the progress card, My Courses and the recommendation filter.
+     */
+    private void observeEnrollments() {
+        EnrollmentRepository.getInstance(this).observe().observe(this, snapshot -> {
+            // The stream replays its last value, which may belong to a previous account
+            if (snapshot == null || !snapshot.userId.equals(currentUid)) return;
+
+            List<Course> inProgressCourses = new ArrayList<>();
+            for (Enrollment e : snapshot.enrollments) {
+                if ("completed".equals(e.status)) continue;
+
+                Course course = new Course();
+                course.courseId = e.courseId;
+                course.title = e.courseTitle;
+                course.category = e.category;
+                course.progress = e.progress;
+                course.totalLessons = e.totalLessons > 0 ? e.totalLessons : 10;
+                course.status = course.progress > 0 ? "In Progress" : "Enrolled";
+                inProgressCourses.add(course);
+            }
 
-                            Long progress = doc.getLong("progress");
-                            Long total = doc.getLong("totalLessons");
+            progressLive = true;
+            updateProgressUI(inProgressCourses);
 
-                            course.progress = progress != null ? progress.intValue() : 0;
-                            course.totalLessons = total != null ? total.intValue() : 10;
+            // ✅ Also render My Courses section
+            renderMyCourses(inProgressCourses);
 
-                            course.status = course.progress > 0 ? "In Progress" : "Enrolled";
-                            inProgressCourses.add(course);
-                        }
-                    }
+            dashboardSnapshot.inProgressCourses = inProgressCourses;
+            // Recommendations may not change (and so not save) on a progress-only update
+            saveDashboardSnapshot();
 
-                    updateProgressUI(inProgressCourses);
+            boolean idsChanged = enrolledCourseIds == null || enrolledIdsVersion != snapshot.idsVersion;
+            enrolledCourseIds = snapshot.courseIds;
+            enrolledIdsVersion = snapshot.idsVersion;
+            refreshRecommendations();
 
-                    // ✅ Also render My Courses section
-                    renderMyCourses(inProgressCourses);
+            // Blend in what students with the same courses enrolled in
+            if (idsChanged) {
+                coEnrollmentSignal.update(snapshot.enrollments, boosts -> {
+                    if (isDestroyed()) return;
+                    recommendationCache.setBoosts(boosts);
+                    refreshRecommendations();
                 });
+            }
+        });
     }
 
     private void setupRecommendationEngine() {
@@ -461,17 +608,6 @@ public class DashboardActivity extends AppCompatActivity {
         }
 
         loadRecommendationCourses();
-
-        if (currentUid != null) {
-            if (enrollmentListener != null) enrollmentListener.remove();
-
-            enrollmentListener = db.collection("users").document(currentUid)
-                    .collection("enrollments")
-                    .addSnapshotListener((snapshots, error) -> {
-                        if (error != null) return;
-                        refreshRecommendations();
-                    });
-        }
     }
 
     private void loadRecommendationCourses() {
@@ -488,6 +624,8 @@ public class DashboardActivity extends AppCompatActivity {
         recommendationCourses.add(createRecommendationCourse("art1", "Drawing Basics", "Sketching and shading", "Art", "Beginner", "2 hours", 6));
         recommendationCourses.add(createRecommendationCourse("art2", "Digital Illustration", "Create art with digital tools", "Art", "Intermediate", "4 hours", 10));
         recommendationCourses.add(createRecommendationCourse("geo1", "World Geography", "Countries, capitals, and cultures", "Geography", "Beginner", "2 hours", 8));
+        recommendationCache = new RecommendationCache(
+                new RecommendationEngine(recommendationCourses), RecommendationEngine.DEFAULT_LIMIT);
         refreshRecommendations();
     }
 
@@ -508,182 +646,50 @@ public class DashboardActivity extends AppCompatActivity {
     }
 
     private void refreshRecommendations() {
-        if (currentUid == null || recommendationCourses.isEmpty()) {
-            applyRecommendationSorting(new ArrayList<>(recommendationCourses));
-            return;
-        }
-
-        db.collection("users").document(currentUid)
-                .collection("enrollments")
-                .get()
-                .addOnSuccessListener(snapshots -> {
-                    List<String> enrolledIds = new ArrayList<>();
-                    for (com.google.firebase.firestore.QueryDocumentSnapshot doc : snapshots) {
-                        enrolledIds.add(doc.getId());
-                    }
+        // Until enrollments arrive, keep whatever the restored snapshot shows rather
+        // than briefly recommending courses the user is already taking
+        if (enrolledCourseIds == null) return;
 
-                    List<Course> filtered = new ArrayList<>();
-                    for (Course c : recommendationCourses) {
-                        if (!enrolledIds.contains(c.courseId)) filtered.add(c);
-                    }
-                    applyRecommendationSorting(filtered);
-                })
-                .addOnFailureListener(e ->
-                        applyRecommendationSorting(new ArrayList<>(recommendationCourses))
-                );
+        renderRecommendations(recommendationCache.get(userLearningGoal, enrolledCourseIds, enrolledIdsVersion));
     }
 
-    private void applyRecommendationSorting(List<Course> courses) {
-        if (courses.isEmpty()) {
-            if (recommendationAdapter != null) recommendationAdapter.setRecommendations(courses);
-            return;
-        }
-
-        courses.sort((c1, c2) -> {
-            boolean m1 = isGoalMatch(c1);
-            boolean m2 = isGoalMatch(c2);
-            if (m1 != m2) return m1 ? -1 : 1;
+    private void renderRecommendations(List<Course> courses) {
+        // Same goal and enrollments (e.g. a progress update): the cache returns the same list
+        if (courses == renderedRecommendations) return;
+        renderedRecommendations = courses;
+        recommendationsLive = true;
+        if (recommendationAdapter != null) recommendationAdapter.setRecommendations(courses);
 
-            int s1 = getStatusPriority(c1.status);
-            int s2 = getStatusPriority(c2.status);
-            if (s1 != s2) return Integer.compare(s1, s2);
-
-            int d1 = getDifficultyPriority(c1.difficulty);
-            int d2 = getDifficultyPriority(c2.difficulty);
-            return Integer.compare(d1, d2);
-        });
-
-        List<Course> limited = courses.size() > 5 ? courses.subList(0, 5) : courses;
-        if (recommendationAdapter != null) recommendationAdapter.setRecommendations(limited);
-    }
-
-    private boolean isGoalMatch(Course course) {
-        if (userLearningGoal == null || userLearningGoal.isEmpty()) return false;
-
-        String goal = userLearningGoal.toLowerCase().trim();
-        if (course.category != null) {
-            String cat = course.category.toLowerCase();
-            if (cat.contains(goal) || goal.contains(cat)) return true;
-        }
-
-        boolean inTitle = (course.title != null && course.title.toLowerCase().contains(goal));
-        boolean inDesc = (course.description != null && course.description.toLowerCase().contains(goal));
-        return inTitle || inDesc;
-    }
-
-    private int getStatusPriority(String status) {
-        if (status == null) return 4;
-        if (status.equalsIgnoreCase("Not Started")) return 1;
-        if (status.equalsIgnoreCase("In Progress")) return 2;
-        if (status.equalsIgnoreCase("Completed")) return 3;
-        return 4;
-    }
-
-    private int getDifficultyPriority(String difficulty) {
-        if (difficulty == null) return 4;
-        if (difficulty.equalsIgnoreCase("Beginner")) return 1;
-        if (difficulty.equalsIgnoreCase("Intermediate")) return 2;
-        if (difficulty.equalsIgnoreCase("Advanced")) return 3;
-        return 4;
+        dashboardSnapshot.recommendations = new ArrayList<>(courses);
+        saveDashboardSnapshot();
     }
 
     private void updateProgressUI(List<Course> courses) {
-        cachedCourses = courses;
-
         if (courseAdapter != null) courseAdapter.setCourses(courses);
+    }
 
-        int totalPercent = 0;
-        int count = 0;
-
-        for (Course c : courses) {
-            if (c.totalLessons > 0) {
-                float fraction = (float) c.progress / c.totalLessons;
-                if (fraction > 1f) fraction = 1f;
-                totalPercent += (int) (fraction * 100);
-            }
-            count++;
-        }
-
-        int overall = (count > 0) ? (totalPercent / count) : 0;
+    private void setupMyCoursesList() {
+        RecyclerView rvMyCourses = findViewById(R.id.rv_my_courses);
+        tvMyCoursesEmpty = findViewById(R.id.tv_my_courses_empty);
+        if (rvMyCourses == null) return;
 
-        if (tvOverallProgress != null) tvOverallProgress.setText(overall + "%");
-        if (pbOverallProgress != null) pbOverallProgress.setProgress(overall);
+        rvMyCourses.setLayoutManager(new LinearLayoutManager(this));
+        myCoursesAdapter = new MyCoursesAdapter(this::openCourseDetails);
+        rvMyCourses.setAdapter(myCoursesAdapter);
     }
 
     /**
-     * ✅ Render the bottom "My Courses" list dynamically
+     * ✅ Render the bottom "My Courses" list; only rows that changed are re-bound
      */
     private void renderMyCourses(List<Course> courses) {
-        if (!isMyCoursesExpanded) return;
-        if (layoutEnrolledCourses == null) return;
-
-        layoutEnrolledCourses.removeAllViews();
+        if (myCoursesAdapter == null) return;
 
-        if (courses == null || courses.isEmpty()) {
-            TextView empty = new TextView(this);
-            empty.setText("No enrolled courses yet.");
-            empty.setTextSize(14);
-            empty.setPadding(dp(4), dp(8), dp(4), dp(8));
-            layoutEnrolledCourses.addView(empty);
-            return;
-        }
-
-        for (Course c : courses) {
-            MaterialCardView card = new MaterialCardView(this);
-            LinearLayout.LayoutParams cardLp = new LinearLayout.LayoutParams(
-                    LinearLayout.LayoutParams.MATCH_PARENT,
-                    LinearLayout.LayoutParams.WRAP_CONTENT
-            );
-            cardLp.setMargins(0, dp(8), 0, 0);
-            card.setLayoutParams(cardLp);
-
-            card.setClickable(true);
-            card.setFocusable(true);
-            card.setCardElevation(0f);
-            card.setRadius(dp(12));
-            card.setStrokeWidth(dp(2));
-            card.setStrokeColor(getResources().getColor(R.color.brand_black));
-
-            LinearLayout wrap = new LinearLayout(this);
-            wrap.setOrientation(LinearLayout.VERTICAL);
-            wrap.setPadding(dp(14), dp(12), dp(14), dp(12));
-
-            TextView title = new TextView(this);
-            title.setText(c.title != null ? c.title : "Unknown Course");
-            title.setTextSize(16);
-            title.setTextColor(getResources().getColor(R.color.brand_black));
-            title.setTypeface(title.getTypeface(), android.graphics.Typeface.BOLD);
-
-            TextView sub = new TextView(this);
-            int total = c.totalLessons > 0 ? c.totalLessons : 10;
-            int cur = c.progress;
-            String status = !TextUtils.isEmpty(c.status) ? c.status : (cur > 0 ? "In Progress" : "Enrolled");
-            sub.setText(status + " • " + cur + "/" + total + " lessons");
-            sub.setTextSize(12);
-            sub.setTextColor(getResources().getColor(R.color.text_secondary));
-            sub.setPadding(0, dp(6), 0, dp(8));
-
-            LinearProgressIndicator bar = new LinearProgressIndicator(this);
-            bar.setMax(100);
-            int percent = total > 0 ? (int) (((float) cur / total) * 100f) : 0;
-            if (percent < 0) percent = 0;
-            if (percent > 100) percent = 100;
-            bar.setProgress(percent);
-
-            wrap.addView(title);
-            wrap.addView(sub);
-            wrap.addView(bar);
-            card.addView(wrap);
-
-            card.setOnClickListener(v -> openCourseDetails(c));
-            layoutEnrolledCourses.addView(card);
-        }
-    }
-
-    private int dp(int v) {
-        return (int) TypedValue.applyDimension(
-                TypedValue.COMPLEX_UNIT_DIP, v, getResources().getDisplayMetrics()
-        );
+        boolean empty = courses == null || courses.isEmpty();
+        myCoursesAdapter.submitList(courses, () -> {
+            if (tvMyCoursesEmpty != null) {
+                tvMyCoursesEmpty.setVisibility(empty ? View.VISIBLE : View.GONE);
+            }
+        });
     }
 
     private void openCourseDetails(Course course) {
@@ -699,102 +705,40 @@ public class DashboardActivity extends AppCompatActivity {
     }
 
     private void syncFirestoreToLocal(String uid) {
-        db.collection("users").document(uid).collection("courses")
-                .addSnapshotListener((snapshots, e) -> {
-                    if (e != null) {
-                        Log.w(TAG, "Listen failed.", e);
-                        return;
-                    }
+        if (courseSyncListener != null) courseSyncListener.remove();
 
-                    if (snapshots != null && !snapshots.isEmpty()) {
-                        new Thread(() -> {
-                            List<Course> cloudCourses = new ArrayList<>();
-                            for (com.google.firebase.firestore.QueryDocumentSnapshot doc : snapshots) {
-                                Course c = doc.toObject(Course.class);
-                                c.courseId = doc.getId();
-                                cloudCourses.add(c);
-                            }
-
-                            if (!cloudCourses.isEmpty()) {
-                                AppDatabase dbLocal = AppDatabase.getInstance(getApplicationContext());
-                                dbLocal.courseDao().deleteAll();
-                                for (Course c : cloudCourses) {
-                                    dbLocal.courseDao().insert(c);
-                                }
-                            }
-                        }).start();
-                    }
-                });
+        courseSyncListener = db.collection("users").document(uid).collection("courses")
+                .addSnapshotListener(MetadataChanges.INCLUDE, new CourseSyncStage(getApplicationContext()));
     }
 
     public void updateCourseProgress(Course course) {
-        new Thread(() -> AppDatabase.getInstance(getApplicationContext()).courseDao().insert(course)).start();
+        CourseRepository.getInstance(getApplicationContext()).insert(course);
 
         if (!TextUtils.isEmpty(currentUid)) {
-            db.collection("users").document(currentUid).collection("courses")
-                    .document(course.courseId)
-                    .set(course, SetOptions.merge())
-                    .addOnFailureListener(e ->
-                            Log.e(TAG, "Cloud sync failed (will retry): " + e.getMessage())
-                    );
+            // Outbox retries until it is sent, and folds repeated updates into one write
+            OutboxRepository.getInstance(getApplicationContext()).enqueue(
+                    OutboxWrite.setMerge("users/" + currentUid + "/courses/" + course.courseId)
+                            .putAll(course.toFirestoreMap()),
+                    null);
         }
     }
 
-    private void seedDummyCourses() {
-        new Thread(() -> {
-            List<Course> courses = new ArrayList<>();
-            courses.add(createCourse("math1", "Basic Algebra", "Learn fundamental algebraic concepts and equations", "Mathematics", "Beginner", "2 hours", 8, 0, "Enrolled"));
-            courses.add(createCourse("math2", "Calculus 101", "Introduction to derivatives and integrals", "Mathematics", "Intermediate", "4 hours", 12, 3, "In Progress"));
-            courses.add(createCourse("sci1", "Intro to Physics", "Newton's laws, motion, and forces explained", "Science", "Beginner", "3 hours", 10, 5, "In Progress"));
-
-            AppDatabase dbLocal = AppDatabase.getInstance(getApplicationContext());
-            dbLocal.courseDao().deleteAll();
-            for (Course c : courses) dbLocal.courseDao().insert(c);
-        }).start();
-    }
-
-    private Course createCourse(String id, String title, String desc, String category,
-                                String difficulty, String duration, int totalLessons,
-                                int progress, String status) {
-        Course c = new Course();
-        c.courseId = id;
-        c.title = title;
-        c.description = desc;
-        c.category = category;
-        c.difficulty = difficulty;
-        c.duration = duration;
-        c.totalLessons = totalLessons;
-        c.progress = progress;
-        c.status = status;
-        c.isPublished = true;
-        return c;
-    }
-
     private void seedDummyNotifications() {
-        new Thread(() -> {
-            com.example.edubridge.data.local.dao.NotificationDao dao =
-                    AppDatabase.getInstance(this).notificationDao();
-
-            com.example.edubridge.data.local.entity.Notification n1 =
-                    new com.example.edubridge.data.local.entity.Notification();
-
-            n1.id = "dummy_1";
-            n1.title = "Welcome to EduBridge!";
-            n1.body = "We are excited to have you here. Start a course now!";
-            n1.type = "announcement";
-            n1.timestamp = System.currentTimeMillis();
-            n1.isRead = false;
-            dao.insert(n1);
-        }).start();
+        com.example.edubridge.data.local.entity.Notification n1 =
+                new com.example.edubridge.data.local.entity.Notification();
+
+        n1.id = "dummy_1";
+        n1.title = "Welcome to EduBridge!";
+        n1.body = "We are excited to have you here. Start a course now!";
+        n1.type = "announcement";
+        n1.timestamp = System.currentTimeMillis();
+        n1.isRead = false;
+        NotificationRepository.getInstance(this).insert(n1);
     }
 
-    @SuppressWarnings("unchecked")
-    private void updateAchievementSummary(long points, Object badgesObj) {
+    private void updateAchievementSummary(long points, List<String> unlockedBadgeIds) {
         if (tvAchievementXp != null) tvAchievementXp.setText(points + " XP");
 
-        List<String> unlockedBadgeIds = new ArrayList<>();
-        if (badgesObj instanceof List) unlockedBadgeIds = (List<String>) badgesObj;
-
         int totalBadges = BadgeDefinitions.getTotalBadgeCount();
         int earnedBadges = unlockedBadgeIds.size();
 
@@ -880,13 +824,13 @@ public class DashboardActivity extends AppCompatActivity {
             userDocListener.remove();
             userDocListener = null;
         }
-        if (progressListener != null) {
-            progressListener.remove();
-            progressListener = null;
+        if (courseSyncListener != null) {
+            courseSyncListener.remove();
+            courseSyncListener = null;
         }
-        if (enrollmentListener != null) {
-            enrollmentListener.remove();
-            enrollmentListener = null;
+        if (statsListener != null) {
+            statsListener.remove();
+            statsListener = null;
         }
     }
 }
\ No newline at end of file
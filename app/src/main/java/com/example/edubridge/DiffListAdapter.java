@@ -0,0 +1,144 @@
+package com.example.edubridge;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.edubridge.utils.AppExecutors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Base for list adapters that update by diffing instead of notifyDataSetChanged().
+ *
+ * Subclasses name each row's document/entity id ({@link #idOf}) and say whether its
+ * visible content changed ({@link #sameContents}). {@link #submitList} diffs on the
+ * computation pool, so a live update re-binds only the rows that changed and keeps
+ * item animations. Item ids are stable, derived from {@link #idOf}.
+ *
+ * submitList() copies the list, so callers may keep refilling their own. {@link #getItems()}
+ * is the latest submitted list, which the screen shows once the diff is applied.
+ * idOf/sameContents/changePayload run on a background thread and must only read the items.
+ */
+public abstract class DiffListAdapter<T, VH extends RecyclerView.ViewHolder>
+        extends RecyclerView.Adapter<VH> {
+
+    private final AsyncListDiffer<T> differ;
+    // id -> stable item id for rows on screen; main thread only (getItemId)
+    private final Map<String, Long> stableIds = new HashMap<>();
+    private long nextStableId;
+    private List<T> items = Collections.emptyList();
+
+    protected DiffListAdapter() {
+        setHasStableIds(true);
+        differ = new AsyncListDiffer<>(this, new AsyncDifferConfig.Builder<>(new ItemDiff())
+                .setBackgroundThreadExecutor(AppExecutors.getInstance().computation())
+                .build());
+        differ.addListListener((previous, current) -> retainStableIds(current));
+    }
+
+    /**
+     * Document/entity id of a row; must be non-null and unique within the list.
+     */
+    @NonNull
+    protected abstract String idOf(@NonNull T item);
+
+    /**
+     * True if the row would render the same.
+     */
+    protected abstract boolean sameContents(@NonNull T oldItem, @NonNull T newItem);
+
+    /**
+     * Optional partial-bind payload for a changed row; null means a full re-bind.
+     */
+    @Nullable
+    protected Object changePayload(@NonNull T oldItem, @NonNull T newItem) {
+        return null;
+    }
+
+    @MainThread
+    public void submitList(@Nullable List<T> list) {
+        submitList(list, null);
+    }
+
+    /**
+     * @param onCommitted runs on the main thread once the new list is displayed
+     */
+    @MainThread
+    public void submitList(@Nullable List<T> list, @Nullable Runnable onCommitted) {
+        items = list == null || list.isEmpty()
+                ? Collections.emptyList()
+                : Collections.unmodifiableList(new ArrayList<>(list));
+        differ.submitList(items, onCommitted);
+    }
+
+    /**
+     * The latest submitted list (may be ahead of what is on screen while a diff runs).
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Item at an adapter position, i.e. in the list currently displayed.
+     */
+    protected T getItem(int position) {
+        return differ.getCurrentList().get(position);
+    }
+
+    @Override
+    public int getItemCount() {
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        String id = idOf(getItem(position));
+        Long stableId = stableIds.get(id);
+        if (stableId == null) {
+            stableId = nextStableId++;
+            stableIds.put(id, stableId);
+        }
+        return stableId;
+    }
+
+    /**
+     * Forget ids no longer displayed so the map stays the size of the list.
+     * Ids are never reused, so a row that comes back later gets a fresh one.
+     */
+    private void retainStableIds(List<T> current) {
+        if (stableIds.size() <= current.size()) return;
+        Set<String> ids = new HashSet<>(current.size() * 2);
+        for (T item : current) ids.add(idOf(item));
+        stableIds.keySet().retainAll(ids);
+    }
+
+    private final class ItemDiff extends DiffUtil.ItemCallback<T> {
+        @Override
+        public boolean areItemsTheSame(@NonNull T oldItem, @NonNull T newItem) {
+            return Objects.equals(idOf(oldItem), idOf(newItem));
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull T oldItem, @NonNull T newItem) {
+            return sameContents(oldItem, newItem);
+        }
+
+        @Nullable
+        @Override
+        public Object getChangePayload(@NonNull T oldItem, @NonNull T newItem) {
+            return changePayload(oldItem, newItem);
+        }
+    }
+}
@@ -1,7 +1,16 @@
 package com.example.edubridge;
 
+import android.content.Context;
 import android.util.Log;
 
+import androidx.annotation.Nullable;
+
+import com.example.edubridge.data.local.entity.Enrollment;
+import com.example.edubridge.data.local.outbox.OutboxWrite;
+import com.example.edubridge.data.local.repository.EnrollmentRepository;
+import com.example.edubridge.data.local.repository.OutboxRepository;
+import com.example.edubridge.data.local.stats.EnrollmentStats;
+import com.example.edubridge.data.local.work.EnrollmentStatsWorker;
 import com.google.android.gms.tasks.Task;
 import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.Timestamp;
@@ -10,9 +19,13 @@ import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.SetOptions;
 import com.google.firebase.firestore.WriteBatch;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -24,11 +37,18 @@ import java.util.Map;
  * - M3.3.3: Unenroll from courses
  * - M3.3.4: Record timestamps
  * - M3.3.5: Sync to dashboard
+ *
+ * Every enrollment or progress write also adjusts the user's EnrollmentStats document
+ * in the same batch, which is what the dashboard header reads.
  */
 public class EnrollmentManager {
 
     private static final String TAG = "EnrollmentManager";
-    private static final FirebaseFirestore db = FirebaseFirestore.getInstance();
+
+    // Looked up on use, so the write builders below also run in JVM tests
+    private static FirebaseFirestore db() {
+        return FirebaseFirestore.getInstance();
+    }
 
     /**
      * Enrollment status enum
@@ -72,7 +92,7 @@ public class EnrollmentManager {
             return;
         }
 
-        DocumentReference enrollmentRef = db.collection("users").document(userId)
+        DocumentReference enrollmentRef = db().collection("users").document(userId)
                 .collection("enrollments").document(courseId);
 
         // M3.3.2: Check for duplicate enrollment first
@@ -96,17 +116,21 @@ public class EnrollmentManager {
             enrollment.put("completedAt", null);
 
             // Use batch write for atomicity
-            WriteBatch batch = db.batch();
+            WriteBatch batch = db().batch();
 
             // Add to user's enrollments
             batch.set(enrollmentRef, enrollment);
 
             // M3.3.5: Update user's enrolled courses count
             // Use set with merge to ensure it works even if field doesn't exist
-            DocumentReference userRef = db.collection("users").document(userId);
+            DocumentReference userRef = db().collection("users").document(userId);
             Map<String, Object> userUpdate = new HashMap<>();
             userUpdate.put("enrolledCoursesCount", FieldValue.increment(1));
-            batch.set(userRef, userUpdate, com.google.firebase.firestore.SetOptions.merge());
+            batch.set(userRef, userUpdate, SetOptions.merge());
+
+            // Aggregate for the dashboard header
+            batch.set(db().document(EnrollmentStats.documentPath(userId)),
+                    EnrollmentStats.enrollDelta(totalLessons, now), SetOptions.merge());
 
             Log.d(TAG, "Attempting to enroll in course: " + courseId);
 
@@ -135,7 +159,7 @@ public class EnrollmentManager {
             return;
         }
 
-        DocumentReference enrollmentRef = db.collection("users").document(userId)
+        DocumentReference enrollmentRef = db().collection("users").document(userId)
                 .collection("enrollments").document(courseId);
 
         // Check if enrolled and not completed
@@ -155,13 +179,21 @@ public class EnrollmentManager {
             }
 
             // Remove enrollment
-            WriteBatch batch = db.batch();
+            WriteBatch batch = db().batch();
             batch.delete(enrollmentRef);
 
             // Decrement enrolled courses count
-            DocumentReference userRef = db.collection("users").document(userId);
+            DocumentReference userRef = db().collection("users").document(userId);
             batch.update(userRef, "enrolledCoursesCount", FieldValue.increment(-1));
 
+            Long progress = doc.getLong("progress");
+            Long totalLessons = doc.getLong("totalLessons");
+            batch.set(db().document(EnrollmentStats.documentPath(userId)),
+                    EnrollmentStats.unenrollDelta(
+                            progress != null ? progress.intValue() : 0,
+                            totalLessons != null ? totalLessons.intValue() : 0),
+                    SetOptions.merge());
+
             batch.commit()
                     .addOnSuccessListener(aVoid -> {
                         Log.d(TAG, "Unenrolled from course: " + courseId);
@@ -176,6 +208,29 @@ public class EnrollmentManager {
 
     // ===== Check enrollment status =====
 
+    /**
+     * Check if user is enrolled in a course, answering from the local enrollment cache.
+     * The callback runs synchronously when the cache is warm; otherwise this falls back
+     * to a Firestore read.
+     */
+    public static void checkEnrollmentStatus(Context context, String userId, String courseId,
+            StatusCallback callback) {
+        EnrollmentRepository repository = EnrollmentRepository.getInstance(context);
+        repository.start(userId);
+        if (!repository.isWarm(userId)) {
+            checkEnrollmentStatus(userId, courseId, callback);
+            return;
+        }
+
+        Enrollment enrollment = repository.peek(courseId);
+        if (enrollment == null) {
+            callback.onResult(EnrollmentStatus.NOT_ENROLLED, 0, 0);
+        } else {
+            callback.onResult(toStatus(enrollment.status, enrollment.progress),
+                    enrollment.progress, enrollment.enrolledAt);
+        }
+    }
+
     /**
      * Check if user is enrolled in a course.
      * Returns enrollment status and progress.
@@ -187,7 +242,7 @@ public class EnrollmentManager {
             return;
         }
 
-        db.collection("users").document(userId)
+        db().collection("users").document(userId)
                 .collection("enrollments").document(courseId)
                 .get()
                 .addOnSuccessListener(doc -> {
@@ -203,16 +258,7 @@ public class EnrollmentManager {
                     int progressValue = progress != null ? progress.intValue() : 0;
                     long enrolledAtValue = enrolledAt != null ? enrolledAt : 0;
 
-                    EnrollmentStatus enrollmentStatus;
-                    if ("completed".equals(status)) {
-                        enrollmentStatus = EnrollmentStatus.COMPLETED;
-                    } else if (progressValue > 0) {
-                        enrollmentStatus = EnrollmentStatus.IN_PROGRESS;
-                    } else {
-                        enrollmentStatus = EnrollmentStatus.ENROLLED;
-                    }
-
-                    callback.onResult(enrollmentStatus, progressValue, enrolledAtValue);
+                    callback.onResult(toStatus(status, progressValue), progressValue, enrolledAtValue);
                 })
                 .addOnFailureListener(e -> {
                     Log.e(TAG, "Error checking enrollment", e);
@@ -220,13 +266,25 @@ public class EnrollmentManager {
                 });
     }
 
+    private static EnrollmentStatus toStatus(String status, int progress) {
+        if ("completed".equals(status)) {
+            return EnrollmentStatus.COMPLETED;
+        } else if (progress > 0) {
+            return EnrollmentStatus.IN_PROGRESS;
+        }
+        return EnrollmentStatus.ENROLLED;
+    }
+
     // ===== Update progress =====
 
     /**
      * Update user's progress in a course.
      * Also updates lastAccessedAt timestamp.
+     * Goes through the outbox: works offline, and rapid updates to one course
+     * are coalesced into a single write. The stats increments are queued with it; if
+     * the previous progress is not cached, the stats are reconciled instead.
      */
-    public static void updateProgress(String userId, String courseId,
+    public static void updateProgress(Context context, String userId, String courseId,
             int lessonsCompleted, int totalLessons,
             EnrollmentCallback callback) {
         if (userId == null || courseId == null) {
@@ -235,33 +293,49 @@ public class EnrollmentManager {
             return;
         }
 
-        DocumentReference enrollmentRef = db.collection("users").document(userId)
-                .collection("enrollments").document(courseId);
+        long now = System.currentTimeMillis();
+        String status = progressStatus(lessonsCompleted, totalLessons);
+        Enrollment previous = EnrollmentRepository.getInstance(context)
+                .applyLocalProgress(userId, courseId, lessonsCompleted, status, now);
+        if (previous == null) EnrollmentStatsWorker.reconcileSoon(context);
+
+        OutboxRepository.getInstance(context).enqueue(
+                progressWrites(userId, courseId, lessonsCompleted, totalLessons, previous, now), () -> {
+            if (callback != null) {
+                callback.onSuccess("Progress updated");
+            }
+        });
+    }
+
+    @Nullable
+    private static String progressStatus(int lessonsCompleted, int totalLessons) {
+        if (lessonsCompleted >= totalLessons) return "completed";
+        if (lessonsCompleted > 0) return "in_progress";
+        return null;
+    }
 
-        Map<String, Object> updates = new HashMap<>();
-        updates.put("progress", lessonsCompleted);
-        updates.put("lastAccessedAt", System.currentTimeMillis());
+    /**
+     * Outbox writes for a progress update: the enrollment, plus the stats increments
+     * when the previous progress is known (null otherwise).
+     */
+    static List<OutboxWrite> progressWrites(String userId, String courseId, int lessonsCompleted,
+                                            int totalLessons, @Nullable Enrollment previous,
+                                            long now) {
+        OutboxWrite update = OutboxWrite.update("users/" + userId + "/enrollments/" + courseId)
+                .put("progress", lessonsCompleted)
+                .put("lastAccessedAt", now);
 
         // Check if completed
-        if (lessonsCompleted >= totalLessons) {
-            updates.put("status", "completed");
-            updates.put("completedAt", System.currentTimeMillis());
-        } else if (lessonsCompleted > 0) {
-            updates.put("status", "in_progress");
-        }
+        String status = progressStatus(lessonsCompleted, totalLessons);
+        if ("completed".equals(status)) update.put("completedAt", now);
+        if (status != null) update.put("status", status);
 
-        enrollmentRef.update(updates)
-                .addOnSuccessListener(aVoid -> {
-                    if (callback != null) {
-                        callback.onSuccess("Progress updated");
-                    }
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Error updating progress", e);
-                    if (callback != null) {
-                        callback.onError("Failed to update progress");
-                    }
-                });
+        if (previous == null) return Collections.singletonList(update);
+
+        int lessonsDelta = EnrollmentStats.countedLessons(lessonsCompleted, totalLessons)
+                - EnrollmentStats.countedLessons(previous.progress, previous.totalLessons);
+        boolean becameCompleted = "completed".equals(status) && !"completed".equals(previous.status);
+        return Arrays.asList(update, EnrollmentStats.progressDelta(userId, lessonsDelta, becameCompleted, now));
     }
 
     /**
@@ -0,0 +1,113 @@
+package com.example.edubridge;
+
+import android.app.Activity;
+import android.app.Application;
+import android.graphics.Color;
+import android.graphics.Typeface;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Gravity;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.edubridge.data.local.metrics.ExecutorMetrics;
+
+/**
+ * Debug overlay: a small box on every screen with live executor queue depth and wait
+ * times from {@link ExecutorMetrics}. Toggled from QueryStatsActivity.
+ */
+public final class ExecutorOverlay implements Application.ActivityLifecycleCallbacks {
+
+    private static final long REFRESH_MS = 1000;
+
+    private static ExecutorOverlay instance;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private TextView view;
+
+    private final Runnable refresh = new Runnable() {
+        @Override
+        public void run() {
+            if (view == null) return;
+            String summary = ExecutorMetrics.summary();
+            view.setText(summary.isEmpty() ? "executors idle" : summary);
+            handler.postDelayed(this, REFRESH_MS);
+        }
+    };
+
+    private ExecutorOverlay() {}
+
+    public static boolean isShown() {
+        return instance != null;
+    }
+
+    /**
+     * Show the overlay on the given screen and every screen after it, or remove it.
+     */
+    public static void toggle(Activity activity) {
+        Application app = activity.getApplication();
+        if (instance != null) {
+            app.unregisterActivityLifecycleCallbacks(instance);
+            instance.detach();
+            instance = null;
+        } else {
+            instance = new ExecutorOverlay();
+            app.registerActivityLifecycleCallbacks(instance);
+            instance.attach(activity);
+        }
+    }
+
+    private void attach(Activity activity) {
+        detach();
+        ViewGroup content = activity.findViewById(android.R.id.content);
+        if (content == null) return;
+
+        float density = activity.getResources().getDisplayMetrics().density;
+        int padding = (int) (6 * density);
+
+        view = new TextView(activity);
+        view.setTypeface(Typeface.MONOSPACE);
+        view.setTextSize(10);
+        view.setTextColor(Color.WHITE);
+        view.setBackgroundColor(0xB0000000);
+        view.setPadding(padding, padding, padding, padding);
+        view.setClickable(false);
+        view.setFocusable(false);
+
+        FrameLayout.LayoutParams lp = new FrameLayout.LayoutParams(
+                ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT,
+                Gravity.BOTTOM | Gravity.END);
+        lp.setMargins(0, 0, padding, padding * 8);
+        content.addView(view, lp);
+        handler.post(refresh);
+    }
+
+    private void detach() {
+        handler.removeCallbacks(refresh);
+        if (view != null && view.getParent() instanceof ViewGroup) {
+            ((ViewGroup) view.getParent()).removeView(view);
+        }
+        view = null;
+    }
+
+    @Override
+    public void onActivityResumed(@NonNull Activity activity) {
+        attach(activity);
+    }
+
+    @Override
+    public void onActivityPaused(@NonNull Activity activity) {
+        detach();
+    }
+
+    @Override public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle state) {}
+    @Override public void onActivityStarted(@NonNull Activity activity) {}
+    @Override public void onActivityStopped(@NonNull Activity activity) {}
+    @Override public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle state) {}
+    @Override public void onActivityDestroyed(@NonNull Activity activity) {}
+}
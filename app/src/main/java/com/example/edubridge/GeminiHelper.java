@@ -2,16 +2,20 @@ package com.example.edubridge;
 
 import android.util.Log;
 
+import com.example.edubridge.data.local.metrics.ExecutorMetrics;
+import com.example.edubridge.utils.AppExecutors;
+import com.example.edubridge.utils.TaskScope;
+
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import java.io.IOException;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
 import okhttp3.Call;
 import okhttp3.Callback;
+import okhttp3.Dispatcher;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -43,13 +47,24 @@ public class GeminiHelper {
             "Be encouraging and supportive.";
 
     private static final OkHttpClient client = new OkHttpClient.Builder()
+            .dispatcher(newDispatcher())
             .connectTimeout(60, TimeUnit.SECONDS)
             .readTimeout(60, TimeUnit.SECONDS)
             .writeTimeout(60, TimeUnit.SECONDS)
             .build();
-    private static final Executor executor = Executors.newSingleThreadExecutor();
     private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
 
+    /**
+     * Run calls on the shared network pool. OkHttp queues calls beyond the pool size
+     * itself, so the pool never has to reject one.
+     */
+    private static Dispatcher newDispatcher() {
+        Dispatcher dispatcher = new Dispatcher(AppExecutors.getInstance().networkIO());
+        dispatcher.setMaxRequests(AppExecutors.networkThreadCount());
+        dispatcher.setMaxRequestsPerHost(AppExecutors.networkThreadCount());
+        return dispatcher;
+    }
+
     /**
      * Callback interface for AI responses.
      */
@@ -59,14 +74,40 @@ public class GeminiHelper {
         void onError(String error);
     }
 
+    /**
+     * An in-flight request. cancel() aborts the HTTP call (or the request build if it
+     * has not reached the network yet) and suppresses the callback.
+     */
+    public static final class PendingResponse implements TaskScope.Cancellable {
+        private volatile boolean cancelled;
+        private volatile Future<?> buildTask;
+        private volatile Call call;
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            Future<?> task = buildTask;
+            if (task != null) task.cancel(false);
+            Call current = call;
+            if (current != null) current.cancel();
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
     /**
      * Generate a response from Gemini AI.
      *
      * @param userMessage The user's message/question
-     * @param callback    Callback for success/error
+     * @param callback    Callback for success/error; never called after cancel()
+     * @return handle to cancel the request, e.g. when the screen goes away
      */
-    public static void generateResponse(String userMessage, GeminiCallback callback) {
-        executor.execute(() -> {
+    public static PendingResponse generateResponse(String userMessage, GeminiCallback callback) {
+        PendingResponse pending = new PendingResponse();
+        pending.buildTask = AppExecutors.getInstance().computation().submit(ExecutorMetrics.tag("GeminiHelper#buildRequest", () -> {
+            if (pending.cancelled) return;
             try {
                 // Build the request body
                 String fullPrompt = SYSTEM_PROMPT + "\n\nUser: " + userMessage + "\n\nAssistant:";
@@ -92,15 +133,30 @@ public class GeminiHelper {
 
                 Log.d(TAG, "Sending request to: " + API_URL);
 
-                client.newCall(request).enqueue(new Callback() {
+                Call call = client.newCall(request);
+                pending.call = call;
+                // cancel() may have run before the call was published
+                if (pending.cancelled) {
+                    call.cancel();
+                    return;
+                }
+                call.enqueue(new Callback() {
                     @Override
                     public void onFailure(Call call, IOException e) {
+                        if (pending.cancelled) {
+                            Log.d(TAG, "Request cancelled");
+                            return;
+                        }
                         Log.e(TAG, "API call failed", e);
                         callback.onError("Network error. Please check your internet connection.");
                     }
 
                     @Override
                     public void onResponse(Call call, Response response) throws IOException {
+                        if (pending.cancelled) {
+                            response.close();
+                            return;
+                        }
                         String responseBody = response.body() != null ? response.body().string() : "";
 
                         if (!response.isSuccessful()) {
@@ -142,6 +198,7 @@ public class GeminiHelper {
                 Log.e(TAG, "Request build error", e);
                 callback.onError("Failed to send request");
             }
-        });
+        }));
+        return pending;
     }
 }
@@ -5,6 +5,8 @@ public class Leader {
     public String name;
     public long totalPoints;
     public int badgeCount;
+    // 1-based position in the board, set by LeaderboardAdapter
+    public int rank;
 
     public Leader() {}
 
@@ -37,7 +37,7 @@ public class LeaderboardActivity extends AppCompatActivity {
 
         recycler = findViewById(R.id.recycler_leaderboard);
         recycler.setLayoutManager(new LinearLayoutManager(this));
-        adapter = new LeaderboardAdapter(this, leaders);
+        adapter = new LeaderboardAdapter(this);
         recycler.setAdapter(adapter);
 
         db = FirebaseFirestore.getInstance();
@@ -68,7 +68,7 @@ public class LeaderboardActivity extends AppCompatActivity {
 
                         leaders.add(new Leader(uid, name, points, badgeCount));
                     }
-                    adapter.notifyDataSetChanged();
+                    adapter.setLeaders(leaders);
                 });
     }
 
@@ -14,21 +14,45 @@ import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 
 import java.util.List;
+import java.util.Objects;
 
-public class LeaderboardAdapter extends RecyclerView.Adapter<LeaderboardAdapter.VH> {
+public class LeaderboardAdapter extends DiffListAdapter<Leader, LeaderboardAdapter.VH> {
 
     private final Context context;
-    private final List<Leader> data;
     private final String currentUid;
 
-    public LeaderboardAdapter(Context context, List<Leader> data) {
+    public LeaderboardAdapter(Context context) {
         this.context = context;
-        this.data = data;
 
         FirebaseUser u = FirebaseAuth.getInstance().getCurrentUser();
         this.currentUid = (u != null) ? u.getUid() : null;
     }
 
+    /**
+     * Show leaders in board order. Ranks are stored on the rows so that a row whose
+     * rank changed is re-bound even if nothing else about it did.
+     */
+    public void setLeaders(List<Leader> leaders) {
+        for (int i = 0; i < leaders.size(); i++) {
+            leaders.get(i).rank = i + 1;
+        }
+        submitList(leaders);
+    }
+
+    @NonNull
+    @Override
+    protected String idOf(@NonNull Leader leader) {
+        return leader.uid;
+    }
+
+    @Override
+    protected boolean sameContents(@NonNull Leader a, @NonNull Leader b) {
+        return a.rank == b.rank
+                && a.totalPoints == b.totalPoints
+                && a.badgeCount == b.badgeCount
+                && Objects.equals(a.name, b.name);
+    }
+
     @NonNull
     @Override
     public VH onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -38,10 +62,9 @@ public class LeaderboardAdapter extends RecyclerView.Adapter<LeaderboardAdapter.
 
     @Override
     public void onBindViewHolder(@NonNull VH h, int position) {
-        Leader leader = data.get(position);
-        int rank = position + 1;
+        Leader leader = getItem(position);
 
-        h.tvRank.setText("#" + rank);
+        h.tvRank.setText("#" + leader.rank);
         h.tvName.setText((leader.name == null || leader.name.trim().isEmpty()) ? "User" : leader.name);
         h.tvPoints.setText(String.valueOf(leader.totalPoints));
 
@@ -60,11 +83,6 @@ public class LeaderboardAdapter extends RecyclerView.Adapter<LeaderboardAdapter.
         }
     }
 
-    @Override
-    public int getItemCount() {
-        return data == null ? 0 : data.size();
-    }
-
     static class VH extends RecyclerView.ViewHolder {
         View root;
         TextView tvRank, tvName, tvPoints, tvBadgeCount;
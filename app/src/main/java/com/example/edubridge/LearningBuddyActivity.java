@@ -2,50 +2,61 @@ package com.example.edubridge;
 
 import android.app.AlertDialog;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.widget.EditText;
 import android.widget.ImageView;
 import android.widget.Toast;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.example.edubridge.data.local.AppDatabase;
-import com.example.edubridge.data.local.dao.ChatMessageDao;
 import com.example.edubridge.data.local.entity.ChatMessage;
+import com.example.edubridge.data.local.repository.ChatMessageRepository;
+import com.example.edubridge.utils.AppExecutors;
+import com.example.edubridge.utils.TaskScope;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Executor;
 
 /**
  * Learning Buddy Activity - AI Chat Interface
  * 
  * Features:
  * - Chat with Gemini AI
- * - Persistent chat history (Room database)
+ * - Persistent chat history (Room database), paged by (timestamp, id) cursor
  * - Delete chat history
+ *
+ * Page loads and the pending AI request are cancelled when the screen is destroyed.
  */
 public class LearningBuddyActivity extends AppCompatActivity {
 
+    private static final int PAGE_SIZE = 30;
+    // Start loading the previous page when this close to the top
+    private static final int LOAD_MORE_THRESHOLD = 5;
+
     private RecyclerView rvChat;
     private ChatAdapter chatAdapter;
-    private List<ChatMessage> messages = new ArrayList<>();
-    private ChatMessageDao chatDao;
+    private ChatMessageRepository chatRepository;
     private EditText etMessage;
-    private Handler mainHandler;
+    private Executor mainThread;
+    private final TaskScope scope = TaskScope.of(this);
+
+    private boolean isLoadingOlder = false;
+    private boolean hasMoreOlder = true;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_learning_buddy);
 
-        mainHandler = new Handler(Looper.getMainLooper());
+        mainThread = AppExecutors.getInstance().mainThread();
 
         // Initialize database
-        chatDao = AppDatabase.getInstance(this).chatMessageDao();
+        chatRepository = ChatMessageRepository.getInstance(this);
 
         // Back button
         findViewById(R.id.btn_back).setOnClickListener(v -> finish());
@@ -61,8 +72,17 @@ public class LearningBuddyActivity extends AppCompatActivity {
         LinearLayoutManager layoutManager = new LinearLayoutManager(this);
         layoutManager.setStackFromEnd(true); // Start from bottom
         rvChat.setLayoutManager(layoutManager);
-        chatAdapter = new ChatAdapter(messages);
+        chatAdapter = new ChatAdapter();
         rvChat.setAdapter(chatAdapter);
+        rvChat.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                // Scrolling up towards older messages
+                if (dy < 0 && layoutManager.findFirstVisibleItemPosition() <= LOAD_MORE_THRESHOLD) {
+                    loadOlderMessages();
+                }
+            }
+        });
 
         // Load chat history
         loadChatHistory();
@@ -91,41 +111,58 @@ public class LearningBuddyActivity extends AppCompatActivity {
      * Delete all chat history from Room database.
      */
     private void deleteChatHistory() {
-        new Thread(() -> {
-            chatDao.deleteAll();
-            mainHandler.post(() -> {
-                messages.clear();
-                chatAdapter.notifyDataSetChanged();
-                Toast.makeText(this, "Chat history deleted", Toast.LENGTH_SHORT).show();
-
-                // Add welcome message again
-                addWelcomeMessage();
-            });
-        }).start();
+        chatRepository.deleteAll(scope.bind(() -> {
+            chatAdapter.clearMessages();
+            hasMoreOlder = false;
+            Toast.makeText(this, "Chat history deleted", Toast.LENGTH_SHORT).show();
+
+            // Add welcome message again
+            addWelcomeMessage();
+        }));
     }
 
     /**
-     * Load chat history from database.
+     * Load the newest page of chat history from database.
+     * Older pages are loaded on scroll-up; new rows are appended by saveMessage().
      * If empty, add a welcome message.
      */
     private void loadChatHistory() {
-        chatDao.getAllMessages().observe(this, chatMessages -> {
-            if (chatMessages != null) {
-                messages.clear();
-                messages.addAll(chatMessages);
-                chatAdapter.notifyDataSetChanged();
-
-                // Scroll to bottom
-                if (!messages.isEmpty()) {
-                    rvChat.scrollToPosition(messages.size() - 1);
-                }
-            }
+        scope.add(chatRepository.loadLatestPage(PAGE_SIZE, scope.bind(page -> {
+            Collections.reverse(page);
+            hasMoreOlder = page.size() == PAGE_SIZE;
+            // Scroll to bottom once the page is on screen
+            chatAdapter.prependMessages(olderThanFirst(page), () -> {
+                int count = chatAdapter.getItemCount();
+                if (count > 0) rvChat.scrollToPosition(count - 1);
+            });
 
             // Add welcome message if chat is empty
-            if (messages.isEmpty()) {
+            if (chatAdapter.getItems().isEmpty()) {
                 addWelcomeMessage();
             }
-        });
+        })));
+    }
+
+    /**
+     * Load the page before the oldest message currently shown.
+     */
+    private void loadOlderMessages() {
+        List<ChatMessage> messages = chatAdapter.getItems();
+        if (isLoadingOlder || !hasMoreOlder || messages.isEmpty()) {
+            return;
+        }
+        isLoadingOlder = true;
+
+        ChatMessage oldest = messages.get(0);
+        long cursorTimestamp = oldest.timestamp;
+        String cursorId = oldest.id;
+
+        scope.add(chatRepository.loadPageBefore(cursorTimestamp, cursorId, PAGE_SIZE, scope.bind(page -> {
+            Collections.reverse(page);
+            hasMoreOlder = page.size() == PAGE_SIZE;
+            chatAdapter.prependMessages(olderThanFirst(page), null);
+            isLoadingOlder = false;
+        }, () -> isLoadingOlder = false)));
     }
 
     /**
@@ -163,23 +200,23 @@ public class LearningBuddyActivity extends AppCompatActivity {
         // Show typing indicator (simple approach)
         Toast.makeText(this, "Learning Buddy is thinking...", Toast.LENGTH_SHORT).show();
 
-        // Get AI response
-        GeminiHelper.generateResponse(text, new GeminiHelper.GeminiCallback() {
+        // Get AI response; abandoned if the user leaves before it arrives
+        scope.add(GeminiHelper.generateResponse(text, new GeminiHelper.GeminiCallback() {
             @Override
             public void onSuccess(String response) {
-                mainHandler.post(() -> {
+                mainThread.execute(scope.bind(() -> {
                     ChatMessage aiMessage = new ChatMessage(
                             UUID.randomUUID().toString(),
                             response,
                             false,
                             System.currentTimeMillis());
                     saveMessage(aiMessage);
-                });
+                }));
             }
 
             @Override
             public void onError(String error) {
-                mainHandler.post(() -> {
+                mainThread.execute(scope.bind(() -> {
                     ChatMessage errorMessage = new ChatMessage(
                             UUID.randomUUID().toString(),
                             "Sorry, I'm having trouble responding right now. Please try again later.",
@@ -187,15 +224,63 @@ public class LearningBuddyActivity extends AppCompatActivity {
                             System.currentTimeMillis());
                     saveMessage(errorMessage);
                     Toast.makeText(LearningBuddyActivity.this, error, Toast.LENGTH_SHORT).show();
-                });
+                }));
             }
-        });
+        }));
     }
 
     /**
-     * Save message to database.
+     * Save message to database and append any rows newer than the last one shown.
      */
     private void saveMessage(ChatMessage message) {
-        new Thread(() -> chatDao.insert(message)).start();
+        List<ChatMessage> messages = chatAdapter.getItems();
+        ChatMessage newest = messages.isEmpty() ? null : messages.get(messages.size() - 1);
+        long cursorTimestamp = newest != null ? newest.timestamp : Long.MIN_VALUE;
+        String cursorId = newest != null ? newest.id : "";
+
+        // The insert always runs; only the UI update is dropped once the screen is gone
+        chatRepository.insertAndLoadAfter(message, cursorTimestamp, cursorId, scope.bind(newer -> {
+            List<ChatMessage> toAppend = newerThanLast(newer);
+            if (toAppend.isEmpty()) return;
+            chatAdapter.appendMessages(toAppend,
+                    () -> rvChat.scrollToPosition(chatAdapter.getItemCount() - 1));
+        }));
+    }
+
+    /**
+     * Rows (oldest first) that sort strictly before the first message shown.
+     * Guards against overlap when a page load races a save.
+     */
+    private List<ChatMessage> olderThanFirst(List<ChatMessage> page) {
+        List<ChatMessage> messages = chatAdapter.getItems();
+        if (messages.isEmpty()) return page;
+        ChatMessage first = messages.get(0);
+        List<ChatMessage> result = new ArrayList<>();
+        for (ChatMessage m : page) {
+            if (compareCursor(m, first) < 0) result.add(m);
+        }
+        return result;
+    }
+
+    /**
+     * Rows (oldest first) that sort strictly after the last message shown.
+     */
+    private List<ChatMessage> newerThanLast(List<ChatMessage> rows) {
+        List<ChatMessage> messages = chatAdapter.getItems();
+        if (messages.isEmpty()) return rows;
+        ChatMessage last = messages.get(messages.size() - 1);
+        List<ChatMessage> result = new ArrayList<>();
+        for (ChatMessage m : rows) {
+            if (compareCursor(m, last) > 0) result.add(m);
+        }
+        return result;
+    }
+
+    /**
+     * Same ordering as the DAO keyset queries: timestamp, then id.
+     */
+    private static int compareCursor(ChatMessage a, ChatMessage b) {
+        int byTime = Long.compare(a.timestamp, b.timestamp);
+        return byTime != 0 ? byTime : a.id.compareTo(b.id);
     }
 }
\ No newline at end of file
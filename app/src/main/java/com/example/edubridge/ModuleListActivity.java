@@ -183,7 +183,7 @@ public class ModuleListActivity extends AppCompatActivity
             }
         }
 
-        EnrollmentManager.updateProgress(userId, courseId, completedLessons, totalLessons, null);
+        EnrollmentManager.updateProgress(this, userId, courseId, completedLessons, totalLessons, null);
     }
 
     // ===== Sample Data Generation =====
@@ -0,0 +1,108 @@
+package com.example.edubridge;
+
+import android.text.TextUtils;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.edubridge.data.local.entity.Course;
+import com.google.android.material.progressindicator.LinearProgressIndicator;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Dashboard "My Courses" list. A progress change re-binds only the affected row's
+ * status line and bar.
+ */
+public class MyCoursesAdapter extends DiffListAdapter<Course, MyCoursesAdapter.ViewHolder> {
+
+    // Only progress/status changed: skip re-binding the title
+    private static final Object PAYLOAD_PROGRESS = new Object();
+
+    private final CourseProgressAdapter.OnCourseClickListener listener;
+
+    public MyCoursesAdapter(CourseProgressAdapter.OnCourseClickListener listener) {
+        this.listener = listener;
+    }
+
+    @NonNull
+    @Override
+    protected String idOf(@NonNull Course course) {
+        return course.courseId;
+    }
+
+    @Override
+    protected boolean sameContents(@NonNull Course a, @NonNull Course b) {
+        return Objects.equals(a.title, b.title)
+                && a.progress == b.progress
+                && a.totalLessons == b.totalLessons
+                && Objects.equals(a.status, b.status);
+    }
+
+    @Nullable
+    @Override
+    protected Object changePayload(@NonNull Course oldItem, @NonNull Course newItem) {
+        return Objects.equals(oldItem.title, newItem.title) ? PAYLOAD_PROGRESS : null;
+    }
+
+    @NonNull
+    @Override
+    public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_my_course, parent, false);
+        ViewHolder holder = new ViewHolder(view);
+        view.setOnClickListener(v -> {
+            int position = holder.getAdapterPosition();
+            if (listener != null && position != RecyclerView.NO_POSITION) {
+                listener.onCourseClick(getItem(position));
+            }
+        });
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
+        Course course = getItem(position);
+        holder.tvTitle.setText(course.title != null ? course.title : "Unknown Course");
+        holder.bindProgress(course);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull ViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (!payloads.isEmpty()) {
+            holder.bindProgress(getItem(position));
+        } else {
+            onBindViewHolder(holder, position);
+        }
+    }
+
+    static class ViewHolder extends RecyclerView.ViewHolder {
+        final TextView tvTitle, tvStatus;
+        final LinearProgressIndicator pbProgress;
+
+        ViewHolder(@NonNull View itemView) {
+            super(itemView);
+            tvTitle = itemView.findViewById(R.id.tv_my_course_title);
+            tvStatus = itemView.findViewById(R.id.tv_my_course_status);
+            pbProgress = itemView.findViewById(R.id.pb_my_course);
+        }
+
+        void bindProgress(Course course) {
+            int total = course.totalLessons > 0 ? course.totalLessons : 10;
+            int current = course.progress;
+            String status = !TextUtils.isEmpty(course.status)
+                    ? course.status
+                    : (current > 0 ? "In Progress" : "Enrolled");
+            tvStatus.setText(status + " • " + current + "/" + total + " lessons");
+
+            int percent = (int) (((float) current / total) * 100f);
+            pbProgress.setProgress(Math.max(0, Math.min(100, percent)));
+        }
+    }
+}
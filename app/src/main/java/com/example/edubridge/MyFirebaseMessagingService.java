@@ -9,6 +9,8 @@ import android.os.Build;
 import androidx.annotation.NonNull;
 import androidx.core.app.NotificationCompat;
 
+import com.example.edubridge.data.local.repository.NotificationRepository;
+
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.FieldValue;
@@ -169,11 +171,6 @@ public class MyFirebaseMessagingService extends FirebaseMessagingService {
         notification.isRead = false;
         notification.timestamp = System.currentTimeMillis();
 
-        new Thread(() -> {
-            com.example.edubridge.data.local.AppDatabase
-                    .getInstance(getApplicationContext())
-                    .notificationDao()
-                    .insert(notification);
-        }).start();
+        NotificationRepository.getInstance(getApplicationContext()).insert(notification);
     }
 }
@@ -12,18 +12,17 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.edubridge.data.local.entity.Notification;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Adapter for displaying notifications in a RecyclerView.
  */
-public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapter.ViewHolder> {
+public class NotificationAdapter extends DiffListAdapter<Notification, NotificationAdapter.ViewHolder> {
 
-    private List<Notification> notifications = new ArrayList<>();
     private final OnItemClickListener listener;
 
     public interface OnItemClickListener {
@@ -35,8 +34,22 @@ public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapte
     }
 
     public void setNotifications(List<Notification> notifications) {
-        this.notifications = notifications != null ? notifications : new ArrayList<>();
-        notifyDataSetChanged();
+        submitList(notifications);
+    }
+
+    @NonNull
+    @Override
+    protected String idOf(@NonNull Notification notification) {
+        return notification.id;
+    }
+
+    @Override
+    protected boolean sameContents(@NonNull Notification a, @NonNull Notification b) {
+        return a.isRead == b.isRead
+                && a.timestamp == b.timestamp
+                && Objects.equals(a.title, b.title)
+                && Objects.equals(a.body, b.body)
+                && Objects.equals(a.type, b.type);
     }
 
     @NonNull
@@ -49,15 +62,10 @@ public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapte
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        Notification notification = notifications.get(position);
+        Notification notification = getItem(position);
         holder.bind(notification, listener);
     }
 
-    @Override
-    public int getItemCount() {
-        return notifications.size();
-    }
-
     static class ViewHolder extends RecyclerView.ViewHolder {
         ImageView ivIcon;
         TextView tvTitle, tvBody, tvTime;
@@ -5,21 +5,37 @@ import android.os.Bundle;
 import android.view.View;
 import android.widget.LinearLayout;
 
+import androidx.annotation.NonNull;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.example.edubridge.data.local.AppDatabase;
 import com.example.edubridge.data.local.entity.Notification;
+import com.example.edubridge.data.local.repository.NotificationRepository;
+import com.example.edubridge.utils.TaskScope;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Activity to display the user's notification history.
  */
 public class NotificationsActivity extends AppCompatActivity {
 
+    private static final int PAGE_SIZE = 30;
+    private static final int LOAD_MORE_THRESHOLD = 5;
+
     private RecyclerView rvNotifications;
     private LinearLayout layoutEmpty;
     private NotificationAdapter adapter;
+    private NotificationRepository repository;
+    private final TaskScope scope = TaskScope.of(this);
+
+    // Rows on screen, newest first; the last one is the keyset cursor for the next page
+    private final List<Notification> loaded = new ArrayList<>();
+    private boolean olderPagesLoaded = false;
+    private boolean isLoadingOlder = false;
+    private boolean hasMoreOlder = true;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -34,29 +50,68 @@ public class NotificationsActivity extends AppCompatActivity {
         layoutEmpty = findViewById(R.id.layout_empty);
 
         // Setup RecyclerView
-        rvNotifications.setLayoutManager(new LinearLayoutManager(this));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(this);
+        rvNotifications.setLayoutManager(layoutManager);
         adapter = new NotificationAdapter(this::onNotificationClick);
         rvNotifications.setAdapter(adapter);
+        rvNotifications.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                if (dy > 0 && layoutManager.findLastVisibleItemPosition()
+                        >= adapter.getItemCount() - LOAD_MORE_THRESHOLD) {
+                    loadOlderNotifications();
+                }
+            }
+        });
+
+        // Observe the newest page from Room; older pages are fetched by cursor on scroll
+        repository = NotificationRepository.getInstance(this);
+        repository.observeLatestPage(PAGE_SIZE).observe(this, latest -> {
+            if (!olderPagesLoaded || loaded.isEmpty()) {
+                hasMoreOlder = latest != null && latest.size() == PAGE_SIZE;
+                showNotifications(latest);
+                return;
+            }
+            // Something changed: refresh everything down to the oldest row already shown
+            Notification oldest = loaded.get(loaded.size() - 1);
+            scope.add(repository.loadNewestDownTo(oldest.timestamp, oldest.id,
+                    scope.bind(this::showNotifications)));
+        });
+    }
+
+    private void loadOlderNotifications() {
+        if (isLoadingOlder || !hasMoreOlder || loaded.isEmpty()) return;
+        isLoadingOlder = true;
+
+        Notification oldest = loaded.get(loaded.size() - 1);
+        scope.add(repository.loadPageBefore(oldest.timestamp, oldest.id, PAGE_SIZE, scope.bind(page -> {
+            isLoadingOlder = false;
+            hasMoreOlder = page.size() == PAGE_SIZE;
+            if (page.isEmpty()) return;
+            olderPagesLoaded = true;
+            List<Notification> combined = new ArrayList<>(loaded);
+            combined.addAll(page);
+            showNotifications(combined);
+        }, () -> isLoadingOlder = false)));
+    }
+
+    private void showNotifications(List<Notification> notifications) {
+        loaded.clear();
+        if (notifications != null) loaded.addAll(notifications);
 
-        // Observe notifications from Room
-        AppDatabase.getInstance(this).notificationDao().getAllNotifications()
-                .observe(this, notifications -> {
-                    if (notifications == null || notifications.isEmpty()) {
-                        layoutEmpty.setVisibility(View.VISIBLE);
-                        rvNotifications.setVisibility(View.GONE);
-                    } else {
-                        layoutEmpty.setVisibility(View.GONE);
-                        rvNotifications.setVisibility(View.VISIBLE);
-                        adapter.setNotifications(notifications);
-                    }
-                });
+        if (loaded.isEmpty()) {
+            layoutEmpty.setVisibility(View.VISIBLE);
+            rvNotifications.setVisibility(View.GONE);
+        } else {
+            layoutEmpty.setVisibility(View.GONE);
+            rvNotifications.setVisibility(View.VISIBLE);
+        }
+        adapter.setNotifications(new ArrayList<>(loaded));
     }
 
     private void onNotificationClick(Notification notification) {
         // Mark as read
-        new Thread(() -> {
-            AppDatabase.getInstance(this).notificationDao().markAsRead(notification.id);
-        }).start();
+        NotificationRepository.getInstance(this).markAsRead(notification.id);
 
         // Navigate to target screen
         Intent intent = null;
@@ -15,15 +15,14 @@ import com.example.edubridge.data.local.entity.PlannerTask;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
 /**
  * RecyclerView adapter for displaying planner tasks.
  */
-public class PlannerTaskAdapter extends RecyclerView.Adapter<PlannerTaskAdapter.TaskViewHolder> {
+public class PlannerTaskAdapter extends DiffListAdapter<PlannerTask, PlannerTaskAdapter.TaskViewHolder> {
 
-    private List<PlannerTask> tasks;
     private final TaskClickListener listener;
 
     public interface TaskClickListener {
@@ -32,14 +31,21 @@ public class PlannerTaskAdapter extends RecyclerView.Adapter<PlannerTaskAdapter.
         void onTaskDelete(PlannerTask task);
     }
 
-    public PlannerTaskAdapter(List<PlannerTask> tasks, TaskClickListener listener) {
-        this.tasks = tasks;
+    public PlannerTaskAdapter(TaskClickListener listener) {
         this.listener = listener;
     }
 
-    public void setTasks(List<PlannerTask> tasks) {
-        this.tasks = tasks;
-        notifyDataSetChanged();
+    @NonNull
+    @Override
+    protected String idOf(@NonNull PlannerTask task) {
+        return task.id;
+    }
+
+    @Override
+    protected boolean sameContents(@NonNull PlannerTask a, @NonNull PlannerTask b) {
+        return a.isCompleted == b.isCompleted
+                && a.dueDate == b.dueDate
+                && Objects.equals(a.title, b.title);
     }
 
     @NonNull
@@ -52,15 +58,10 @@ public class PlannerTaskAdapter extends RecyclerView.Adapter<PlannerTaskAdapter.
 
     @Override
     public void onBindViewHolder(@NonNull TaskViewHolder holder, int position) {
-        PlannerTask task = tasks.get(position);
+        PlannerTask task = getItem(position);
         holder.bind(task, listener);
     }
 
-    @Override
-    public int getItemCount() {
-        return tasks == null ? 0 : tasks.size();
-    }
-
     static class TaskViewHolder extends RecyclerView.ViewHolder {
         private final CheckBox cbTask;
         private final TextView tvTitle;
@@ -77,6 +78,8 @@ public class PlannerTaskAdapter extends RecyclerView.Adapter<PlannerTaskAdapter.
 
         void bind(PlannerTask task, TaskClickListener listener) {
             tvTitle.setText(task.title);
+            // Detach first: a recycled row's listener would report this as a user toggle
+            cbTask.setOnCheckedChangeListener(null);
             cbTask.setChecked(task.isCompleted);
 
             // Format due date
@@ -1,6 +1,8 @@
 package com.example.edubridge;
 
 import androidx.annotation.NonNull;
+
+import com.example.edubridge.data.local.outbox.OutboxWrite;
 import com.google.firebase.firestore.Transaction;
 import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.FieldValue;
@@ -52,6 +54,22 @@ public final class PointsManager {
         update.put("lastPointReason", reason);
         tx.set(userRef, update, SetOptions.merge());
     }
+
+    /**
+     * ✅ Add points through the outbox (works offline; queued awards are summed).
+     * Example: applyAwardPoints(OutboxWrite.setMerge("users/" + uid), 5, "create_post");
+     */
+    public static OutboxWrite applyAwardPoints(
+            @NonNull OutboxWrite userWrite,
+            long delta,
+            @NonNull String reason
+    ) {
+        return userWrite
+                .increment(FIELD_TOTAL_POINTS, delta)
+                .serverTimestamp(FIELD_POINTS_UPDATED_AT)
+                .put("lastPointReason", reason);
+    }
+
     /**
      * ✅ Store username to users/{uid} (for leaderboard display).
      */
@@ -64,5 +82,12 @@ public final class PointsManager {
         update.put(FIELD_USER_NAME, userName);
         batch.set(userRef, update, SetOptions.merge());
     }
+
+    public static OutboxWrite applyUserName(
+            @NonNull OutboxWrite userWrite,
+            @NonNull String userName
+    ) {
+        return userWrite.put(FIELD_USER_NAME, userName);
+    }
 }
 
@@ -11,12 +11,13 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.edubridge.data.local.outbox.OutboxWrite;
+import com.example.edubridge.data.local.repository.OutboxRepository;
 import com.google.android.material.button.MaterialButton;
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.DocumentSnapshot;
-import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.ListenerRegistration;
 import com.google.firebase.firestore.Query;
@@ -224,7 +225,6 @@ public class PostDetailActivity extends AppCompatActivity {
 
         replyAdapter = new ReplyAdapter(
                 this,
-                replyList,
                 currentUid,
                 postId,
                 reply -> {
@@ -256,7 +256,7 @@ public class PostDetailActivity extends AppCompatActivity {
                             replyList.add(r);
                         }
                     }
-                    replyAdapter.notifyDataSetChanged();
+                    replyAdapter.submitList(replyList);
 
                     if (tvReplyCount != null) {
                         tvReplyCount.setText("Replies (" + replyList.size() + ")");
@@ -285,24 +285,20 @@ public class PostDetailActivity extends AppCompatActivity {
 
             String userName = guessUserName();
 
-            Map<String, Object> data = new HashMap<>();
-            data.put("content", text);
-            data.put("authorId", currentUid);
-            data.put("userName", userName);
-            data.put("replyToName", replyToName); // ✅ 方案A
-            data.put("createdAt", FieldValue.serverTimestamp());
-
-            db.collection("posts")
-                    .document(postId)
-                    .collection("replies")
-                    .add(data)
-                    .addOnSuccessListener(x -> {
-                        if (etReply != null) etReply.setText("");
-                        Toast.makeText(this, "Replied ✅", Toast.LENGTH_SHORT).show();
-                    })
-                    .addOnFailureListener(err ->
-                            Toast.makeText(this, "Reply failed: " + err.getMessage(), Toast.LENGTH_LONG).show()
-                    );
+            // Queued in the outbox so replies survive going offline; the id is assigned locally
+            String replyId = db.collection("posts").document(postId)
+                    .collection("replies").document().getId();
+            OutboxWrite reply = OutboxWrite.set("posts/" + postId + "/replies/" + replyId)
+                    .put("content", text)
+                    .put("authorId", currentUid)
+                    .put("userName", userName)
+                    .put("replyToName", replyToName) // ✅ 方案A
+                    .serverTimestamp("createdAt");
+
+            OutboxRepository.getInstance(this).enqueue(reply, () -> {
+                if (etReply != null) etReply.setText("");
+                Toast.makeText(this, "Replied ✅", Toast.LENGTH_SHORT).show();
+            });
         });
     }
 
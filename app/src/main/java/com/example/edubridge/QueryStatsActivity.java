@@ -0,0 +1,60 @@
+package com.example.edubridge;
+
+import android.os.Bundle;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.example.edubridge.data.local.metrics.ExecutorMetrics;
+import com.example.edubridge.data.local.metrics.QueryMetrics;
+import com.example.edubridge.data.local.metrics.StartupMetrics;
+
+/**
+ * Debug screen: per-query latency percentiles from {@link QueryMetrics},
+ * executor queue/wait/run times from {@link ExecutorMetrics} and screen startup
+ * phases from {@link StartupMetrics}.
+ * Opened by long-pressing the Settings title in debug builds.
+ */
+public class QueryStatsActivity extends AppCompatActivity {
+
+    private TextView tvStats;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_query_stats);
+
+        findViewById(R.id.btn_back).setOnClickListener(v -> finish());
+        tvStats = findViewById(R.id.tv_query_stats);
+
+        findViewById(R.id.btn_refresh).setOnClickListener(v -> render());
+        findViewById(R.id.btn_log).setOnClickListener(v -> {
+            QueryMetrics.logDump();
+            ExecutorMetrics.logDump();
+            StartupMetrics.logDump();
+            Toast.makeText(this, "Dumped to logcat (QueryMetrics, ExecutorMetrics, StartupMetrics)",
+                    Toast.LENGTH_SHORT).show();
+        });
+        findViewById(R.id.btn_reset).setOnClickListener(v -> {
+            QueryMetrics.reset();
+            ExecutorMetrics.reset();
+            StartupMetrics.reset();
+            render();
+        });
+        findViewById(R.id.btn_overlay).setOnClickListener(v -> ExecutorOverlay.toggle(this));
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        render();
+    }
+
+    private void render() {
+        tvStats.setText("== Queries ==\n" + QueryMetrics.dump()
+                + "\n== Executors (last " + ExecutorMetrics.WINDOW_MS / 1000 + "s) ==\n"
+                + ExecutorMetrics.dump()
+                + "\n== Startup ==\n" + StartupMetrics.dump());
+    }
+}
@@ -15,32 +15,44 @@ import com.google.firebase.Timestamp;
 import com.google.firebase.firestore.FirebaseFirestore;
 
 import java.text.SimpleDateFormat;
-import java.util.List;
 import java.util.Locale;
+import java.util.Objects;
 
-public class ReplyAdapter extends RecyclerView.Adapter<ReplyAdapter.VH> {
+public class ReplyAdapter extends DiffListAdapter<Reply, ReplyAdapter.VH> {
 
     public interface OnReplyClickListener {
         void onReplyClick(Reply reply);
     }
 
     private final Context context;
-    private final List<Reply> list;
     private final String currentUid;
     private final String postId;
     private final OnReplyClickListener listener;
 
     private final FirebaseFirestore db = FirebaseFirestore.getInstance();
 
-    // ✅ 注意：这里是 5 个参数（你截图里“Expected 5 arguments”就是因为你工程里构造函数不一致）
-    public ReplyAdapter(Context context, List<Reply> list, String currentUid, String postId, OnReplyClickListener listener) {
+    public ReplyAdapter(Context context, String currentUid, String postId, OnReplyClickListener listener) {
         this.context = context;
-        this.list = list;
         this.currentUid = currentUid;
         this.postId = postId;
         this.listener = listener;
     }
 
+    @NonNull
+    @Override
+    protected String idOf(@NonNull Reply reply) {
+        return safe(reply.getId());
+    }
+
+    @Override
+    protected boolean sameContents(@NonNull Reply a, @NonNull Reply b) {
+        return Objects.equals(a.getUserName(), b.getUserName())
+                && Objects.equals(a.getContent(), b.getContent())
+                && Objects.equals(a.getReplyToName(), b.getReplyToName())
+                && Objects.equals(a.getCreatedAt(), b.getCreatedAt())
+                && Objects.equals(a.getAuthorId(), b.getAuthorId());
+    }
+
     @NonNull
     @Override
     public VH onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -50,7 +62,7 @@ public class ReplyAdapter extends RecyclerView.Adapter<ReplyAdapter.VH> {
 
     @Override
     public void onBindViewHolder(@NonNull VH h, int position) {
-        Reply r = list.get(position);
+        Reply r = getItem(position);
 
         h.tvName.setText(safe(r.getUserName()));
         h.tvTime.setText(formatTimestamp(r.getCreatedAt()));
@@ -95,11 +107,6 @@ public class ReplyAdapter extends RecyclerView.Adapter<ReplyAdapter.VH> {
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return list == null ? 0 : list.size();
-    }
-
     static class VH extends RecyclerView.ViewHolder {
         TextView tvName, tvTime, tvContent;
         ImageView btnDelete;
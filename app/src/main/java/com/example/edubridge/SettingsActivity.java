@@ -9,6 +9,8 @@ import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 
+import com.example.edubridge.data.local.repository.EnrollmentRepository;
+import com.example.edubridge.data.local.snapshot.DashboardSnapshotStore;
 import com.example.edubridge.utils.LanguageHelper;
 import com.google.android.material.switchmaterial.SwitchMaterial;
 import com.google.firebase.auth.FirebaseAuth;
@@ -24,6 +26,14 @@ public class SettingsActivity extends AppCompatActivity {
         // 1. Back Button
         findViewById(R.id.btn_back).setOnClickListener(v -> finish());
 
+        // Debug builds: long-press the title for local query stats
+        if (BuildConfig.DEBUG) {
+            findViewById(R.id.tv_settings_title).setOnLongClickListener(v -> {
+                startActivity(new Intent(SettingsActivity.this, QueryStatsActivity.class));
+                return true;
+            });
+        }
+
         // 2. Change Password
         findViewById(R.id.btn_change_password).setOnClickListener(v -> {
             Intent intent = new Intent(SettingsActivity.this, ChangePasswordActivity.class);
@@ -161,6 +171,8 @@ public class SettingsActivity extends AppCompatActivity {
 
         // 6. Log Out
         findViewById(R.id.btn_logout).setOnClickListener(v -> {
+            EnrollmentRepository.getInstance(this).stop();
+            DashboardSnapshotStore.getInstance(this).clear();
             FirebaseAuth.getInstance().signOut();
             Toast.makeText(SettingsActivity.this, "Logged out successfully", Toast.LENGTH_SHORT).show();
 
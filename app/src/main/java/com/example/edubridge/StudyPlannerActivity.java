@@ -12,9 +12,8 @@ import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.example.edubridge.data.local.AppDatabase;
-import com.example.edubridge.data.local.dao.PlannerTaskDao;
 import com.example.edubridge.data.local.entity.PlannerTask;
+import com.example.edubridge.data.local.repository.PlannerTaskRepository;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 
@@ -46,7 +45,7 @@ public class StudyPlannerActivity extends AppCompatActivity implements PlannerTa
     private List<PlannerTask> todayTasks = new ArrayList<>();
     private List<PlannerTask> overdueTasks = new ArrayList<>();
 
-    private PlannerTaskDao taskDao;
+    private PlannerTaskRepository taskRepository;
     private String currentUserId;
 
     @Override
@@ -64,7 +63,7 @@ public class StudyPlannerActivity extends AppCompatActivity implements PlannerTa
         currentUserId = user.getUid();
 
         // Initialize database
-        taskDao = AppDatabase.getInstance(this).plannerTaskDao();
+        taskRepository = PlannerTaskRepository.getInstance(this);
 
         // Back button
         findViewById(R.id.btn_back).setOnClickListener(v -> finish());
@@ -78,11 +77,11 @@ public class StudyPlannerActivity extends AppCompatActivity implements PlannerTa
 
         // Setup RecyclerViews
         rvTodayTasks.setLayoutManager(new LinearLayoutManager(this));
-        todayAdapter = new PlannerTaskAdapter(todayTasks, this);
+        todayAdapter = new PlannerTaskAdapter(this);
         rvTodayTasks.setAdapter(todayAdapter);
 
         rvOverdueTasks.setLayoutManager(new LinearLayoutManager(this));
-        overdueAdapter = new PlannerTaskAdapter(overdueTasks, this);
+        overdueAdapter = new PlannerTaskAdapter(this);
         rvOverdueTasks.setAdapter(overdueAdapter);
 
         // Load tasks for current user
@@ -111,22 +110,22 @@ public class StudyPlannerActivity extends AppCompatActivity implements PlannerTa
         long todayStart = getTodayStart();
 
         // Today's tasks (filtered by user)
-        taskDao.getTodayTasks(currentUserId, todayStart).observe(this, tasks -> {
+        taskRepository.getTodayTasks(currentUserId, todayStart).observe(this, tasks -> {
             todayTasks.clear();
             if (tasks != null) {
                 todayTasks.addAll(tasks);
             }
-            todayAdapter.notifyDataSetChanged();
+            todayAdapter.submitList(todayTasks);
             updateEmptyState();
         });
 
         // Overdue tasks (filtered by user)
-        taskDao.getOverdueTasks(currentUserId, todayStart).observe(this, tasks -> {
+        taskRepository.getOverdueTasks(currentUserId, todayStart).observe(this, tasks -> {
             overdueTasks.clear();
             if (tasks != null) {
                 overdueTasks.addAll(tasks);
             }
-            overdueAdapter.notifyDataSetChanged();
+            overdueAdapter.submitList(overdueTasks);
 
             // Show/hide overdue section
             boolean hasOverdue = !overdueTasks.isEmpty();
@@ -213,18 +212,14 @@ public class StudyPlannerActivity extends AppCompatActivity implements PlannerTa
                 false,
                 System.currentTimeMillis());
 
-        new Thread(() -> {
-            taskDao.insert(task);
-            runOnUiThread(() -> {
-                Toast.makeText(this, "Task added!", Toast.LENGTH_SHORT).show();
-            });
-        }).start();
+        taskRepository.insert(task, () ->
+                Toast.makeText(this, "Task added!", Toast.LENGTH_SHORT).show());
     }
 
     @Override
     public void onTaskChecked(PlannerTask task, boolean isChecked) {
         task.isCompleted = isChecked;
-        new Thread(() -> taskDao.update(task)).start();
+        taskRepository.update(task);
     }
 
     @Override
@@ -233,10 +228,8 @@ public class StudyPlannerActivity extends AppCompatActivity implements PlannerTa
                 .setTitle("Delete Task")
                 .setMessage("Delete \"" + task.title + "\"?")
                 .setPositiveButton("Delete", (dialog, which) -> {
-                    new Thread(() -> {
-                        taskDao.delete(task);
-                        runOnUiThread(() -> Toast.makeText(this, "Task deleted", Toast.LENGTH_SHORT).show());
-                    }).start();
+                    taskRepository.delete(task, () ->
+                            Toast.makeText(this, "Task deleted", Toast.LENGTH_SHORT).show());
                 })
                 .setNegativeButton("Cancel", null)
                 .show();
@@ -2,26 +2,48 @@ package com.example.edubridge.data.local;
 
 import androidx.room.Database;
 import androidx.room.RoomDatabase;
+import com.example.edubridge.data.local.dao.CatalogCourseDao;
 import com.example.edubridge.data.local.dao.ChatMessageDao;
 import com.example.edubridge.data.local.dao.CommunityPostDao;
 import com.example.edubridge.data.local.dao.CourseDao;
+import com.example.edubridge.data.local.dao.EnrollmentDao;
+import com.example.edubridge.data.local.dao.LessonProgressDao;
 import com.example.edubridge.data.local.dao.NotificationDao;
+import com.example.edubridge.data.local.dao.OutboxDao;
 import com.example.edubridge.data.local.dao.PlannerTaskDao;
+import com.example.edubridge.data.local.entity.CatalogCourse;
 import com.example.edubridge.data.local.entity.ChatMessage;
 import com.example.edubridge.data.local.entity.Course;
+import com.example.edubridge.data.local.entity.CourseFts;
+import com.example.edubridge.data.local.entity.Enrollment;
+import com.example.edubridge.data.local.entity.LessonProgress;
 import com.example.edubridge.data.local.entity.LocalCommunityPost;
 import com.example.edubridge.data.local.entity.Notification;
+import com.example.edubridge.data.local.entity.NotificationInboxState;
+import com.example.edubridge.data.local.entity.OutboxEntry;
 import com.example.edubridge.data.local.entity.PlannerTask;
+import com.example.edubridge.data.local.metrics.QueryMetrics;
 
-@Database(entities = { Course.class, Notification.class, ChatMessage.class,
-        PlannerTask.class, LocalCommunityPost.class }, version = 10, exportSchema = false)
+// CatalogCourse before CourseFts: the FTS sync triggers need their content table to exist
+@Database(entities = { Course.class, CatalogCourse.class, CourseFts.class, Notification.class,
+        ChatMessage.class, PlannerTask.class, LocalCommunityPost.class, LessonProgress.class,
+        Enrollment.class, NotificationInboxState.class, OutboxEntry.class }, version = AppDatabase.VERSION, exportSchema = true)
 public abstract class AppDatabase extends RoomDatabase {
 
+    /**
+     * Current schema version. Bumping it requires a matching entry in {@link DatabaseMigrations}.
+     */
+    public static final int VERSION = 19;
+
     public abstract CourseDao courseDao();
     public abstract NotificationDao notificationDao();
     public abstract ChatMessageDao chatMessageDao();
     public abstract PlannerTaskDao plannerTaskDao();
     public abstract CommunityPostDao communityPostDao();
+    public abstract LessonProgressDao lessonProgressDao();
+    public abstract EnrollmentDao enrollmentDao();
+    public abstract OutboxDao outboxDao();
+    public abstract CatalogCourseDao catalogCourseDao();
 
     private static volatile AppDatabase INSTANCE;
 
@@ -29,10 +51,13 @@ public abstract class AppDatabase extends RoomDatabase {
         if (INSTANCE == null) {
             synchronized (AppDatabase.class) {
                 if (INSTANCE == null) {
-                    INSTANCE = androidx.room.Room.databaseBuilder(context.getApplicationContext(),
-                                    AppDatabase.class, "edubridge_db")
-                            .fallbackToDestructiveMigration()
-                            .allowMainThreadQueries()
+                    // No allowMainThreadQueries(): use the async repositories in data.local.repository
+                    // Debug builds: the guard owns the QueryCallback, metrics wrap the open helper
+                    INSTANCE = MainThreadQueryGuard.install(QueryMetrics.install(context,
+                            androidx.room.Room.databaseBuilder(context.getApplicationContext(),
+                                            AppDatabase.class, "edubridge_db")
+                                    .addMigrations(DatabaseMigrations.ALL)
+                                    .fallbackToDestructiveMigrationFrom(DatabaseMigrations.PRE_EXPORT_VERSIONS)))
                             .build();
                 }
             }
@@ -0,0 +1,217 @@
+package com.example.edubridge.data.local;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+/**
+ * Explicit Room migrations for {@link AppDatabase}.
+ *
+ * Version 10 is the first schema exported to app/schemas. Every later version bump
+ * must add a Migration here (and to {@link #ALL}) so upgrades keep the local
+ * courses, planner tasks, chat history and community cache instead of wiping them.
+ *
+ * Versions before 10 were never exported, so they cannot be migrated reliably and
+ * are still rebuilt from scratch (see {@link #PRE_EXPORT_VERSIONS}).
+ */
+public final class DatabaseMigrations {
+
+    private DatabaseMigrations() {}
+
+    /**
+     * First schema version with an exported JSON schema.
+     */
+    public static final int FIRST_EXPORTED_VERSION = 10;
+
+    /**
+     * Legacy versions that may only be upgraded destructively.
+     */
+    public static final int[] PRE_EXPORT_VERSIONS = { 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+
+    /**
+     * 10 -> 11: secondary indices for the planner, notification, chat and community queries.
+     */
+    public static final Migration MIGRATION_10_11 = new Migration(10, 11) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_planner_tasks_userId_dueDate_createdAt` "
+                    + "ON `planner_tasks` (`userId`, `dueDate`, `createdAt`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_planner_tasks_userId_isCompleted_dueDate` "
+                    + "ON `planner_tasks` (`userId`, `isCompleted`, `dueDate`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notifications_timestamp` "
+                    + "ON `notifications` (`timestamp`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notifications_isRead` "
+                    + "ON `notifications` (`isRead`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_chat_messages_timestamp_id` "
+                    + "ON `chat_messages` (`timestamp`, `id`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_community_posts_createdAt` "
+                    + "ON `community_posts` (`createdAt`)");
+        }
+    };
+
+    /**
+     * 11 -> 12: courses_fts full-text index over courses, kept in sync by Room's triggers.
+     */
+    public static final Migration MIGRATION_11_12 = new Migration(11, 12) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `courses_fts` USING FTS4("
+                    + "`title` TEXT, `category` TEXT, `description` TEXT, "
+                    + "tokenize=unicode61, content=`courses`)");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_courses_fts_BEFORE_UPDATE "
+                    + "BEFORE UPDATE ON `courses` BEGIN DELETE FROM `courses_fts` "
+                    + "WHERE `docid`=OLD.`rowid`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_courses_fts_BEFORE_DELETE "
+                    + "BEFORE DELETE ON `courses` BEGIN DELETE FROM `courses_fts` "
+                    + "WHERE `docid`=OLD.`rowid`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_courses_fts_AFTER_UPDATE "
+                    + "AFTER UPDATE ON `courses` BEGIN INSERT INTO `courses_fts`"
+                    + "(`docid`, `title`, `category`, `description`) "
+                    + "VALUES (NEW.`rowid`, NEW.`title`, NEW.`category`, NEW.`description`); END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_courses_fts_AFTER_INSERT "
+                    + "AFTER INSERT ON `courses` BEGIN INSERT INTO `courses_fts`"
+                    + "(`docid`, `title`, `category`, `description`) "
+                    + "VALUES (NEW.`rowid`, NEW.`title`, NEW.`category`, NEW.`description`); END");
+            // Index the rows that already exist
+            db.execSQL("INSERT INTO `courses_fts`(`courses_fts`) VALUES('rebuild')");
+        }
+    };
+
+    /**
+     * 12 -> 13: lesson_progress completion bitsets (replaces structured_content_progress prefs).
+     */
+    public static final Migration MIGRATION_12_13 = new Migration(12, 13) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `lesson_progress` (`courseId` TEXT NOT NULL, "
+                    + "`completedBits` BLOB, `completedCount` INTEGER NOT NULL, "
+                    + "`updatedAt` INTEGER NOT NULL, PRIMARY KEY(`courseId`))");
+        }
+    };
+
+    /**
+     * 13 -> 14: enrollments cache mirrored from users/{uid}/enrollments.
+     */
+    public static final Migration MIGRATION_13_14 = new Migration(13, 14) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `enrollments` (`userId` TEXT NOT NULL, "
+                    + "`courseId` TEXT NOT NULL, `courseTitle` TEXT, `category` TEXT, "
+                    + "`totalLessons` INTEGER NOT NULL, `progress` INTEGER NOT NULL, `status` TEXT, "
+                    + "`enrolledAt` INTEGER NOT NULL, `lastAccessedAt` INTEGER NOT NULL, "
+                    + "`completedAt` INTEGER, PRIMARY KEY(`userId`, `courseId`))");
+        }
+    };
+
+    /**
+     * 14 -> 15: keyset index for notification paging and the maintained unread counter.
+     */
+    public static final Migration MIGRATION_14_15 = new Migration(14, 15) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("DROP INDEX IF EXISTS `index_notifications_timestamp`");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_notifications_timestamp_id` "
+                    + "ON `notifications` (`timestamp`, `id`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `notification_inbox` (`id` INTEGER NOT NULL, "
+                    + "`unreadCount` INTEGER NOT NULL, `lastCompactedAt` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`id`))");
+            db.execSQL("INSERT OR REPLACE INTO `notification_inbox` (`id`, `unreadCount`, `lastCompactedAt`) "
+                    + "VALUES (0, (SELECT COUNT(*) FROM `notifications` WHERE `isRead` = 0), 0)");
+        }
+    };
+
+    /**
+     * 15 -> 16: durable outbox of pending Firestore writes.
+     */
+    public static final Migration MIGRATION_15_16 = new Migration(15, 16) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `outbox` (`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, "
+                    + "`groupId` INTEGER NOT NULL, `documentPath` TEXT NOT NULL, `type` TEXT NOT NULL, "
+                    + "`fieldsJson` TEXT, `createdAt` INTEGER NOT NULL, `attempts` INTEGER NOT NULL, "
+                    + "`inFlight` INTEGER NOT NULL)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_outbox_documentPath_inFlight` "
+                    + "ON `outbox` (`documentPath`, `inFlight`)");
+        }
+    };
+
+    /**
+     * 16 -> 17: catalog_courses for the offline catalog; its offline_* rows move out of courses.
+     */
+    public static final Migration MIGRATION_16_17 = new Migration(16, 17) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `catalog_courses` (`courseId` TEXT NOT NULL, "
+                    + "`title` TEXT, `description` TEXT, `category` TEXT, `difficulty` TEXT, "
+                    + "`duration` TEXT, `thumbnailUrl` TEXT, `totalLessons` INTEGER NOT NULL, "
+                    + "`isPublished` INTEGER NOT NULL, `createdAt` INTEGER NOT NULL, "
+                    + "PRIMARY KEY(`courseId`))");
+            db.execSQL("INSERT OR IGNORE INTO `catalog_courses` (`courseId`, `title`, `description`, "
+                    + "`category`, `difficulty`, `duration`, `thumbnailUrl`, `totalLessons`, "
+                    + "`isPublished`, `createdAt`) SELECT `courseId`, `title`, `description`, "
+                    + "`category`, `difficulty`, `duration`, `thumbnailUrl`, `totalLessons`, "
+                    + "`isPublished`, `createdAt` FROM `courses` WHERE `courseId` GLOB 'offline_*'");
+            db.execSQL("DELETE FROM `courses` WHERE `courseId` GLOB 'offline_*'");
+        }
+    };
+
+    /**
+     * 17 -> 18: courses_fts indexes catalog_courses instead of the synced courses table.
+     */
+    public static final Migration MIGRATION_17_18 = new Migration(17, 18) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            for (String trigger : new String[]{ "BEFORE_UPDATE", "BEFORE_DELETE", "AFTER_UPDATE", "AFTER_INSERT" }) {
+                db.execSQL("DROP TRIGGER IF EXISTS room_fts_content_sync_courses_fts_" + trigger);
+            }
+            db.execSQL("DROP TABLE IF EXISTS `courses_fts`");
+            db.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `courses_fts` USING FTS4("
+                    + "`title` TEXT, `category` TEXT, `description` TEXT, "
+                    + "tokenize=unicode61, content=`catalog_courses`)");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_courses_fts_BEFORE_UPDATE "
+                    + "BEFORE UPDATE ON `catalog_courses` BEGIN DELETE FROM `courses_fts` "
+                    + "WHERE `docid`=OLD.`rowid`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_courses_fts_BEFORE_DELETE "
+                    + "BEFORE DELETE ON `catalog_courses` BEGIN DELETE FROM `courses_fts` "
+                    + "WHERE `docid`=OLD.`rowid`; END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_courses_fts_AFTER_UPDATE "
+                    + "AFTER UPDATE ON `catalog_courses` BEGIN INSERT INTO `courses_fts`"
+                    + "(`docid`, `title`, `category`, `description`) "
+                    + "VALUES (NEW.`rowid`, NEW.`title`, NEW.`category`, NEW.`description`); END");
+            db.execSQL("CREATE TRIGGER IF NOT EXISTS room_fts_content_sync_courses_fts_AFTER_INSERT "
+                    + "AFTER INSERT ON `catalog_courses` BEGIN INSERT INTO `courses_fts`"
+                    + "(`docid`, `title`, `category`, `description`) "
+                    + "VALUES (NEW.`rowid`, NEW.`title`, NEW.`category`, NEW.`description`); END");
+            // Index the catalog rows that already exist
+            db.execSQL("INSERT INTO `courses_fts`(`courses_fts`) VALUES('rebuild')");
+        }
+    };
+
+    /**
+     * 18 -> 19: outbox rows record the account that queued them. Rows already queued for
+     * users/{uid}/... documents are given that uid; the owner of any other row is unknown.
+     */
+    public static final Migration MIGRATION_18_19 = new Migration(18, 19) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("ALTER TABLE `outbox` ADD COLUMN `uid` TEXT");
+            db.execSQL("UPDATE `outbox` SET `uid` = substr(`documentPath`, 7, "
+                    + "instr(substr(`documentPath`, 7), '/') - 1) WHERE `documentPath` GLOB 'users/[^/]*/*'");
+        }
+    };
+
+    /**
+     * All migrations, in version order.
+     */
+    public static final Migration[] ALL = {
+            MIGRATION_10_11,
+            MIGRATION_11_12,
+            MIGRATION_12_13,
+            MIGRATION_13_14,
+            MIGRATION_14_15,
+            MIGRATION_15_16,
+            MIGRATION_16_17,
+            MIGRATION_17_18,
+            MIGRATION_18_19
+    };
+}
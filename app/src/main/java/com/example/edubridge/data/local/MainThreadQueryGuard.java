@@ -0,0 +1,41 @@
+package com.example.edubridge.data.local;
+
+import android.os.Looper;
+
+import androidx.room.RoomDatabase;
+
+import com.example.edubridge.BuildConfig;
+
+import java.util.Locale;
+
+/**
+ * Debug-only guard: fails fast when a Room statement runs on the main thread.
+ *
+ * Room already rejects most main-thread DAO calls once allowMainThreadQueries() is off;
+ * this also covers raw queries through the open helper. Room's own bookkeeping
+ * (room_* tables, PRAGMA, triggers) is ignored.
+ */
+final class MainThreadQueryGuard {
+
+    private MainThreadQueryGuard() {}
+
+    static <T extends RoomDatabase> RoomDatabase.Builder<T> install(RoomDatabase.Builder<T> builder) {
+        if (!BuildConfig.DEBUG) {
+            return builder;
+        }
+        return builder.setQueryCallback((sql, bindArgs) -> check(sql), Runnable::run);
+    }
+
+    static void check(String sql) {
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            return;
+        }
+        String statement = sql.trim().toUpperCase(Locale.ROOT);
+        boolean isDataStatement = statement.startsWith("SELECT") || statement.startsWith("INSERT")
+                || statement.startsWith("UPDATE") || statement.startsWith("DELETE")
+                || statement.startsWith("REPLACE") || statement.startsWith("WITH");
+        if (isDataStatement && !statement.contains("ROOM_")) {
+            throw new IllegalStateException("Database access on the main thread: " + sql);
+        }
+    }
+}
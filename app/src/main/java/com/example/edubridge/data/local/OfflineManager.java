@@ -1,85 +1,98 @@
 package com.example.edubridge.data.local;
 
 import android.content.Context;
-
-import androidx.room.Database;
-import androidx.room.Room;
-import androidx.room.RoomDatabase;
-import androidx.room.Entity;
-import androidx.room.PrimaryKey;
-import androidx.room.Dao;
-import androidx.room.Insert;
-import androidx.room.Query;
-
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteException;
+import android.util.Log;
+
+import com.example.edubridge.data.local.dao.CatalogCourseDao;
+import com.example.edubridge.data.local.entity.CatalogCourse;
+import com.example.edubridge.data.local.entity.Course;
+import com.example.edubridge.data.local.repository.CatalogRepository;
+import com.example.edubridge.data.local.repository.DbCallback;
+import com.example.edubridge.utils.AppExecutors;
+
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
  * Module 5.1 – Offline Access
+ *
+ * The offline catalog lives in the catalog_courses table of {@link AppDatabase},
+ * apart from the synced courses table. Older installs kept it in a separate
+ * edubridge_offline_db file; that file is imported once on first init and then deleted.
  */
 public class OfflineManager {
 
-    /* -------- ENTITY -------- */
-    @Entity(tableName = "courses")
-    public static class Course {
-
-        @PrimaryKey(autoGenerate = true)
-        public int id;
-
-        public String title;
-        public String description;
-        public int iconRes;
-    }
-
-    /* -------- DAO -------- */
-    @Dao
-    interface CourseDao {
-        @Query("SELECT * FROM courses")
-        List<Course> getAll();
-
-        @Insert
-        void insertAll(List<Course> list);
-    }
+    private static final String TAG = "OfflineManager";
 
-    /* -------- DATABASE -------- */
-    @Database(entities = {Course.class}, version = 1)
-    abstract static class AppDatabase extends RoomDatabase {
-        abstract CourseDao courseDao();
-    }
+    static final String LEGACY_DB_NAME = "edubridge_offline_db";
+    static final String LEGACY_ID_PREFIX = "offline_";
 
-    private static AppDatabase db;
+    private static volatile boolean initialized = false;
+    private static Context appContext;
 
     /* -------- PUBLIC METHODS -------- */
     public static void init(Context context) {
-        if (db == null) {
-            db = Room.databaseBuilder(
-                    context.getApplicationContext(),
-                    AppDatabase.class,
-                    "edubridge_offline_db"
-            ).allowMainThreadQueries().build();
+        if (initialized) return;
+        synchronized (OfflineManager.class) {
+            if (initialized) return;
+            appContext = context.getApplicationContext();
+            initialized = true;
         }
+        AppExecutors.getInstance().diskIO().execute(() -> importLegacyDatabase(appContext));
     }
 
-    public static List<Course> getCourses() {
-        return db.courseDao().getAll();
+    /**
+     * Load the offline catalog in the background; result is delivered on the main thread.
+     */
+    public static void getCourses(DbCallback<List<Course>> callback) {
+        CatalogRepository.getInstance(appContext).loadAllCourses(callback);
     }
 
     public static void seedIfEmpty() {
-        if (getCourses().isEmpty()) {
-            List<Course> list = new ArrayList<>();
-
-            Course c1 = new Course();
-            c1.title = "Mathematics";
-            c1.description = "Algebra & Geometry";
+        AppExecutors.getInstance().diskIO().execute(OfflineManager::seedIfEmptySync);
+    }
 
-            Course c2 = new Course();
-            c2.title = "Science";
-            c2.description = "Physics & Biology";
+    private static void seedIfEmptySync() {
+        CatalogCourseDao dao = AppDatabase.getInstance(appContext).catalogCourseDao();
+        if (dao.getCount() == 0) {
+            List<CatalogCourse> list = new ArrayList<>();
+            list.add(CatalogCourse.from(new Course(LEGACY_ID_PREFIX + "math", "Mathematics",
+                    "Algebra & Geometry", "Mathematics", "Beginner", "", 0, true)));
+            list.add(CatalogCourse.from(new Course(LEGACY_ID_PREFIX + "science", "Science",
+                    "Physics & Biology", "Science", "Beginner", "", 0, true)));
+            dao.insertIfAbsent(list);
+        }
+    }
 
-            list.add(c1);
-            list.add(c2);
+    /**
+     * One-time move of rows from edubridge_offline_db into the catalog_courses table.
+     * Rows keep their numeric id as "offline_<id>"; existing rows are never overwritten.
+     */
+    static void importLegacyDatabase(Context context) {
+        File legacyFile = context.getDatabasePath(LEGACY_DB_NAME);
+        if (!legacyFile.exists()) return;
+
+        List<CatalogCourse> imported = new ArrayList<>();
+        try (SQLiteDatabase legacy = SQLiteDatabase.openDatabase(
+                legacyFile.getPath(), null, SQLiteDatabase.OPEN_READONLY);
+             Cursor cursor = legacy.rawQuery("SELECT id, title, description FROM courses", null)) {
+            while (cursor.moveToNext()) {
+                imported.add(CatalogCourse.from(new Course(LEGACY_ID_PREFIX + cursor.getInt(0),
+                        cursor.getString(1), cursor.getString(2), null, null, null, 0, true)));
+            }
+        } catch (SQLiteException e) {
+            // Unreadable or never populated; nothing worth keeping
+            Log.w(TAG, "Skipping legacy offline database", e);
+        }
 
-            db.courseDao().insertAll(list);
+        if (!imported.isEmpty()) {
+            AppDatabase.getInstance(context).catalogCourseDao().insertIfAbsent(imported);
         }
+        context.deleteDatabase(LEGACY_DB_NAME);
+        Log.d(TAG, "Imported " + imported.size() + " courses from " + LEGACY_DB_NAME);
     }
 }
@@ -0,0 +1,78 @@
+package com.example.edubridge.data.local.coenroll;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Batch job: stream every user's enrolled course ids through a {@link CoEnrollmentMatrix}
+ * and publish each course's top neighbours.
+ *
+ * Pure Java with pluggable ends, so it runs on the JVM against an in-memory list as well
+ * as in CoEnrollmentWorker against Firestore (or the Firestore emulator). The source is
+ * consumed once, one user at a time.
+ */
+public final class CoEnrollmentJob {
+
+    public static final int DEFAULT_NEIGHBORS = 10;
+    /** Pairs shared by fewer users are noise, and would identify individual students. */
+    public static final int DEFAULT_MIN_SUPPORT = 2;
+    /** Firestore allows 500 writes per batch. */
+    public static final int PUBLISH_BATCH_SIZE = 400;
+
+    /**
+     * Receives the results in batches of at most {@link #PUBLISH_BATCH_SIZE}.
+     */
+    public interface Publisher {
+        void publish(List<CourseNeighbors> batch) throws Exception;
+    }
+
+    private final int neighbors;
+    private final int minSupport;
+
+    public CoEnrollmentJob() {
+        this(DEFAULT_NEIGHBORS, DEFAULT_MIN_SUPPORT);
+    }
+
+    public CoEnrollmentJob(int neighbors, int minSupport) {
+        this.neighbors = neighbors;
+        this.minSupport = minSupport;
+    }
+
+    /**
+     * @param users one element per user: the ids of the courses they are enrolled in
+     */
+    public Result run(Iterator<? extends Collection<String>> users, Publisher publisher) throws Exception {
+        CoEnrollmentMatrix matrix = new CoEnrollmentMatrix();
+        while (users.hasNext()) {
+            matrix.addUser(users.next());
+        }
+
+        List<CourseNeighbors> all = matrix.topNeighbors(neighbors, minSupport);
+        for (int from = 0; from < all.size(); from += PUBLISH_BATCH_SIZE) {
+            publisher.publish(new ArrayList<>(all.subList(from, Math.min(all.size(), from + PUBLISH_BATCH_SIZE))));
+        }
+        return new Result(matrix.userCount(), matrix.courseCount(), matrix.pairCount());
+    }
+
+    public static final class Result {
+        public final long users;
+        public final int courses;
+        public final int pairs;
+
+        Result(long users, int courses, int pairs) {
+            this.users = users;
+            this.courses = courses;
+            this.pairs = pairs;
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return users + " users, " + courses + " courses, " + pairs + " course pairs";
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.edubridge.data.local.coenroll;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Sparse course x course co-enrollment counts, built one user at a time.
+ *
+ * Memory is proportional to the number of distinct course pairs, never to the number
+ * of users: each user's course set is folded in and dropped. Only the upper triangle
+ * is stored, keyed by the two interned course indices packed into one long.
+ *
+ * Similarity is cosine over enrollment vectors: co(a, b) / sqrt(n(a) * n(b)).
+ * Not thread-safe.
+ */
+public final class CoEnrollmentMatrix {
+
+    /**
+     * Courses per user counted; pairs grow quadratically, so a bulk-enrolled account
+     * contributes only its first courses (by id) instead of swamping everyone else.
+     */
+    public static final int MAX_COURSES_PER_USER = 100;
+
+    private final Map<String, Integer> indexOf = new HashMap<>();
+    private final List<String> courseIds = new ArrayList<>();
+    private int[] enrolledCount = new int[64];
+    private final HashMap<Long, int[]> pairCounts = new HashMap<>();
+    private long users;
+
+    public void addUser(Collection<String> userCourseIds) {
+        List<String> sorted = new ArrayList<>(userCourseIds.size());
+        for (String id : userCourseIds) {
+            if (id != null) sorted.add(id);
+        }
+        if (sorted.isEmpty()) return;
+        sorted.sort(null);
+
+        int[] courses = new int[Math.min(sorted.size(), MAX_COURSES_PER_USER)];
+        int count = 0;
+        String previous = null;
+        for (String id : sorted) {
+            if (count == courses.length) break;
+            if (id.equals(previous)) continue;
+            previous = id;
+            courses[count++] = intern(id);
+        }
+        if (count == 0) return;
+        users++;
+
+        for (int i = 0; i < count; i++) {
+            int a = courses[i];
+            enrolledCount[a]++;
+            for (int j = i + 1; j < count; j++) {
+                int[] cell = pairCounts.computeIfAbsent(pairKey(a, courses[j]), k -> new int[1]);
+                cell[0]++;
+            }
+        }
+    }
+
+    public long userCount() {
+        return users;
+    }
+
+    public int courseCount() {
+        return courseIds.size();
+    }
+
+    public int pairCount() {
+        return pairCounts.size();
+    }
+
+    /**
+     * Best {@code limit} neighbours of every course seen, scored by cosine similarity,
+     * counting only pairs shared by at least {@code minSupport} users. Courses without
+     * neighbours are included with an empty list, so stale published data gets replaced.
+     */
+    public List<CourseNeighbors> topNeighbors(int limit, int minSupport) {
+        int n = courseIds.size();
+        List<PriorityQueue<Candidate>> heaps = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) heaps.add(null);
+
+        for (Map.Entry<Long, int[]> entry : pairCounts.entrySet()) {
+            int co = entry.getValue()[0];
+            if (co < minSupport) continue;
+            int a = (int) (entry.getKey() >>> 32);
+            int b = (int) (long) entry.getKey();
+            double score = co / Math.sqrt((double) enrolledCount[a] * enrolledCount[b]);
+            offer(heaps, a, new Candidate(b, score, co), limit);
+            offer(heaps, b, new Candidate(a, score, co), limit);
+        }
+
+        List<CourseNeighbors> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            List<Candidate> best = heaps.get(i) != null ? new ArrayList<>(heaps.get(i)) : new ArrayList<>();
+            best.sort((x, y) -> compare(y, x));
+            List<String> ids = new ArrayList<>(best.size());
+            List<Double> scores = new ArrayList<>(best.size());
+            for (Candidate c : best) {
+                ids.add(courseIds.get(c.course));
+                scores.add(round(c.score));
+            }
+            result.add(new CourseNeighbors(courseIds.get(i), enrolledCount[i], ids, scores));
+        }
+        return result;
+    }
+
+    private void offer(List<PriorityQueue<Candidate>> heaps, int course, Candidate candidate, int limit) {
+        if (limit <= 0) return;
+        PriorityQueue<Candidate> heap = heaps.get(course);
+        if (heap == null) {
+            // Weakest kept neighbour at the head
+            heap = new PriorityQueue<>(limit + 1, this::compare);
+            heaps.set(course, heap);
+        }
+        if (heap.size() < limit) {
+            heap.add(candidate);
+        } else if (compare(candidate, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(candidate);
+        }
+    }
+
+    /**
+     * Positive if x is the stronger neighbour: score, then shared users, then course id.
+     */
+    private int compare(Candidate x, Candidate y) {
+        if (x.score != y.score) return Double.compare(x.score, y.score);
+        if (x.count != y.count) return Integer.compare(x.count, y.count);
+        return courseIds.get(y.course).compareTo(courseIds.get(x.course));
+    }
+
+    private int intern(String courseId) {
+        Integer index = indexOf.get(courseId);
+        if (index != null) return index;
+        int added = courseIds.size();
+        indexOf.put(courseId, added);
+        courseIds.add(courseId);
+        if (added == enrolledCount.length) enrolledCount = Arrays.copyOf(enrolledCount, added * 2);
+        return added;
+    }
+
+    private static long pairKey(int a, int b) {
+        int low = Math.min(a, b);
+        int high = Math.max(a, b);
+        return ((long) low << 32) | (high & 0xffffffffL);
+    }
+
+    // Four decimals is plenty for ranking and keeps the published documents small
+    private static double round(double score) {
+        return Math.round(score * 10_000) / 10_000.0;
+    }
+
+    private static final class Candidate {
+        final int course;
+        final double score;
+        final int count;
+
+        Candidate(int course, double score, int count) {
+            this.course = course;
+            this.score = score;
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.edubridge.data.local.coenroll;
+
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+
+import com.example.edubridge.data.local.entity.Enrollment;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Client side of "Students also enrolled in": turns the published neighbours of the
+ * user's enrolled courses into per-course score boosts for the recommendation engine.
+ *
+ * Neighbour documents are fetched with one whereIn query for the courses not fetched
+ * yet and kept for the screen's lifetime, so enrolling costs one small read and
+ * unenrolling none. Only the {@link #MAX_SOURCE_COURSES} most recently used courses
+ * contribute. Main thread only.
+ */
+public final class CoEnrollmentSignal {
+
+    private static final String TAG = "CoEnrollmentSignal";
+
+    /** Also the whereIn limit the query stays within. */
+    public static final int MAX_SOURCE_COURSES = 10;
+    /** Boost for a neighbour with similarity 1.0; a category match in the engine is 8. */
+    static final int BOOST_WEIGHT = 10;
+
+    public interface Listener {
+        void onBoosts(Map<String, Integer> boosts);
+    }
+
+    private final FirebaseFirestore db;
+    // courseId -> neighbours, or absent from the map if fetched and not published
+    private final Map<String, CourseNeighbors> neighbors = new HashMap<>();
+    private final Set<String> requested = new HashSet<>();
+    private List<String> sources = new ArrayList<>();
+    private Set<String> enrolled = new HashSet<>();
+
+    public CoEnrollmentSignal(FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    /**
+     * Recompute boosts for a new enrollment list. The listener is called right away
+     * when every needed document is known, otherwise once they have been read.
+     */
+    @MainThread
+    public void update(List<Enrollment> enrollments, Listener listener) {
+        List<Enrollment> recent = new ArrayList<>(enrollments);
+        recent.sort((a, b) -> Long.compare(b.lastAccessedAt, a.lastAccessedAt));
+
+        List<String> nextSources = new ArrayList<>();
+        Set<String> nextEnrolled = new HashSet<>();
+        for (Enrollment e : recent) {
+            nextEnrolled.add(e.courseId);
+            if (nextSources.size() < MAX_SOURCE_COURSES) nextSources.add(e.courseId);
+        }
+        sources = nextSources;
+        enrolled = nextEnrolled;
+
+        List<String> missing = new ArrayList<>();
+        for (String id : nextSources) {
+            if (requested.add(id)) missing.add(id);
+        }
+        if (missing.isEmpty()) {
+            listener.onBoosts(boosts(sourceNeighbors(), enrolled));
+            return;
+        }
+
+        db.collection(CourseNeighbors.COLLECTION)
+                .whereIn(FieldPath.documentId(), missing)
+                .get()
+                .addOnSuccessListener(snapshot -> {
+                    for (DocumentSnapshot doc : snapshot.getDocuments()) {
+                        CourseNeighbors n = CourseNeighbors.fromSnapshot(doc);
+                        if (n != null) neighbors.put(n.courseId, n);
+                    }
+                    // Boosts for the enrollments current now, not when the read started
+                    listener.onBoosts(boosts(sourceNeighbors(), enrolled));
+                })
+                .addOnFailureListener(e -> {
+                    Log.w(TAG, "Neighbour read failed", e);
+                    requested.removeAll(missing);
+                });
+    }
+
+    private List<CourseNeighbors> sourceNeighbors() {
+        List<CourseNeighbors> result = new ArrayList<>();
+        for (String id : sources) {
+            CourseNeighbors n = neighbors.get(id);
+            if (n != null) result.add(n);
+        }
+        return result;
+    }
+
+    /**
+     * Sum of each neighbour's similarity over the source courses, scaled to engine
+     * score units; enrolled courses and zero boosts are left out.
+     */
+    static Map<String, Integer> boosts(Collection<CourseNeighbors> sources, Set<String> enrolled) {
+        Map<String, Double> sums = new HashMap<>();
+        for (CourseNeighbors source : sources) {
+            for (int i = 0; i < source.neighborIds.size(); i++) {
+                String id = source.neighborIds.get(i);
+                if (enrolled.contains(id)) continue;
+                Double sum = sums.get(id);
+                sums.put(id, (sum != null ? sum : 0) + source.scores.get(i));
+            }
+        }
+        Map<String, Integer> boosts = new HashMap<>();
+        for (Map.Entry<String, Double> e : sums.entrySet()) {
+            int boost = (int) Math.round(e.getValue() * BOOST_WEIGHT);
+            if (boost > 0) boosts.put(e.getKey(), boost);
+        }
+        return boosts;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.edubridge.data.local.coenroll;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * "Students also enrolled in" for one course: its top co-enrolled courses, best first,
+ * stored as courseNeighbors/{courseId} with parallel id and score arrays so a client
+ * gets every enrolled course's neighbours in one query.
+ */
+public final class CourseNeighbors {
+
+    public static final String COLLECTION = "courseNeighbors";
+
+    static final String ENROLLED_COUNT = "enrolledCount";
+    static final String NEIGHBOR_IDS = "neighborIds";
+    static final String SCORES = "scores";
+    static final String COMPUTED_AT = "computedAt";
+
+    public final String courseId;
+    public final int enrolledCount;
+    public final List<String> neighborIds;
+    public final List<Double> scores;
+
+    public CourseNeighbors(String courseId, int enrolledCount, List<String> neighborIds, List<Double> scores) {
+        this.courseId = courseId;
+        this.enrolledCount = enrolledCount;
+        this.neighborIds = Collections.unmodifiableList(neighborIds);
+        this.scores = Collections.unmodifiableList(scores);
+    }
+
+    /**
+     * Null if the document does not exist or is malformed.
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public static CourseNeighbors fromSnapshot(@Nullable DocumentSnapshot doc) {
+        if (doc == null || !doc.exists()) return null;
+        Object ids = doc.get(NEIGHBOR_IDS);
+        Object scores = doc.get(SCORES);
+        if (!(ids instanceof List) || !(scores instanceof List)) return null;
+
+        List<String> neighborIds = new ArrayList<>();
+        List<Double> neighborScores = new ArrayList<>();
+        List<Object> rawIds = (List<Object>) ids;
+        List<Object> rawScores = (List<Object>) scores;
+        for (int i = 0; i < Math.min(rawIds.size(), rawScores.size()); i++) {
+            if (rawIds.get(i) instanceof String && rawScores.get(i) instanceof Number) {
+                neighborIds.add((String) rawIds.get(i));
+                neighborScores.add(((Number) rawScores.get(i)).doubleValue());
+            }
+        }
+        Long enrolled = doc.getLong(ENROLLED_COUNT);
+        return new CourseNeighbors(doc.getId(), enrolled != null ? enrolled.intValue() : 0,
+                neighborIds, neighborScores);
+    }
+
+    public Map<String, Object> toMap(long computedAt) {
+        Map<String, Object> map = new HashMap<>();
+        map.put(ENROLLED_COUNT, enrolledCount);
+        map.put(NEIGHBOR_IDS, neighborIds);
+        map.put(SCORES, scores);
+        map.put(COMPUTED_AT, computedAt);
+        return map;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "CourseNeighbors{" + courseId + " -> " + neighborIds + "}";
+    }
+}
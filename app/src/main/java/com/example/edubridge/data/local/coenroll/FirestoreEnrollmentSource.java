@@ -0,0 +1,122 @@
+package com.example.edubridge.data.local.coenroll;
+
+import androidx.annotation.WorkerThread;
+
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.Source;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Every user's enrolled course ids, one user at a time, read from the "enrollments"
+ * collection group in pages.
+ *
+ * Pages are ordered by document path, so a user's enrollments are contiguous and a
+ * user is emitted as soon as the next one starts; at most one page is held in memory.
+ * Needs read access to all users' enrollments (admin). Blocking: call from a worker.
+ * A failed page read surfaces as {@link SourceException}.
+ */
+@WorkerThread
+public final class FirestoreEnrollmentSource implements Iterator<Set<String>> {
+
+    public static final int PAGE_SIZE = 500;
+    private static final long TIMEOUT_SECONDS = 60;
+
+    private final Query query;
+
+    private List<DocumentSnapshot> page;
+    private int position;
+    private DocumentSnapshot lastRead;
+    private boolean exhausted = false;
+    private Set<String> next;
+    private long documentsRead;
+
+    public FirestoreEnrollmentSource(FirebaseFirestore db) {
+        query = db.collectionGroup("enrollments")
+                .orderBy(FieldPath.documentId())
+                .limit(PAGE_SIZE);
+    }
+
+    public long documentsRead() {
+        return documentsRead;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) next = readUser();
+        return next != null;
+    }
+
+    @Override
+    public Set<String> next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        Set<String> user = next;
+        next = null;
+        return user;
+    }
+
+    /**
+     * Course ids of the next user, or null when every page has been read.
+     */
+    private Set<String> readUser() {
+        Set<String> courses = new HashSet<>();
+        String userPath = null;
+        while (true) {
+            DocumentSnapshot doc = peek();
+            if (doc == null) break;
+            DocumentReference user = doc.getReference().getParent().getParent();
+            // Only users/{uid}/enrollments; ignore any other collection with that name
+            if (user == null || !"users".equals(user.getParent().getId())) {
+                position++;
+                continue;
+            }
+            if (userPath != null && !userPath.equals(user.getPath())) break;
+            userPath = user.getPath();
+            courses.add(doc.getId());
+            position++;
+        }
+        return userPath == null ? null : courses;
+    }
+
+    private DocumentSnapshot peek() {
+        if (page != null && position < page.size()) return page.get(position);
+        if (exhausted) return null;
+
+        Query pageQuery = lastRead == null ? query : query.startAfter(lastRead);
+        QuerySnapshot snapshot;
+        try {
+            snapshot = Tasks.await(pageQuery.get(Source.SERVER), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new SourceException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SourceException(e);
+        }
+        page = snapshot.getDocuments();
+        position = 0;
+        documentsRead += page.size();
+        if (page.size() < PAGE_SIZE) exhausted = true;
+        if (page.isEmpty()) return null;
+        lastRead = page.get(page.size() - 1);
+        return page.get(0);
+    }
+
+    public static final class SourceException extends RuntimeException {
+        SourceException(Throwable cause) {
+            super("Reading enrollments failed", cause);
+        }
+    }
+}
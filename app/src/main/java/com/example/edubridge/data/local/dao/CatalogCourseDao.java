@@ -0,0 +1,41 @@
+package com.example.edubridge.data.local.dao;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Upsert;
+
+import com.example.edubridge.data.local.entity.CatalogCourse;
+import com.example.edubridge.data.local.entity.CourseSearchHit;
+
+import java.util.List;
+
+/**
+ * Data Access Object for the cached course catalog.
+ */
+@Dao
+public interface CatalogCourseDao {
+
+    // @Upsert rather than REPLACE: REPLACE deletes the old row without firing the
+    // delete trigger that keeps courses_fts in sync
+    @Upsert
+    void upsertAll(List<CatalogCourse> courses);
+
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    void insertIfAbsent(List<CatalogCourse> courses);
+
+    @Query("SELECT * FROM catalog_courses")
+    List<CatalogCourse> getAllSync();
+
+    @Query("SELECT COUNT(*) FROM catalog_courses")
+    int getCount();
+
+    /**
+     * Full-text search over title, category and description. Unranked; see CourseSearchRanker.
+     */
+    @Query("SELECT catalog_courses.courseId AS courseId, matchinfo(courses_fts, 'pcx') AS matchInfo "
+            + "FROM catalog_courses JOIN courses_fts ON catalog_courses.rowid = courses_fts.rowid "
+            + "WHERE courses_fts MATCH :matchQuery")
+    List<CourseSearchHit> search(String matchQuery);
+}
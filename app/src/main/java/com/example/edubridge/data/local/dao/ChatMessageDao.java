@@ -5,6 +5,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 
 import com.example.edubridge.data.local.entity.ChatMessage;
 
@@ -19,15 +20,51 @@ public interface ChatMessageDao {
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     void insert(ChatMessage message);
 
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsertAll(List<ChatMessage> messages);
+
     @Query("SELECT * FROM chat_messages ORDER BY timestamp ASC")
     LiveData<List<ChatMessage>> getAllMessages();
 
     @Query("SELECT * FROM chat_messages ORDER BY timestamp ASC")
     List<ChatMessage> getAllMessagesSync();
 
+    // ===== Keyset pagination (cursor = timestamp, id) =====
+
+    /**
+     * Newest page of messages, newest first.
+     */
+    @Query("SELECT * FROM chat_messages ORDER BY timestamp DESC, id DESC LIMIT :limit")
+    List<ChatMessage> getLatestPage(int limit);
+
+    /**
+     * Page of messages strictly older than the given cursor, newest first.
+     */
+    @Query("SELECT * FROM chat_messages "
+            + "WHERE timestamp <= :beforeTimestamp AND (timestamp < :beforeTimestamp OR id < :beforeId) "
+            + "ORDER BY timestamp DESC, id DESC LIMIT :limit")
+    List<ChatMessage> getPageBefore(long beforeTimestamp, String beforeId, int limit);
+
+    /**
+     * All messages strictly newer than the given cursor, oldest first.
+     */
+    @Query("SELECT * FROM chat_messages "
+            + "WHERE timestamp >= :afterTimestamp AND (timestamp > :afterTimestamp OR id > :afterId) "
+            + "ORDER BY timestamp ASC, id ASC")
+    List<ChatMessage> getMessagesAfter(long afterTimestamp, String afterId);
+
     @Query("DELETE FROM chat_messages")
     void deleteAll();
 
     @Query("SELECT COUNT(*) FROM chat_messages")
     int getMessageCount();
+
+    /**
+     * Replace the whole history atomically.
+     */
+    @Transaction
+    default void replaceAll(List<ChatMessage> messages) {
+        deleteAll();
+        upsertAll(messages);
+    }
 }
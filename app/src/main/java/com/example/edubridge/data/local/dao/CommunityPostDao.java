@@ -5,6 +5,7 @@ import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 
 import com.example.edubridge.data.local.entity.LocalCommunityPost;
 
@@ -33,4 +34,13 @@ public interface CommunityPostDao {
 
     @Query("SELECT COUNT(*) FROM community_posts")
     int getPostCount();
+
+    /**
+     * Replace the cached feed atomically.
+     */
+    @Transaction
+    default void replaceAll(List<LocalCommunityPost> posts) {
+        deleteAll();
+        insertAll(posts);
+    }
 }
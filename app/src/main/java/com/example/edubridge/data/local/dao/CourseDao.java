@@ -2,9 +2,9 @@ package com.example.edubridge.data.local.dao;
 
 import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
-import androidx.room.Insert;
-import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
+import androidx.room.Upsert;
 
 import com.example.edubridge.data.local.entity.Course;
 
@@ -12,9 +12,16 @@ import java.util.List;
 
 @Dao
 public interface CourseDao {
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
+
+    // Stay well under SQLite's 999 bound-variable limit for IN (...) lists
+    int MAX_BIND_ARGS = 500;
+
+    @Upsert
     void insert(Course course);
 
+    @Upsert
+    void upsertAll(List<Course> courses);
+
     @Query("SELECT * FROM courses")
     LiveData<List<Course>> getAllCourses();
 
@@ -24,6 +31,32 @@ public interface CourseDao {
     @Query("SELECT * FROM courses WHERE courseId = :courseId LIMIT 1")
     Course getCourseByIdSync(String courseId);
 
+    @Query("DELETE FROM courses WHERE courseId IN (:courseIds)")
+    void deleteByIds(List<String> courseIds);
+
     @Query("DELETE FROM courses")
     void deleteAll();
+
+    /**
+     * Apply a Firestore delta (added/modified rows and removed ids) as one transaction,
+     * so observers are invalidated once per snapshot.
+     */
+    @Transaction
+    default void applyChanges(List<Course> upserts, List<String> removedIds) {
+        if (!upserts.isEmpty()) {
+            upsertAll(upserts);
+        }
+        for (int i = 0; i < removedIds.size(); i += MAX_BIND_ARGS) {
+            deleteByIds(removedIds.subList(i, Math.min(i + MAX_BIND_ARGS, removedIds.size())));
+        }
+    }
+
+    /**
+     * Replace the whole table atomically.
+     */
+    @Transaction
+    default void replaceAll(List<Course> courses) {
+        deleteAll();
+        upsertAll(courses);
+    }
 }
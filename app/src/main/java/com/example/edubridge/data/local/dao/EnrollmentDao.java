@@ -0,0 +1,55 @@
+package com.example.edubridge.data.local.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import androidx.room.Upsert;
+
+import com.example.edubridge.data.local.entity.Enrollment;
+
+import java.util.List;
+
+/**
+ * Data Access Object for Enrollment entities.
+ * All queries filter by userId for user isolation.
+ */
+@Dao
+public interface EnrollmentDao {
+
+    // Stay well under SQLite's 999 bound-variable limit for IN (...) lists
+    int MAX_BIND_ARGS = 500;
+
+    @Upsert
+    void upsertAll(List<Enrollment> enrollments);
+
+    @Query("SELECT * FROM enrollments WHERE userId = :userId")
+    List<Enrollment> getAllForUser(String userId);
+
+    @Query("DELETE FROM enrollments WHERE userId = :userId AND courseId IN (:courseIds)")
+    void deleteByIds(String userId, List<String> courseIds);
+
+    @Query("DELETE FROM enrollments WHERE userId = :userId")
+    void deleteAllForUser(String userId);
+
+    /**
+     * Apply a Firestore delta for one user as a single transaction.
+     */
+    @Transaction
+    default void applyChanges(String userId, List<Enrollment> upserts, List<String> removedIds) {
+        if (!upserts.isEmpty()) {
+            upsertAll(upserts);
+        }
+        for (int i = 0; i < removedIds.size(); i += MAX_BIND_ARGS) {
+            deleteByIds(userId, removedIds.subList(i, Math.min(i + MAX_BIND_ARGS, removedIds.size())));
+        }
+    }
+
+    /**
+     * Replace all enrollments of a user atomically.
+     */
+    @Transaction
+    default void replaceAllForUser(String userId, List<Enrollment> enrollments) {
+        deleteAllForUser(userId);
+        upsertAll(enrollments);
+    }
+}
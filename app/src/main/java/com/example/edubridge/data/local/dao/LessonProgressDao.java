@@ -0,0 +1,42 @@
+package com.example.edubridge.data.local.dao;
+
+import androidx.room.Dao;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import androidx.room.Upsert;
+
+import com.example.edubridge.data.local.entity.LessonProgress;
+
+/**
+ * Data Access Object for per-course lesson completion bitsets.
+ */
+@Dao
+public interface LessonProgressDao {
+
+    @Upsert
+    void upsert(LessonProgress progress);
+
+    @Query("SELECT * FROM lesson_progress WHERE courseId = :courseId LIMIT 1")
+    LessonProgress get(String courseId);
+
+    /**
+     * Completed lesson count; 0 when the course has no row.
+     */
+    @Query("SELECT completedCount FROM lesson_progress WHERE courseId = :courseId")
+    int getCompletedCount(String courseId);
+
+    @Query("DELETE FROM lesson_progress WHERE courseId = :courseId")
+    void clear(String courseId);
+
+    /**
+     * Read-modify-write of one row. Returns true if the lesson was newly marked.
+     */
+    @Transaction
+    default boolean markCompleted(String courseId, int lessonIndex) {
+        LessonProgress progress = get(courseId);
+        if (progress == null) progress = new LessonProgress(courseId);
+        if (!progress.markCompleted(lessonIndex)) return false;
+        upsert(progress);
+        return true;
+    }
+}
@@ -2,9 +2,9 @@ package com.example.edubridge.data.local.dao;
 
 import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
-import androidx.room.Insert;
-import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
+import androidx.room.Upsert;
 
 import com.example.edubridge.data.local.entity.Notification;
 
@@ -12,22 +12,141 @@ import java.util.List;
 
 /**
  * Data Access Object for Notification entity.
+ *
+ * The unread counter lives in notification_inbox and is kept in step by the
+ * write methods below, so reads never COUNT(*) the inbox. Write through these
+ * methods only; the *Row queries are their building blocks.
  */
 @Dao
 public interface NotificationDao {
 
-    @Insert(onConflict = OnConflictStrategy.REPLACE)
-    void insert(Notification notification);
+    // ===== Reads (keyset paging, cursor = timestamp, id) =====
 
-    @Query("SELECT * FROM notifications ORDER BY timestamp DESC")
-    LiveData<List<Notification>> getAllNotifications();
+    /**
+     * Newest page, newest first. Observed by the inbox screen.
+     */
+    @Query("SELECT * FROM notifications ORDER BY timestamp DESC, id DESC LIMIT :limit")
+    LiveData<List<Notification>> observeLatestPage(int limit);
 
-    @Query("UPDATE notifications SET isRead = 1 WHERE id = :notificationId")
-    void markAsRead(String notificationId);
+    /**
+     * Page strictly older than the cursor, newest first.
+     */
+    @Query("SELECT * FROM notifications "
+            + "WHERE timestamp <= :beforeTimestamp AND (timestamp < :beforeTimestamp OR id < :beforeId) "
+            + "ORDER BY timestamp DESC, id DESC LIMIT :limit")
+    List<Notification> getPageBefore(long beforeTimestamp, String beforeId, int limit);
 
-    @Query("SELECT COUNT(*) FROM notifications WHERE isRead = 0")
+    /**
+     * Everything from the newest row down to and including the cursor, newest first.
+     * Used to refresh the pages already on screen.
+     */
+    @Query("SELECT * FROM notifications "
+            + "WHERE timestamp >= :oldestTimestamp AND (timestamp > :oldestTimestamp OR id >= :oldestId) "
+            + "ORDER BY timestamp DESC, id DESC")
+    List<Notification> getNewestDownTo(long oldestTimestamp, String oldestId);
+
+    @Query("SELECT * FROM notifications WHERE id = :notificationId LIMIT 1")
+    Notification getById(String notificationId);
+
+    @Query("SELECT COALESCE((SELECT unreadCount FROM notification_inbox WHERE id = 0), 0)")
     LiveData<Integer> getUnreadCount();
 
+    // ===== Row-level building blocks =====
+
+    @Upsert
+    void upsertRow(Notification notification);
+
+    @Upsert
+    void upsertRows(List<Notification> notifications);
+
+    @Query("UPDATE notifications SET isRead = 1 WHERE id = :notificationId AND isRead = 0")
+    int markAsReadRow(String notificationId);
+
     @Query("DELETE FROM notifications")
-    void deleteAll();
+    void deleteAllRows();
+
+    @Query("DELETE FROM notifications WHERE timestamp < :cutoff")
+    int deleteOlderThan(long cutoff);
+
+    /**
+     * Drop everything beyond the newest :maxRows rows.
+     */
+    @Query("DELETE FROM notifications WHERE id IN (SELECT id FROM notifications "
+            + "ORDER BY timestamp DESC, id DESC LIMIT -1 OFFSET :maxRows)")
+    int deleteBeyond(int maxRows);
+
+    @Query("INSERT OR IGNORE INTO notification_inbox (id, unreadCount, lastCompactedAt) VALUES (0, 0, 0)")
+    void ensureInboxRow();
+
+    @Query("UPDATE notification_inbox SET unreadCount = MAX(0, unreadCount + :delta) WHERE id = 0")
+    void adjustUnread(int delta);
+
+    /**
+     * Recount from the isRead index; only used after bulk writes and compaction.
+     */
+    @Query("UPDATE notification_inbox SET unreadCount = "
+            + "(SELECT COUNT(*) FROM notifications WHERE isRead = 0) WHERE id = 0")
+    void recountUnread();
+
+    @Query("UPDATE notification_inbox SET lastCompactedAt = :timestamp WHERE id = 0")
+    void setLastCompactedAt(long timestamp);
+
+    // ===== Writes that maintain the counter =====
+
+    @Transaction
+    default void insert(Notification notification) {
+        Notification previous = getById(notification.id);
+        upsertRow(notification);
+        int delta = (notification.isRead ? 0 : 1) - (previous != null && !previous.isRead ? 1 : 0);
+        if (delta != 0) {
+            ensureInboxRow();
+            adjustUnread(delta);
+        }
+    }
+
+    @Transaction
+    default void upsertAll(List<Notification> notifications) {
+        upsertRows(notifications);
+        ensureInboxRow();
+        recountUnread();
+    }
+
+    @Transaction
+    default void markAsRead(String notificationId) {
+        if (markAsReadRow(notificationId) > 0) {
+            ensureInboxRow();
+            adjustUnread(-1);
+        }
+    }
+
+    @Transaction
+    default void deleteAll() {
+        deleteAllRows();
+        ensureInboxRow();
+        recountUnread();
+    }
+
+    /**
+     * Replace the whole inbox atomically.
+     */
+    @Transaction
+    default void replaceAll(List<Notification> notifications) {
+        deleteAllRows();
+        upsertRows(notifications);
+        ensureInboxRow();
+        recountUnread();
+    }
+
+    /**
+     * Enforce retention: drop rows older than :cutoff, then keep at most :maxRows.
+     * Returns the number of rows removed.
+     */
+    @Transaction
+    default int compact(long cutoff, int maxRows, long now) {
+        int removed = deleteOlderThan(cutoff) + deleteBeyond(maxRows);
+        ensureInboxRow();
+        if (removed > 0) recountUnread();
+        setLastCompactedAt(now);
+        return removed;
+    }
 }
@@ -0,0 +1,176 @@
+package com.example.edubridge.data.local.dao;
+
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.Query;
+import androidx.room.Transaction;
+import androidx.room.Update;
+
+import com.example.edubridge.data.local.entity.OutboxEntry;
+import com.example.edubridge.data.local.outbox.OutboxCodec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Data Access Object for the Firestore write outbox.
+ */
+@Dao
+public interface OutboxDao {
+
+    // Stay well under SQLite's 999 bound-variable limit for IN (...) lists
+    int MAX_BIND_ARGS = 500;
+
+    @Insert
+    long insert(OutboxEntry entry);
+
+    @Update
+    void update(OutboxEntry entry);
+
+    @Query("SELECT * FROM outbox WHERE documentPath = :documentPath AND inFlight = 0 "
+            + "AND uid IS :uid ORDER BY id DESC LIMIT 1")
+    OutboxEntry getLatestPending(String documentPath, @Nullable String uid);
+
+    /**
+     * Up to limit rows of a group. Its rows are inserted in one transaction, so their ids
+     * run consecutively from groupId and the primary key finds them.
+     */
+    @Query("SELECT * FROM outbox WHERE id BETWEEN :groupId AND :groupId + :limit - 1 "
+            + "AND groupId = :groupId ORDER BY id")
+    List<OutboxEntry> getGroup(long groupId, int limit);
+
+    /** Pending rows of uid, and rows with no known owner. */
+    @Query("SELECT * FROM outbox WHERE inFlight = 0 AND (uid = :uid OR uid IS NULL) "
+            + "ORDER BY id LIMIT :limit")
+    List<OutboxEntry> getPending(String uid, int limit);
+
+    @Query("UPDATE outbox SET inFlight = 1 WHERE id IN (:ids)")
+    void markInFlight(List<Long> ids);
+
+    @Query("DELETE FROM outbox WHERE id IN (:ids)")
+    void deleteByIds(List<Long> ids);
+
+    /** Hand claimed entries back untouched, e.g. after a network error. */
+    @Query("UPDATE outbox SET inFlight = 0 WHERE id IN (:ids)")
+    void release(List<Long> ids);
+
+    /** Hand claimed entries back after Firestore rejected them, counting the attempt. */
+    @Query("UPDATE outbox SET inFlight = 0, attempts = attempts + 1 WHERE id IN (:ids)")
+    void releaseRejected(List<Long> ids);
+
+    /** Entries left claimed by a flush that died with its process. */
+    @Query("UPDATE outbox SET inFlight = 0 WHERE inFlight = 1")
+    int resetInFlight();
+
+    @Query("SELECT COUNT(*) FROM outbox")
+    LiveData<Integer> observePendingCount();
+
+    @Query("SELECT COUNT(*) FROM outbox WHERE uid = :uid OR uid IS NULL")
+    int countPending(String uid);
+
+    /**
+     * Queue a group of writes atomically. The group is folded into the newest pending
+     * group of its documents where {@link OutboxCodec#coalesce(List, List)} allows it,
+     * so repeated progress updates stay one pending group; otherwise it is appended.
+     * A single write is queued with no group. All writes of a group share one uid.
+     */
+    @Transaction
+    default void enqueue(List<OutboxEntry> group) {
+        if (group.isEmpty()) return;
+        OutboxEntry first = group.get(0);
+        List<OutboxEntry> pending = getLatestPendingGroup(first.documentPath, first.uid, group.size());
+        if (pending != null && isLatestPending(pending)) {
+            List<String> merged = OutboxCodec.coalesce(pending, group);
+            if (merged != null) {
+                for (int i = 0; i < pending.size(); i++) {
+                    OutboxEntry entry = pending.get(i);
+                    entry.fieldsJson = merged.get(i);
+                    update(entry);
+                }
+                return;
+            }
+        }
+
+        long groupId = OutboxEntry.NO_GROUP;
+        for (OutboxEntry entry : group) {
+            entry.groupId = groupId;
+            long id = insert(entry);
+            if (group.size() > 1 && groupId == OutboxEntry.NO_GROUP) {
+                // The first row's id names the group
+                groupId = id;
+                entry.id = id;
+                entry.groupId = id;
+                update(entry);
+            }
+        }
+    }
+
+    /**
+     * The group holding the newest pending write of documentPath, or null if there is none.
+     * Only its first size + 1 rows are read: enough to tell whether it has size rows.
+     */
+    @Nullable
+    default List<OutboxEntry> getLatestPendingGroup(String documentPath, @Nullable String uid, int size) {
+        OutboxEntry latest = getLatestPending(documentPath, uid);
+        if (latest == null) return null;
+        if (latest.groupId == OutboxEntry.NO_GROUP) return Collections.singletonList(latest);
+        return getGroup(latest.groupId, size + 1);
+    }
+
+    /**
+     * True if no entry of the group is claimed and none of its documents has a newer
+     * pending write, i.e. folding into it cannot reorder writes to a document.
+     */
+    default boolean isLatestPending(List<OutboxEntry> group) {
+        for (OutboxEntry entry : group) {
+            if (entry.inFlight) return false;
+            OutboxEntry latest = getLatestPending(entry.documentPath, entry.uid);
+            if (latest == null || latest.id != entry.id) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Claim up to limit pending entries of uid, oldest first, without splitting a group
+     * across batches (unless a single group exceeds the limit).
+     */
+    @Transaction
+    default List<OutboxEntry> claim(String uid, int limit) {
+        List<OutboxEntry> batch = getPending(uid, limit);
+        if (batch.size() == limit && batch.get(batch.size() - 1).groupId != OutboxEntry.NO_GROUP) {
+            long lastGroup = batch.get(batch.size() - 1).groupId;
+            int end = batch.size();
+            while (end > 0 && batch.get(end - 1).groupId == lastGroup) end--;
+            if (end > 0) batch = new ArrayList<>(batch.subList(0, end));
+        }
+        List<Long> ids = OutboxEntry.idsOf(batch);
+        for (int i = 0; i < ids.size(); i += MAX_BIND_ARGS) {
+            markInFlight(ids.subList(i, Math.min(i + MAX_BIND_ARGS, ids.size())));
+        }
+        return batch;
+    }
+
+    @Transaction
+    default void complete(List<OutboxEntry> entries) {
+        List<Long> ids = OutboxEntry.idsOf(entries);
+        for (int i = 0; i < ids.size(); i += MAX_BIND_ARGS) {
+            deleteByIds(ids.subList(i, Math.min(i + MAX_BIND_ARGS, ids.size())));
+        }
+    }
+
+    @Transaction
+    default void releaseAll(List<OutboxEntry> entries, boolean rejected) {
+        List<Long> ids = OutboxEntry.idsOf(entries);
+        for (int i = 0; i < ids.size(); i += MAX_BIND_ARGS) {
+            List<Long> chunk = ids.subList(i, Math.min(i + MAX_BIND_ARGS, ids.size()));
+            if (rejected) {
+                releaseRejected(chunk);
+            } else {
+                release(chunk);
+            }
+        }
+    }
+}
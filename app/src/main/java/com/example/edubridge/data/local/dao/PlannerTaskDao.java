@@ -6,6 +6,7 @@ import androidx.room.Delete;
 import androidx.room.Insert;
 import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
 
 import com.example.edubridge.data.local.entity.PlannerTask;
@@ -22,6 +23,9 @@ public interface PlannerTaskDao {
     @Insert(onConflict = OnConflictStrategy.REPLACE)
     void insert(PlannerTask task);
 
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsertAll(List<PlannerTask> tasks);
+
     @Update
     void update(PlannerTask task);
 
@@ -59,6 +63,15 @@ public interface PlannerTaskDao {
     @Query("SELECT COUNT(*) FROM planner_tasks WHERE userId = :userId AND isCompleted = 0")
     int getPendingTaskCount(String userId);
 
+    /**
+     * Replace all tasks of a user atomically.
+     */
+    @Transaction
+    default void replaceAllForUser(String userId, List<PlannerTask> tasks) {
+        deleteAllForUser(userId);
+        upsertAll(tasks);
+    }
+
     // ===== Legacy methods (without user filter - for migration) =====
 
     @Query("SELECT * FROM planner_tasks ORDER BY dueDate ASC, createdAt ASC")
@@ -0,0 +1,62 @@
+package com.example.edubridge.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.PrimaryKey;
+
+/**
+ * M5.1 Offline Access: a course of the browsable catalog cached on the device.
+ *
+ * Kept apart from {@link Course}, which mirrors users/{uid}/courses and is
+ * replaced wholesale by sync, so catalog rows never show up as (or get wiped
+ * with) the user's own courses.
+ */
+@Entity(tableName = "catalog_courses")
+public class CatalogCourse {
+
+    @PrimaryKey
+    @NonNull
+    public String courseId;
+
+    public String title;
+    public String description;
+    public String category;
+    public String difficulty;
+    public String duration;
+    public String thumbnailUrl;
+    public int totalLessons;
+    public boolean isPublished;
+    public long createdAt;
+
+    public CatalogCourse() {
+        this.courseId = "";
+    }
+
+    public static CatalogCourse from(Course course) {
+        CatalogCourse c = new CatalogCourse();
+        c.courseId = course.courseId;
+        c.title = course.title;
+        c.description = course.description;
+        c.category = course.category;
+        c.difficulty = course.difficulty;
+        c.duration = course.duration;
+        c.thumbnailUrl = course.thumbnailUrl;
+        c.totalLessons = course.totalLessons;
+        c.isPublished = course.isPublished;
+        c.createdAt = course.createdAt;
+        return c;
+    }
+
+    /**
+     * As a {@link Course} with no local progress.
+     */
+    @Ignore
+    public Course toCourse() {
+        Course course = new Course(courseId, title, description, category, difficulty, duration,
+                totalLessons, isPublished);
+        course.thumbnailUrl = thumbnailUrl;
+        course.createdAt = createdAt;
+        return course;
+    }
+}
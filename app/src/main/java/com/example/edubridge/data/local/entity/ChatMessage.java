@@ -2,13 +2,16 @@ package com.example.edubridge.data.local.entity;
 
 import androidx.annotation.NonNull;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.Ignore; // ✅ 新增
 import androidx.room.PrimaryKey;
 
 /**
  * Room entity for storing chat messages with the AI Buddy.
+ * (timestamp, id) is the keyset cursor used by ChatMessageDao paging.
  */
-@Entity(tableName = "chat_messages")
+@Entity(tableName = "chat_messages",
+        indices = { @Index(value = { "timestamp", "id" }) })
 public class ChatMessage {
 
     @PrimaryKey
@@ -8,7 +8,9 @@ import androidx.room.PrimaryKey;
 import com.google.firebase.Timestamp;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Unified Course Entity for Room Database and Firestore.
@@ -117,26 +119,41 @@ public class Course {
     }
 
     /**
-     * Calculate progress percentage.
+     * Stored fields as a Firestore map, for writes that go through the outbox.
      */
     @Ignore
-    public int getProgressPercent() {
-        if (totalLessons <= 0)
-            return 0;
-        return (progress * 100) / totalLessons;
+    public Map<String, Object> toFirestoreMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("courseId", courseId);
+        map.put("title", title);
+        map.put("description", description);
+        map.put("category", category);
+        map.put("difficulty", difficulty);
+        map.put("duration", duration);
+        map.put("thumbnailUrl", thumbnailUrl);
+        map.put("progress", progress);
+        map.put("totalLessons", totalLessons);
+        map.put("status", status);
+        map.put("isPublished", isPublished);
+        map.put("createdAt", createdAt);
+        map.put("objectives", objectives);
+        map.put("learningOutcomes", learningOutcomes);
+        map.put("instructorName", instructorName);
+        map.put("instructorBio", instructorBio);
+        map.put("estimatedEffort", estimatedEffort);
+        map.put("prerequisites", prerequisites);
+        map.put("syllabusData", syllabusData);
+        return map;
     }
 
     /**
-     * Check if course matches search query.
+     * Calculate progress percentage.
      */
     @Ignore
-    public boolean matchesSearch(String query) {
-        if (query == null || query.isEmpty())
-            return true;
-        String lowerQuery = query.toLowerCase();
-        return (title != null && title.toLowerCase().contains(lowerQuery)) ||
-                (description != null && description.toLowerCase().contains(lowerQuery)) ||
-                (category != null && category.toLowerCase().contains(lowerQuery));
+    public int getProgressPercent() {
+        if (totalLessons <= 0)
+            return 0;
+        return (progress * 100) / totalLessons;
     }
 
     /**
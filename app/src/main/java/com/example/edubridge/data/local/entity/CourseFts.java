@@ -0,0 +1,20 @@
+package com.example.edubridge.data.local.entity;
+
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+
+/**
+ * M3.1 Course Browsing: FTS4 index over the searchable columns of {@link CatalogCourse}.
+ *
+ * External-content table: Room keeps it in sync with catalog_courses through triggers,
+ * so nothing writes to it directly. Column order matters for ranking
+ * (see CourseSearchRanker).
+ */
+@Fts4(contentEntity = CatalogCourse.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "courses_fts")
+public class CourseFts {
+    public String title;
+    public String category;
+    public String description;
+}
@@ -0,0 +1,9 @@
+package com.example.edubridge.data.local.entity;
+
+/**
+ * Row of a full-text course search: the course id plus FTS4 matchinfo('pcx') for ranking.
+ */
+public class CourseSearchHit {
+    public String courseId;
+    public byte[] matchInfo;
+}
@@ -0,0 +1,33 @@
+package com.example.edubridge.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.Entity;
+
+/**
+ * M3.3 Enrollment Management: local mirror of users/{uid}/enrollments/{courseId}.
+ */
+@Entity(tableName = "enrollments", primaryKeys = { "userId", "courseId" })
+public class Enrollment {
+
+    @NonNull
+    public String userId;
+
+    @NonNull
+    public String courseId;
+
+    public String courseTitle;
+    public String category;
+    public int totalLessons;
+    public int progress; // Lessons completed
+    public String status; // "enrolled", "in_progress", "completed"
+    public long enrolledAt;
+    public long lastAccessedAt;
+    @Nullable
+    public Long completedAt;
+
+    public Enrollment() {
+        this.userId = "";
+        this.courseId = "";
+    }
+}
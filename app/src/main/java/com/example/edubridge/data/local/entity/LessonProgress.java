@@ -0,0 +1,60 @@
+package com.example.edubridge.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.PrimaryKey;
+
+import java.util.Arrays;
+
+/**
+ * M3.4 Structured Content: lesson completion for one course as a bitset.
+ * Bit i of completedBits is lesson i; completedCount is kept in step so the
+ * count is a single-column read.
+ */
+@Entity(tableName = "lesson_progress")
+public class LessonProgress {
+
+    @PrimaryKey
+    @NonNull
+    public String courseId;
+
+    public byte[] completedBits;
+    public int completedCount;
+    public long updatedAt;
+
+    public LessonProgress() {
+        this.courseId = "";
+    }
+
+    @Ignore
+    public LessonProgress(@NonNull String courseId) {
+        this.courseId = courseId;
+        this.completedBits = new byte[0];
+    }
+
+    @Ignore
+    public boolean isCompleted(int lessonIndex) {
+        int byteIndex = lessonIndex >>> 3;
+        return lessonIndex >= 0 && completedBits != null && byteIndex < completedBits.length
+                && (completedBits[byteIndex] & (1 << (lessonIndex & 7))) != 0;
+    }
+
+    /**
+     * Set the bit for a lesson. Returns false if it was already set.
+     */
+    @Ignore
+    public boolean markCompleted(int lessonIndex) {
+        if (lessonIndex < 0 || isCompleted(lessonIndex)) return false;
+        int byteIndex = lessonIndex >>> 3;
+        if (completedBits == null || byteIndex >= completedBits.length) {
+            completedBits = completedBits == null
+                    ? new byte[byteIndex + 1]
+                    : Arrays.copyOf(completedBits, byteIndex + 1);
+        }
+        completedBits[byteIndex] |= (byte) (1 << (lessonIndex & 7));
+        completedCount++;
+        updatedAt = System.currentTimeMillis();
+        return true;
+    }
+}
@@ -2,13 +2,15 @@ package com.example.edubridge.data.local.entity;
 
 import androidx.annotation.NonNull;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.Ignore; // ✅ 新增
 import androidx.room.PrimaryKey;
 
 /**
  * Room entity for locally cached community posts.
  */
-@Entity(tableName = "community_posts")
+@Entity(tableName = "community_posts",
+        indices = { @Index(value = { "createdAt" }) })
 public class LocalCommunityPost {
 
     @PrimaryKey
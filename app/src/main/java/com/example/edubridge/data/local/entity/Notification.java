@@ -2,13 +2,19 @@ package com.example.edubridge.data.local.entity;
 
 import androidx.annotation.NonNull;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
 /**
  * Entity representing a notification stored locally.
  * Used for displaying notification history in the app.
+ * (timestamp, id) is the keyset cursor used by NotificationDao paging.
  */
-@Entity(tableName = "notifications")
+@Entity(tableName = "notifications",
+        indices = {
+                @Index(value = { "timestamp", "id" }),
+                @Index(value = { "isRead" })
+        })
 public class Notification {
 
     @PrimaryKey
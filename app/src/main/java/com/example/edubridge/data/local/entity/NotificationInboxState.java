@@ -0,0 +1,20 @@
+package com.example.edubridge.data.local.entity;
+
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Single-row bookkeeping for the notification inbox: the maintained unread
+ * counter and when retention was last enforced. Written only by NotificationDao.
+ */
+@Entity(tableName = "notification_inbox")
+public class NotificationInboxState {
+
+    public static final int ROW_ID = 0;
+
+    @PrimaryKey
+    public int id = ROW_ID;
+
+    public int unreadCount;
+    public long lastCompactedAt;
+}
@@ -0,0 +1,56 @@
+package com.example.edubridge.data.local.entity;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A Firestore write waiting in the local outbox (see OutboxRepository).
+ *
+ * Entries enqueued together share a groupId and are always flushed in the same
+ * WriteBatch; a write enqueued on its own has {@link #NO_GROUP}. fieldsJson is the
+ * OutboxCodec encoding of the field map (null for DELETE). A write is only flushed
+ * while the account that queued it ({@link #uid}) is signed in.
+ */
+@Entity(tableName = "outbox", indices = { @Index(value = { "documentPath", "inFlight" }) })
+public class OutboxEntry {
+
+    public static final long NO_GROUP = 0;
+
+    @PrimaryKey(autoGenerate = true)
+    public long id;
+
+    public long groupId;
+
+    @NonNull
+    public String documentPath = "";
+
+    /** OutboxWrite.Type name. */
+    @NonNull
+    public String type = "";
+
+    public String fieldsJson;
+
+    public long createdAt;
+
+    /** Failed flush attempts so far. */
+    public int attempts;
+
+    /** Claimed by a running flush; never coalesced into while set. */
+    public boolean inFlight;
+
+    /** Account that queued the write; null if unknown (rows queued before version 19). */
+    @Nullable
+    public String uid;
+
+    public static List<Long> idsOf(List<OutboxEntry> entries) {
+        List<Long> ids = new ArrayList<>(entries.size());
+        for (OutboxEntry e : entries) ids.add(e.id);
+        return ids;
+    }
+}
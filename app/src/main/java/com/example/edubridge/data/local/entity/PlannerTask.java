@@ -2,13 +2,20 @@ package com.example.edubridge.data.local.entity;
 
 import androidx.annotation.NonNull;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.Ignore; // ✅ 新增
 import androidx.room.PrimaryKey;
 
 /**
  * Room entity for Study Planner tasks.
+ * Indices match PlannerTaskDao: per-user lists ordered by due date, and
+ * per-user pending/overdue lookups on isCompleted.
  */
-@Entity(tableName = "planner_tasks")
+@Entity(tableName = "planner_tasks",
+        indices = {
+                @Index(value = { "userId", "dueDate", "createdAt" }),
+                @Index(value = { "userId", "isCompleted", "dueDate" })
+        })
 public class PlannerTask {
 
     @PrimaryKey
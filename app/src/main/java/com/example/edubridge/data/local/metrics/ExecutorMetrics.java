@@ -0,0 +1,295 @@
+package com.example.edubridge.data.local.metrics;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Background executor telemetry, fed by the pools in AppExecutors.
+ *
+ * Per pool: queue depth seen by each submission. Per pool and task tag: time from
+ * enqueue to start (wait) and execution time (run). Histograms cover the last
+ * {@link #WINDOW_MS}; task counts are cumulative.
+ *
+ * Tasks are tagged with {@link #tag}; untagged tasks fall back to the class that
+ * submitted them. A warning is logged when a disk task waits longer than
+ * {@link #DISK_WAIT_WARN_MS}.
+ */
+public final class ExecutorMetrics {
+
+    private static final String TAG = "ExecutorMetrics";
+
+    public static final long WINDOW_MS = TimeUnit.MINUTES.toMillis(1);
+    public static final long DISK_WAIT_WARN_MS = 200;
+    private static final long WARN_INTERVAL_MS = 5_000;
+    public static final String DISK_POOL = "disk";
+
+    private static final ConcurrentHashMap<String, PoolStats> POOLS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, TaskStats> TASKS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Class<?>, String> CLASS_TAGS = new ConcurrentHashMap<>();
+    private static final AtomicLong lastDiskWarning = new AtomicLong();
+
+    private ExecutorMetrics() {}
+
+    /**
+     * A task that names itself in the executor stats.
+     */
+    public interface Tagged {
+        String tag();
+    }
+
+    public static Runnable tag(String tag, Runnable task) {
+        return new TaggedRunnable(tag, task);
+    }
+
+    /* -------- Recording (called by the pools) -------- */
+
+    public static String tagOf(Object task) {
+        if (task instanceof Tagged) return ((Tagged) task).tag();
+        Class<?> type = task.getClass();
+        String tag = CLASS_TAGS.get(type);
+        if (tag == null) {
+            tag = CLASS_TAGS.computeIfAbsent(type, ExecutorMetrics::classTag);
+        }
+        return tag;
+    }
+
+    public static void recordEnqueue(String pool, int queueDepth) {
+        PoolStats stats = POOLS.get(pool);
+        if (stats == null) {
+            stats = POOLS.computeIfAbsent(pool, PoolStats::new);
+        }
+        stats.recordEnqueue(queueDepth);
+    }
+
+    public static void recordStart(String pool) {
+        PoolStats stats = POOLS.get(pool);
+        if (stats != null) stats.pending.decrementAndGet();
+    }
+
+    /**
+     * A task counted by recordEnqueue that the pool refused (it will never start).
+     */
+    public static void recordRejected(String pool) {
+        recordStart(pool);
+    }
+
+    public static void recordTask(String pool, String tag, long waitNanos, long runNanos) {
+        long waitMicros = TimeUnit.NANOSECONDS.toMicros(waitNanos);
+        long runMicros = TimeUnit.NANOSECONDS.toMicros(runNanos);
+
+        String key = pool + "/" + tag;
+        TaskStats stats = TASKS.get(key);
+        if (stats == null) {
+            stats = TASKS.computeIfAbsent(key, k -> new TaskStats(pool, tag));
+        }
+        stats.wait.record(waitMicros);
+        stats.run.record(runMicros);
+        stats.count.increment();
+
+        if (DISK_POOL.equals(pool) && waitMicros >= DISK_WAIT_WARN_MS * 1000) {
+            warnDiskWait(tag, waitMicros);
+        }
+    }
+
+    private static void warnDiskWait(String tag, long waitMicros) {
+        long now = System.currentTimeMillis();
+        long last = lastDiskWarning.get();
+        if (now - last < WARN_INTERVAL_MS || !lastDiskWarning.compareAndSet(last, now)) return;
+        PoolStats disk = POOLS.get(DISK_POOL);
+        Log.w(TAG, String.format(Locale.US,
+                "Disk IO task %s waited %.1f ms to start (%d queued)",
+                tag, waitMicros / 1000.0, disk != null ? disk.pending.get() : -1));
+    }
+
+    /**
+     * "RepoX$$ExternalSyntheticLambda3" / "-$$Lambda$RepoX$abc" -> "RepoX".
+     */
+    private static String classTag(Class<?> type) {
+        String name = type.getName();
+        name = name.substring(name.lastIndexOf('.') + 1);
+        if (name.startsWith("-$$Lambda$")) {
+            name = name.substring("-$$Lambda$".length());
+            int end = name.indexOf('$');
+            return end > 0 ? name.substring(0, end) : name;
+        }
+        int lambda = name.indexOf("$$");
+        return lambda > 0 ? name.substring(0, lambda) : name;
+    }
+
+    /* -------- Dump API -------- */
+
+    public static List<PoolReport> poolReport() {
+        List<PoolReport> reports = new ArrayList<>();
+        for (PoolStats stats : POOLS.values()) {
+            reports.add(new PoolReport(stats.name, stats.pending.get(), stats.maxDepth.get(),
+                    stats.depth.snapshot()));
+        }
+        reports.sort((a, b) -> a.pool.compareTo(b.pool));
+        return reports;
+    }
+
+    /**
+     * Per-tag numbers, longest p95 wait first.
+     */
+    public static List<TaskReport> taskReport() {
+        List<TaskReport> reports = new ArrayList<>();
+        for (TaskStats stats : TASKS.values()) {
+            reports.add(new TaskReport(stats.pool, stats.tag, stats.count.sum(),
+                    stats.wait.snapshot(), stats.run.snapshot()));
+        }
+        reports.sort((a, b) -> Long.compare(b.wait.p95Micros, a.wait.p95Micros));
+        return reports;
+    }
+
+    public static String dump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.US, "%-8s %7s %7s %7s %7s%n",
+                "pool", "queued", "p50", "p95", "max"));
+        for (PoolReport p : poolReport()) {
+            sb.append(String.format(Locale.US, "%-8s %7d %7d %7d %7d%n",
+                    p.pool, p.queued, p.depth.p50Micros, p.depth.p95Micros, p.maxDepth));
+        }
+        sb.append('\n');
+        sb.append(String.format(Locale.US, "%8s %9s %9s %9s %9s  %s%n",
+                "tasks", "wait50ms", "wait95ms", "run50ms", "run95ms", "pool/tag"));
+        for (TaskReport t : taskReport()) {
+            sb.append(String.format(Locale.US, "%8d %9.2f %9.2f %9.2f %9.2f  %s/%s%n",
+                    t.count, t.wait.p50Micros / 1000.0, t.wait.p95Micros / 1000.0,
+                    t.run.p50Micros / 1000.0, t.run.p95Micros / 1000.0, t.pool, t.tag));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * A few lines for the debug overlay: depth and wait per pool.
+     */
+    public static String summary() {
+        Map<String, Long> waitP95 = new HashMap<>();
+        for (TaskReport t : taskReport()) {
+            Long current = waitP95.get(t.pool);
+            if (current == null || t.wait.p95Micros > current) waitP95.put(t.pool, t.wait.p95Micros);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (PoolReport p : poolReport()) {
+            if (sb.length() > 0) sb.append('\n');
+            Long wait = waitP95.get(p.pool);
+            sb.append(String.format(Locale.US, "%s q=%d max=%d wait95=%.1fms",
+                    p.pool, p.queued, p.maxDepth, wait != null ? wait / 1000.0 : 0.0));
+        }
+        return sb.toString();
+    }
+
+    public static void logDump() {
+        for (String line : dump().split("\n")) {
+            Log.i(TAG, line);
+        }
+    }
+
+    public static void reset() {
+        TASKS.clear();
+        for (PoolStats stats : POOLS.values()) {
+            stats.depth.reset();
+            stats.maxDepth.set(0);
+        }
+    }
+
+    /* -------- Model -------- */
+
+    private static final class TaggedRunnable implements Runnable, Tagged {
+        private final String tag;
+        private final Runnable task;
+
+        TaggedRunnable(String tag, Runnable task) {
+            this.tag = tag;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            task.run();
+        }
+
+        @NonNull
+        @Override
+        public String tag() {
+            return tag;
+        }
+    }
+
+    private static final class PoolStats {
+        final String name;
+        final RollingHistogram depth = new RollingHistogram(WINDOW_MS);
+        final AtomicInteger pending = new AtomicInteger();
+        final AtomicInteger maxDepth = new AtomicInteger();
+
+        PoolStats(String name) {
+            this.name = name;
+        }
+
+        void recordEnqueue(int queueDepth) {
+            pending.incrementAndGet();
+            depth.record(queueDepth);
+            int max;
+            while (queueDepth > (max = maxDepth.get()) && !maxDepth.compareAndSet(max, queueDepth)) {
+                // retry
+            }
+        }
+    }
+
+    private static final class TaskStats {
+        final String pool;
+        final String tag;
+        final RollingHistogram wait = new RollingHistogram(WINDOW_MS);
+        final RollingHistogram run = new RollingHistogram(WINDOW_MS);
+        final LongAdder count = new LongAdder();
+
+        TaskStats(String pool, String tag) {
+            this.pool = pool;
+            this.tag = tag;
+        }
+    }
+
+    public static final class PoolReport {
+        public final String pool;
+        public final int queued;
+        public final int maxDepth;
+        /** Queue depth at submission; the histogram's "micros" are task counts here. */
+        public final LatencyHistogram.Snapshot depth;
+
+        PoolReport(String pool, int queued, int maxDepth, LatencyHistogram.Snapshot depth) {
+            this.pool = pool;
+            this.queued = queued;
+            this.maxDepth = maxDepth;
+            this.depth = depth;
+        }
+    }
+
+    public static final class TaskReport {
+        public final String pool;
+        public final String tag;
+        public final long count;
+        public final LatencyHistogram.Snapshot wait;
+        public final LatencyHistogram.Snapshot run;
+
+        TaskReport(String pool, String tag, long count,
+                   LatencyHistogram.Snapshot wait, LatencyHistogram.Snapshot run) {
+            this.pool = pool;
+            this.tag = tag;
+            this.count = count;
+            this.wait = wait;
+            this.run = run;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.edubridge.data.local.metrics;
+
+import android.database.Cursor;
+import android.database.CursorWrapper;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+import androidx.sqlite.db.SupportSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteStatement;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * Open helper factory that times every statement and reports it to {@link QueryMetrics}.
+ *
+ * Queries are timed from query() until the cursor is closed (execution plus Room's row
+ * mapping); compiled statements are timed around execute*() / simpleQueryFor*().
+ */
+final class InstrumentedOpenHelperFactory implements SupportSQLiteOpenHelper.Factory {
+
+    private final SupportSQLiteOpenHelper.Factory delegate;
+
+    InstrumentedOpenHelperFactory(SupportSQLiteOpenHelper.Factory delegate) {
+        this.delegate = delegate;
+    }
+
+    @NonNull
+    @Override
+    public SupportSQLiteOpenHelper create(@NonNull SupportSQLiteOpenHelper.Configuration configuration) {
+        SupportSQLiteOpenHelper helper = delegate.create(configuration);
+        return proxy(SupportSQLiteOpenHelper.class, helper, (method, args) -> {
+            Object result = invoke(helper, method, args);
+            return result instanceof SupportSQLiteDatabase
+                    ? wrapDatabase((SupportSQLiteDatabase) result)
+                    : result;
+        });
+    }
+
+    private static SupportSQLiteDatabase wrapDatabase(SupportSQLiteDatabase db) {
+        return proxy(SupportSQLiteDatabase.class, db, (method, args) -> {
+            String name = method.getName();
+            if (name.equals("query")) {
+                String sql = args[0] instanceof SupportSQLiteQuery
+                        ? ((SupportSQLiteQuery) args[0]).getSql()
+                        : String.valueOf(args[0]);
+                long start = System.nanoTime();
+                return new TimedCursor((Cursor) invoke(db, method, args), sql, start);
+            }
+            if (name.equals("compileStatement")) {
+                return wrapStatement((SupportSQLiteStatement) invoke(db, method, args), (String) args[0]);
+            }
+            if (name.equals("execSQL")) {
+                long start = System.nanoTime();
+                Object result = invoke(db, method, args);
+                QueryMetrics.recordStatement((String) args[0], start, -1);
+                return result;
+            }
+            return invoke(db, method, args);
+        });
+    }
+
+    private static SupportSQLiteStatement wrapStatement(SupportSQLiteStatement statement, String sql) {
+        return proxy(SupportSQLiteStatement.class, statement, (method, args) -> {
+            String name = method.getName();
+            if (!name.startsWith("execute") && !name.startsWith("simpleQuery")) {
+                return invoke(statement, method, args);
+            }
+            long start = System.nanoTime();
+            Object result = invoke(statement, method, args);
+            long rows;
+            if (name.equals("executeUpdateDelete")) {
+                rows = (Integer) result;
+            } else if (name.equals("executeInsert")) {
+                rows = ((Long) result) == -1L ? 0 : 1;
+            } else {
+                rows = name.startsWith("simpleQuery") ? 1 : -1;
+            }
+            QueryMetrics.recordStatement(sql, start, rows);
+            return result;
+        });
+    }
+
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> method.getDeclaringClass() == Object.class
+                        ? invoke(target, method, args)
+                        : handler.handle(method, args));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class TimedCursor extends CursorWrapper {
+        private final String sql;
+        private final long startNanos;
+        private boolean recorded;
+
+        TimedCursor(Cursor cursor, String sql, long startNanos) {
+            super(cursor);
+            this.sql = sql;
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void close() {
+            if (!recorded) {
+                recorded = true;
+                int rows = isClosed() ? -1 : getCount();
+                QueryMetrics.recordStatement(sql, startNanos, rows);
+            }
+            super.close();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.edubridge.data.local.metrics;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear latency histogram in microseconds.
+ *
+ * Each power of two is split into 4 sub-buckets, so a percentile is accurate
+ * to within 25%. Recording is a few atomic increments and never blocks.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int GROUPS = 33;
+    static final int BUCKET_COUNT = SUB_BUCKETS * GROUPS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void record(long micros) {
+        if (micros < 0) micros = 0;
+        buckets.incrementAndGet(bucketFor(micros));
+        count.increment();
+        sumMicros.add(micros);
+
+        long max;
+        while (micros > (max = maxMicros.get()) && !maxMicros.compareAndSet(max, micros)) {
+            // retry
+        }
+    }
+
+    /**
+     * Clear all recorded values. Values recorded concurrently may be lost.
+     */
+    void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sumMicros.reset();
+        maxMicros.set(0);
+    }
+
+    public Snapshot snapshot() {
+        return snapshotOf(Collections.singletonList(this));
+    }
+
+    /**
+     * Combined snapshot of several histograms (e.g. the slots of a rolling window).
+     */
+    static Snapshot snapshotOf(List<LatencyHistogram> parts) {
+        long[] copy = new long[BUCKET_COUNT];
+        long total = 0;
+        long sum = 0;
+        long recorded = 0;
+        long max = 0;
+        for (LatencyHistogram part : parts) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                long n = part.buckets.get(i);
+                copy[i] += n;
+                total += n;
+            }
+            sum += part.sumMicros.sum();
+            recorded += part.count.sum();
+            max = Math.max(max, part.maxMicros.get());
+        }
+        long mean = total == 0 ? 0 : sum / Math.max(recorded, 1);
+        return new Snapshot(total, mean,
+                percentile(copy, total, 0.50, max),
+                percentile(copy, total, 0.95, max),
+                percentile(copy, total, 0.99, max),
+                max);
+    }
+
+    static int bucketFor(long micros) {
+        if (micros < SUB_BUCKETS) return (int) micros;
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int sub = (int) ((micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        int index = SUB_BUCKETS * (exponent - SUB_BUCKET_BITS + 1) + sub;
+        return Math.min(index, BUCKET_COUNT - 1);
+    }
+
+    /**
+     * Largest value that falls into the given bucket.
+     */
+    static long upperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int group = index / SUB_BUCKETS;
+        int sub = index % SUB_BUCKETS;
+        long lower = (long) (SUB_BUCKETS + sub) << (group - 1);
+        return lower + (1L << (group - 1)) - 1;
+    }
+
+    private static long percentile(long[] buckets, long total, double quantile, long max) {
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) return Math.min(upperBound(i), max);
+        }
+        return max;
+    }
+
+    public static final class Snapshot {
+        public final long count;
+        public final long meanMicros;
+        public final long p50Micros;
+        public final long p95Micros;
+        public final long p99Micros;
+        public final long maxMicros;
+
+        Snapshot(long count, long meanMicros, long p50Micros, long p95Micros,
+                 long p99Micros, long maxMicros) {
+            this.count = count;
+            this.meanMicros = meanMicros;
+            this.p50Micros = p50Micros;
+            this.p95Micros = p95Micros;
+            this.p99Micros = p99Micros;
+            this.maxMicros = maxMicros;
+        }
+    }
+}
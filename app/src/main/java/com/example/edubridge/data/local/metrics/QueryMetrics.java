@@ -0,0 +1,263 @@
+package com.example.edubridge.data.local.metrics;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.Context;
+import android.os.Bundle;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.room.RoomDatabase;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+
+import com.example.edubridge.BuildConfig;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local query latency instrumentation.
+ *
+ * Two layers feed the same registry:
+ * - DAO proxies ({@link #instrument}) time each synchronous DAO call, keyed "Dao#method".
+ * - The open helper wrapper ({@link #install}) times every SQL statement, including the ones
+ *   Room runs behind LiveData, keyed by the SQL text.
+ *
+ * Each entry keeps a {@link LatencyHistogram}, row counts and the screens it was issued from.
+ * Read it with {@link #report()}, {@link #dump()} or QueryStatsActivity.
+ *
+ * Debug builds only: in release both entry points hand back what they were given.
+ */
+public final class QueryMetrics {
+
+    private static final String TAG = "QueryMetrics";
+    private static final String NO_SCREEN = "(background)";
+
+    private static final ConcurrentHashMap<String, QueryStats> STATS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> CURRENT_DAO_CALL = new ThreadLocal<>();
+    private static final AtomicBoolean SCREENS_TRACKED = new AtomicBoolean(false);
+
+    private static volatile String currentScreen = NO_SCREEN;
+
+    private QueryMetrics() {}
+
+    /**
+     * Route all statements of the database through the timing open helper.
+     */
+    public static <T extends RoomDatabase> RoomDatabase.Builder<T> install(
+            Context context, RoomDatabase.Builder<T> builder) {
+        if (!BuildConfig.DEBUG) {
+            return builder;
+        }
+        trackScreens(context);
+        return builder.openHelperFactory(
+                new InstrumentedOpenHelperFactory(new FrameworkSQLiteOpenHelperFactory()));
+    }
+
+    /**
+     * Wrap a DAO so each synchronous call is timed. LiveData-returning methods pass
+     * through untouched; their statements are timed by the open helper instead.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T instrument(Class<T> daoClass, T dao) {
+        if (!BuildConfig.DEBUG) {
+            return dao;
+        }
+        String prefix = daoClass.getSimpleName() + "#";
+        return (T) Proxy.newProxyInstance(daoClass.getClassLoader(), new Class<?>[] { daoClass },
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class
+                            || LiveData.class.isAssignableFrom(method.getReturnType())) {
+                        return invoke(dao, method, args);
+                    }
+                    String key = prefix + method.getName();
+                    boolean outermost = CURRENT_DAO_CALL.get() == null;
+                    if (outermost) CURRENT_DAO_CALL.set(key);
+                    long start = System.nanoTime();
+                    try {
+                        Object result = invoke(dao, method, args);
+                        record(key, null, start, rowsOf(result));
+                        return result;
+                    } finally {
+                        if (outermost) CURRENT_DAO_CALL.remove();
+                    }
+                });
+    }
+
+    /* -------- Recording -------- */
+
+    static void recordStatement(String sql, long startNanos, long rows) {
+        record(normalize(sql), CURRENT_DAO_CALL.get(), startNanos, rows);
+    }
+
+    private static void record(String key, @Nullable String owner, long startNanos, long rows) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        QueryStats stats = STATS.get(key);
+        if (stats == null) {
+            stats = STATS.computeIfAbsent(key, QueryStats::new);
+        }
+        stats.record(micros, rows, currentScreen, owner);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static long rowsOf(Object result) {
+        if (result == null) return 0;
+        if (result instanceof Collection) return ((Collection<?>) result).size();
+        return 1;
+    }
+
+    /**
+     * Collapse expanded IN (?,?,?) lists so list arguments of any size share one entry.
+     */
+    private static String normalize(String sql) {
+        if (sql.indexOf(',') < 0) return sql;
+        return sql.replaceAll("\\?(\\s*,\\s*\\?)+", "?...");
+    }
+
+    private static void trackScreens(Context context) {
+        Context app = context.getApplicationContext();
+        if (!(app instanceof Application) || !SCREENS_TRACKED.compareAndSet(false, true)) return;
+
+        ((Application) app).registerActivityLifecycleCallbacks(new Application.ActivityLifecycleCallbacks() {
+            @Override
+            public void onActivityResumed(@NonNull Activity activity) {
+                currentScreen = activity.getClass().getSimpleName();
+            }
+
+            @Override
+            public void onActivityPaused(@NonNull Activity activity) {
+                if (activity.getClass().getSimpleName().equals(currentScreen)) {
+                    currentScreen = NO_SCREEN;
+                }
+            }
+
+            @Override public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle state) {}
+            @Override public void onActivityStarted(@NonNull Activity activity) {}
+            @Override public void onActivityStopped(@NonNull Activity activity) {}
+            @Override public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle state) {}
+            @Override public void onActivityDestroyed(@NonNull Activity activity) {}
+        });
+    }
+
+    /* -------- Dump API -------- */
+
+    /**
+     * Current numbers for every query, slowest p95 first.
+     */
+    public static List<QueryReport> report() {
+        List<QueryReport> reports = new ArrayList<>();
+        for (QueryStats stats : STATS.values()) {
+            reports.add(stats.toReport());
+        }
+        reports.sort((a, b) -> Long.compare(b.latency.p95Micros, a.latency.p95Micros));
+        return reports;
+    }
+
+    public static String dump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.US, "%8s %8s %8s %8s %8s %7s  %s%n",
+                "calls", "p50ms", "p95ms", "p99ms", "maxms", "rows", "query"));
+        for (QueryReport r : report()) {
+            sb.append(String.format(Locale.US, "%8d %8.2f %8.2f %8.2f %8.2f %7.1f  %s%n",
+                    r.latency.count, r.latency.p50Micros / 1000.0, r.latency.p95Micros / 1000.0,
+                    r.latency.p99Micros / 1000.0, r.latency.maxMicros / 1000.0, r.meanRows, r.key));
+            if (r.owner != null) {
+                sb.append("         via ").append(r.owner).append('\n');
+            }
+            sb.append("         from ").append(r.screens).append('\n');
+        }
+        return sb.toString();
+    }
+
+    public static void logDump() {
+        for (String line : dump().split("\n")) {
+            Log.i(TAG, line);
+        }
+    }
+
+    public static void reset() {
+        STATS.clear();
+    }
+
+    /* -------- Model -------- */
+
+    private static final class QueryStats {
+        final String key;
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder rows = new LongAdder();
+        final AtomicLong maxRows = new AtomicLong();
+        final ConcurrentHashMap<String, LongAdder> screens = new ConcurrentHashMap<>();
+        volatile String owner;
+
+        QueryStats(String key) {
+            this.key = key;
+        }
+
+        void record(long micros, long rowCount, String screen, @Nullable String caller) {
+            latency.record(micros);
+            if (rowCount > 0) {
+                rows.add(rowCount);
+                long max;
+                while (rowCount > (max = maxRows.get()) && !maxRows.compareAndSet(max, rowCount)) {
+                    // retry
+                }
+            }
+            LongAdder perScreen = screens.get(screen);
+            if (perScreen == null) {
+                perScreen = screens.computeIfAbsent(screen, s -> new LongAdder());
+            }
+            perScreen.increment();
+            if (caller != null && owner == null) owner = caller;
+        }
+
+        QueryReport toReport() {
+            LatencyHistogram.Snapshot snapshot = latency.snapshot();
+            double meanRows = snapshot.count == 0 ? 0 : (double) rows.sum() / snapshot.count;
+            StringBuilder bySource = new StringBuilder();
+            for (Map.Entry<String, LongAdder> e : screens.entrySet()) {
+                if (bySource.length() > 0) bySource.append(", ");
+                bySource.append(e.getKey()).append('=').append(e.getValue().sum());
+            }
+            return new QueryReport(key, owner, snapshot, meanRows, maxRows.get(), bySource.toString());
+        }
+    }
+
+    public static final class QueryReport {
+        public final String key;
+        @Nullable public final String owner;
+        public final LatencyHistogram.Snapshot latency;
+        public final double meanRows;
+        public final long maxRows;
+        public final String screens;
+
+        QueryReport(String key, @Nullable String owner, LatencyHistogram.Snapshot latency,
+                    double meanRows, long maxRows, String screens) {
+            this.key = key;
+            this.owner = owner;
+            this.latency = latency;
+            this.meanRows = meanRows;
+            this.maxRows = maxRows;
+            this.screens = screens;
+        }
+    }
+}
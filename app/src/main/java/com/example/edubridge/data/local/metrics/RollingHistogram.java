@@ -0,0 +1,57 @@
+package com.example.edubridge.data.local.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link LatencyHistogram} over a sliding time window, kept as a ring of
+ * equal slots; a slot is cleared when the ring comes back around to it.
+ */
+final class RollingHistogram {
+
+    private static final int SLOTS = 6;
+
+    private final long slotNanos;
+    private final LatencyHistogram[] slots = new LatencyHistogram[SLOTS];
+    private final long[] slotEpochs = new long[SLOTS]; // guarded by this
+
+    RollingHistogram(long windowMillis) {
+        slotNanos = windowMillis * 1_000_000L / SLOTS;
+        for (int i = 0; i < SLOTS; i++) {
+            slots[i] = new LatencyHistogram();
+            slotEpochs[i] = -1;
+        }
+    }
+
+    void record(long value) {
+        long epoch = System.nanoTime() / slotNanos;
+        int index = (int) (epoch % SLOTS);
+        LatencyHistogram slot;
+        synchronized (this) {
+            if (slotEpochs[index] != epoch) {
+                slots[index].reset();
+                slotEpochs[index] = epoch;
+            }
+            slot = slots[index];
+        }
+        slot.record(value);
+    }
+
+    LatencyHistogram.Snapshot snapshot() {
+        long epoch = System.nanoTime() / slotNanos;
+        List<LatencyHistogram> live = new ArrayList<>(SLOTS);
+        synchronized (this) {
+            for (int i = 0; i < SLOTS; i++) {
+                if (epoch - slotEpochs[i] < SLOTS) live.add(slots[i]);
+            }
+        }
+        return LatencyHistogram.snapshotOf(live);
+    }
+
+    synchronized void reset() {
+        for (int i = 0; i < SLOTS; i++) {
+            slots[i].reset();
+            slotEpochs[i] = -1;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.edubridge.data.local.metrics;
+
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Screen startup telemetry, fed by StartupScheduler.
+ *
+ * Per screen: wall time of each startup phase (critical, first_frame, after_first_frame,
+ * idle_done) measured from activity creation, and the run time of every deferred task.
+ * Startups are rare, so histograms are cumulative rather than windowed.
+ */
+public final class StartupMetrics {
+
+    private static final String TAG = "StartupMetrics";
+
+    private static final ConcurrentHashMap<String, Entry> ENTRIES = new ConcurrentHashMap<>();
+
+    private StartupMetrics() {}
+
+    /**
+     * @param name phase name, or "tier/task" for a single task
+     */
+    public static void record(String screen, String name, long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        String key = screen + "/" + name;
+        Entry entry = ENTRIES.get(key);
+        if (entry == null) {
+            entry = ENTRIES.computeIfAbsent(key, Entry::new);
+        }
+        entry.histogram.record(micros);
+        entry.lastMicros = micros;
+    }
+
+    /* -------- Dump API -------- */
+
+    public static List<Report> report() {
+        List<Report> reports = new ArrayList<>();
+        for (Entry entry : ENTRIES.values()) {
+            reports.add(new Report(entry.key, entry.lastMicros, entry.histogram.snapshot()));
+        }
+        reports.sort((a, b) -> a.key.compareTo(b.key));
+        return reports;
+    }
+
+    public static String dump() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.US, "%6s %8s %8s %8s %8s  %s%n",
+                "count", "lastms", "p50ms", "p95ms", "maxms", "screen/phase"));
+        for (Report r : report()) {
+            sb.append(String.format(Locale.US, "%6d %8.1f %8.1f %8.1f %8.1f  %s%n",
+                    r.stats.count, r.lastMicros / 1000.0, r.stats.p50Micros / 1000.0,
+                    r.stats.p95Micros / 1000.0, r.stats.maxMicros / 1000.0, r.key));
+        }
+        return sb.toString();
+    }
+
+    public static void logDump() {
+        for (String line : dump().split("\n")) {
+            Log.i(TAG, line);
+        }
+    }
+
+    public static void reset() {
+        ENTRIES.clear();
+    }
+
+    /* -------- Model -------- */
+
+    private static final class Entry {
+        final String key;
+        final LatencyHistogram histogram = new LatencyHistogram();
+        volatile long lastMicros;
+
+        Entry(String key) {
+            this.key = key;
+        }
+    }
+
+    public static final class Report {
+        public final String key;
+        public final long lastMicros;
+        public final LatencyHistogram.Snapshot stats;
+
+        Report(String key, long lastMicros, LatencyHistogram.Snapshot stats) {
+            this.key = key;
+            this.lastMicros = lastMicros;
+            this.stats = stats;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.edubridge.data.local.outbox;
+
+import androidx.annotation.Nullable;
+
+import com.example.edubridge.data.local.entity.OutboxEntry;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.FieldValue;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON persistence and coalescing of outbox field maps.
+ *
+ * Sentinels are stored as {"__op": ...} objects: increments, server timestamps
+ * and Timestamps, which are turned back into Firestore values by {@link #toFirestore}.
+ */
+public final class OutboxCodec {
+
+    private static final String OP = "__op";
+
+    static final Object SERVER_TIMESTAMP = new Object();
+
+    static final class Increment {
+        final Number delta;
+
+        Increment(Number delta) {
+            this.delta = delta;
+        }
+    }
+
+    private OutboxCodec() {}
+
+    // ===== Encoding =====
+
+    public static String encode(Map<String, Object> fields) {
+        try {
+            return ((JSONObject) toJson(fields)).toString();
+        } catch (JSONException e) {
+            throw new IllegalArgumentException("Unsupported outbox value", e);
+        }
+    }
+
+    /**
+     * A new, unsaved outbox row for write.
+     */
+    public static OutboxEntry toEntry(OutboxWrite write, long createdAt) {
+        OutboxEntry entry = new OutboxEntry();
+        entry.documentPath = write.getDocumentPath();
+        entry.type = write.getType().name();
+        entry.fieldsJson = write.getType() == OutboxWrite.Type.DELETE ? null : encode(write.getFields());
+        entry.createdAt = createdAt;
+        return entry;
+    }
+
+    public static Map<String, Object> decode(@Nullable String json) {
+        if (json == null || json.isEmpty()) return new LinkedHashMap<>();
+        try {
+            return toMap(new JSONObject(json));
+        } catch (JSONException e) {
+            throw new IllegalArgumentException("Corrupt outbox entry", e);
+        }
+    }
+
+    private static Object toJson(Object value) throws JSONException {
+        if (value == null) return JSONObject.NULL;
+        if (value == SERVER_TIMESTAMP) return new JSONObject().put(OP, "serverTimestamp");
+        if (value instanceof Increment) {
+            return new JSONObject().put(OP, "increment").put("v", ((Increment) value).delta);
+        }
+        if (value instanceof Date) value = new Timestamp((Date) value);
+        if (value instanceof Timestamp) {
+            Timestamp ts = (Timestamp) value;
+            return new JSONObject().put(OP, "timestamp")
+                    .put("s", ts.getSeconds()).put("n", ts.getNanoseconds());
+        }
+        if (value instanceof Map) {
+            JSONObject object = new JSONObject();
+            for (Map.Entry<?, ?> e : ((Map<?, ?>) value).entrySet()) {
+                object.put(String.valueOf(e.getKey()), toJson(e.getValue()));
+            }
+            return object;
+        }
+        if (value instanceof List) {
+            JSONArray array = new JSONArray();
+            for (Object item : (List<?>) value) array.put(toJson(item));
+            return array;
+        }
+        if (value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        throw new JSONException("Cannot queue value of type " + value.getClass().getName());
+    }
+
+    private static Map<String, Object> toMap(JSONObject object) throws JSONException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        Iterator<String> keys = object.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            map.put(key, fromJson(object.get(key)));
+        }
+        return map;
+    }
+
+    private static Object fromJson(Object value) throws JSONException {
+        if (value == JSONObject.NULL) return null;
+        if (value instanceof JSONObject) {
+            JSONObject object = (JSONObject) value;
+            String op = object.optString(OP, null);
+            if ("serverTimestamp".equals(op)) return SERVER_TIMESTAMP;
+            if ("increment".equals(op)) return new Increment((Number) object.get("v"));
+            if ("timestamp".equals(op)) return new Timestamp(object.getLong("s"), object.getInt("n"));
+            return toMap(object);
+        }
+        if (value instanceof JSONArray) {
+            JSONArray array = (JSONArray) value;
+            List<Object> list = new ArrayList<>(array.length());
+            for (int i = 0; i < array.length(); i++) list.add(fromJson(array.get(i)));
+            return list;
+        }
+        return value;
+    }
+
+    // ===== Coalescing =====
+
+    /**
+     * fieldsJson for each entry of pending, the newest pending group for these documents,
+     * once group is folded into it; null if the two cannot be merged.
+     *
+     * Only groups that write the same documents with the same types in the same order
+     * qualify, so the merged group still commits as one batch and no write changes
+     * meaning (an UPDATE that would fail on a missing document must not become a
+     * SET_MERGE that creates one). A write enqueued on its own is a group of one.
+     */
+    @Nullable
+    public static List<String> coalesce(List<OutboxEntry> pending, List<OutboxEntry> group) {
+        if (pending.size() != group.size()) return null;
+        List<String> merged = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            OutboxEntry earlier = pending.get(i);
+            OutboxEntry later = group.get(i);
+            if (!earlier.documentPath.equals(later.documentPath) || !earlier.type.equals(later.type)) {
+                return null;
+            }
+            OutboxWrite.Type type = OutboxWrite.Type.valueOf(later.type);
+            if (type == OutboxWrite.Type.DELETE) {
+                merged.add(null);
+                continue;
+            }
+            Map<String, Object> fields = coalesce(type, decode(earlier.fieldsJson), decode(later.fieldsJson));
+            if (fields == null) return null;
+            merged.add(encode(fields));
+        }
+        return merged;
+    }
+
+    /**
+     * Fields of one write of the given type with the effect of earlier followed by later,
+     * or null if no single write has it.
+     */
+    @Nullable
+    public static Map<String, Object> coalesce(OutboxWrite.Type type, Map<String, Object> earlier,
+                                               Map<String, Object> later) {
+        switch (type) {
+            case SET:
+                // Overwrites the whole document, pending increments included
+                return new LinkedHashMap<>(later);
+            case SET_MERGE:
+                return merge(earlier, later, true);
+            case UPDATE:
+                // Keys are field paths: "a" and "a.b" cannot go into one update()
+                return overlappingPaths(earlier, later) ? null : merge(earlier, later, false);
+            case DELETE:
+            default:
+                return earlier;
+        }
+    }
+
+    private static boolean overlappingPaths(Map<String, Object> earlier, Map<String, Object> later) {
+        for (String a : later.keySet()) {
+            for (String b : earlier.keySet()) {
+                if (b.startsWith(a + ".") || a.startsWith(b + ".")) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Fold a later write's fields into an earlier pending write of the same document.
+     * Increments add up; with deepMerge (set-merge semantics) nested maps are merged,
+     * otherwise the later value replaces the field.
+     */
+    public static Map<String, Object> merge(Map<String, Object> earlier, Map<String, Object> later,
+                                            boolean deepMerge) {
+        Map<String, Object> result = new LinkedHashMap<>(earlier);
+        for (Map.Entry<String, Object> e : later.entrySet()) {
+            result.put(e.getKey(), mergeValue(result.get(e.getKey()), e.getValue(), deepMerge));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object mergeValue(Object earlier, Object later, boolean deepMerge) {
+        if (later instanceof Increment) {
+            Number delta = ((Increment) later).delta;
+            if (earlier instanceof Increment) {
+                return new Increment(add(((Increment) earlier).delta, delta));
+            }
+            if (earlier instanceof Number) {
+                return add((Number) earlier, delta);
+            }
+            return later;
+        }
+        if (deepMerge && earlier instanceof Map && later instanceof Map) {
+            return merge((Map<String, Object>) earlier, (Map<String, Object>) later, true);
+        }
+        return later;
+    }
+
+    private static Number add(Number a, Number b) {
+        boolean integral = !(a instanceof Double || a instanceof Float
+                || b instanceof Double || b instanceof Float);
+        return integral ? (Number) (a.longValue() + b.longValue()) : (Number) (a.doubleValue() + b.doubleValue());
+    }
+
+    // ===== Flushing =====
+
+    /**
+     * Replace sentinels with the Firestore values they stand for.
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> toFirestore(Map<String, Object> fields) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> e : fields.entrySet()) {
+            Object value = e.getValue();
+            if (value == SERVER_TIMESTAMP) {
+                value = FieldValue.serverTimestamp();
+            } else if (value instanceof Increment) {
+                Number delta = ((Increment) value).delta;
+                value = (delta instanceof Double || delta instanceof Float)
+                        ? FieldValue.increment(delta.doubleValue())
+                        : FieldValue.increment(delta.longValue());
+            } else if (value instanceof Map) {
+                value = toFirestore((Map<String, Object>) value);
+            }
+            result.put(e.getKey(), value);
+        }
+        return result;
+    }
+}
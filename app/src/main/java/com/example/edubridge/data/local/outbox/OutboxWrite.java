@@ -0,0 +1,89 @@
+package com.example.edubridge.data.local.outbox;
+
+import androidx.annotation.NonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * One queued Firestore mutation for the outbox.
+ *
+ * Field values may be plain Firestore values (String, Number, Boolean, Timestamp,
+ * Date, Map, List, null) or the sentinels added by {@link #increment} and
+ * {@link #serverTimestamp}; FieldValue objects cannot be persisted, so use those instead.
+ */
+public final class OutboxWrite {
+
+    public enum Type {
+        /** Overwrite the whole document. */
+        SET,
+        /** set(..., SetOptions.merge()). */
+        SET_MERGE,
+        /** update(...); fails if the document does not exist. */
+        UPDATE,
+        DELETE
+    }
+
+    final String documentPath;
+    final Type type;
+    final Map<String, Object> fields = new LinkedHashMap<>();
+
+    private OutboxWrite(String documentPath, Type type) {
+        this.documentPath = documentPath;
+        this.type = type;
+    }
+
+    public static OutboxWrite set(@NonNull String documentPath) {
+        return new OutboxWrite(documentPath, Type.SET);
+    }
+
+    public static OutboxWrite setMerge(@NonNull String documentPath) {
+        return new OutboxWrite(documentPath, Type.SET_MERGE);
+    }
+
+    public static OutboxWrite update(@NonNull String documentPath) {
+        return new OutboxWrite(documentPath, Type.UPDATE);
+    }
+
+    public static OutboxWrite delete(@NonNull String documentPath) {
+        return new OutboxWrite(documentPath, Type.DELETE);
+    }
+
+    public OutboxWrite put(@NonNull String field, Object value) {
+        fields.put(field, value);
+        return this;
+    }
+
+    public OutboxWrite putAll(@NonNull Map<String, Object> values) {
+        fields.putAll(values);
+        return this;
+    }
+
+    /**
+     * FieldValue.increment(delta); repeated increments to one field are summed while queued.
+     */
+    public OutboxWrite increment(@NonNull String field, long delta) {
+        fields.put(field, new OutboxCodec.Increment(delta));
+        return this;
+    }
+
+    /**
+     * FieldValue.serverTimestamp().
+     */
+    public OutboxWrite serverTimestamp(@NonNull String field) {
+        fields.put(field, OutboxCodec.SERVER_TIMESTAMP);
+        return this;
+    }
+
+    public String getDocumentPath() {
+        return documentPath;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Map<String, Object> getFields() {
+        return fields;
+    }
+}
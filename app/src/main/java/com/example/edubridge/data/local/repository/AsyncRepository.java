@@ -0,0 +1,75 @@
+package com.example.edubridge.data.local.repository;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.edubridge.data.local.metrics.ExecutorMetrics;
+import com.example.edubridge.utils.AppExecutors;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Base for the async DAO facades.
+ * DAO work runs on AppExecutors.diskIO(); results are posted back on the main thread.
+ */
+abstract class AsyncRepository {
+
+    private static final String TAG = "AsyncRepository";
+
+    private final ExecutorService diskIO;
+    private final Executor mainThread;
+    private final String readTag;
+    private final String writeTag;
+
+    AsyncRepository() {
+        AppExecutors executors = AppExecutors.getInstance();
+        this.diskIO = executors.diskIO();
+        this.mainThread = executors.mainThread();
+        this.readTag = getClass().getSimpleName() + "#read";
+        this.writeTag = getClass().getSimpleName() + "#write";
+    }
+
+    /**
+     * Run a DAO read in the background and deliver its result, or its failure, on the
+     * main thread. Cancelling the returned future before it starts skips the read and
+     * the callback.
+     */
+    protected <T> Future<?> query(Callable<T> work, @Nullable DbCallback<T> callback) {
+        return diskIO.submit(ExecutorMetrics.tag(readTag, () -> {
+            T result;
+            try {
+                result = work.call();
+            } catch (Exception e) {
+                Log.e(TAG, "Local query failed", e);
+                if (callback != null) {
+                    mainThread.execute(() -> callback.onError(e));
+                }
+                return;
+            }
+            if (callback != null) {
+                mainThread.execute(() -> callback.onResult(result));
+            }
+        }));
+    }
+
+    /**
+     * Run a DAO write in the background, then optionally notify on the main thread.
+     */
+    protected void execute(Runnable work, @Nullable Runnable onDone) {
+        diskIO.execute(ExecutorMetrics.tag(writeTag, () -> {
+            try {
+                work.run();
+            } catch (Exception e) {
+                Log.e(TAG, "Local write failed", e);
+                return;
+            }
+            if (onDone != null) {
+                mainThread.execute(onDone);
+            }
+        }));
+    }
+}
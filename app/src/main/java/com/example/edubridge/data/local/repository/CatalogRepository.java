@@ -0,0 +1,76 @@
+package com.example.edubridge.data.local.repository;
+
+import android.content.Context;
+
+import androidx.annotation.Nullable;
+
+import com.example.edubridge.data.local.AppDatabase;
+import com.example.edubridge.data.local.dao.CatalogCourseDao;
+import com.example.edubridge.data.local.entity.CatalogCourse;
+import com.example.edubridge.data.local.entity.Course;
+import com.example.edubridge.data.local.metrics.QueryMetrics;
+import com.example.edubridge.data.local.search.CourseSearchRanker;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * Async facade over {@link CatalogCourseDao}.
+ */
+public class CatalogRepository extends AsyncRepository {
+
+    private static volatile CatalogRepository INSTANCE;
+
+    private final CatalogCourseDao dao;
+
+    private CatalogRepository(Context context) {
+        dao = QueryMetrics.instrument(CatalogCourseDao.class,
+                AppDatabase.getInstance(context).catalogCourseDao());
+    }
+
+    public static CatalogRepository getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (CatalogRepository.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new CatalogRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * The cached catalog as courses without local progress.
+     */
+    public Future<?> loadAllCourses(DbCallback<List<Course>> callback) {
+        return query(() -> {
+            List<CatalogCourse> rows = dao.getAllSync();
+            List<Course> courses = new ArrayList<>(rows.size());
+            for (CatalogCourse row : rows) courses.add(row.toCourse());
+            return courses;
+        }, callback);
+    }
+
+    /**
+     * Prefix full-text search; delivers matching course ids, best match first.
+     */
+    public void searchCourses(String input, DbCallback<List<String>> callback) {
+        String matchQuery = CourseSearchRanker.toMatchQuery(input);
+        if (matchQuery == null) {
+            callback.onResult(Collections.emptyList());
+            return;
+        }
+        query(() -> CourseSearchRanker.rank(dao.search(matchQuery)), callback);
+    }
+
+    /**
+     * Cache browsed catalog courses locally (catalog fields only, no progress).
+     */
+    public void cacheCatalog(List<Course> courses, @Nullable Runnable onDone) {
+        List<CatalogCourse> rows = new ArrayList<>(courses.size());
+        for (Course course : courses) rows.add(CatalogCourse.from(course));
+        execute(() -> dao.upsertAll(rows), onDone);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.edubridge.data.local.repository;
+
+import android.content.Context;
+
+import androidx.annotation.Nullable;
+
+import com.example.edubridge.data.local.AppDatabase;
+import com.example.edubridge.data.local.dao.ChatMessageDao;
+import com.example.edubridge.data.local.entity.ChatMessage;
+import com.example.edubridge.data.local.metrics.QueryMetrics;
+
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * Async facade over {@link ChatMessageDao}.
+ * Pages are returned newest first, as the DAO keyset queries produce them.
+ */
+public class ChatMessageRepository extends AsyncRepository {
+
+    private static volatile ChatMessageRepository INSTANCE;
+
+    private final ChatMessageDao dao;
+
+    private ChatMessageRepository(Context context) {
+        dao = QueryMetrics.instrument(ChatMessageDao.class,
+                AppDatabase.getInstance(context).chatMessageDao());
+    }
+
+    public static ChatMessageRepository getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (ChatMessageRepository.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new ChatMessageRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    public Future<?> loadLatestPage(int limit, DbCallback<List<ChatMessage>> callback) {
+        return query(() -> dao.getLatestPage(limit), callback);
+    }
+
+    public Future<?> loadPageBefore(long beforeTimestamp, String beforeId, int limit,
+                                    DbCallback<List<ChatMessage>> callback) {
+        return query(() -> dao.getPageBefore(beforeTimestamp, beforeId, limit), callback);
+    }
+
+    /**
+     * Insert a message, then return every message after the given cursor (oldest first).
+     */
+    public void insertAndLoadAfter(ChatMessage message, long afterTimestamp, String afterId,
+                                   DbCallback<List<ChatMessage>> callback) {
+        query(() -> {
+            dao.insert(message);
+            return dao.getMessagesAfter(afterTimestamp, afterId);
+        }, callback);
+    }
+
+    public void deleteAll(@Nullable Runnable onDone) {
+        execute(dao::deleteAll, onDone);
+    }
+
+    /**
+     * Replace the whole history in one transaction.
+     */
+    public void replaceAll(List<ChatMessage> messages, @Nullable Runnable onDone) {
+        execute(() -> dao.replaceAll(messages), onDone);
+    }
+}
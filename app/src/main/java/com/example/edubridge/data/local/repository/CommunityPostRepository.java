@@ -0,0 +1,55 @@
+package com.example.edubridge.data.local.repository;
+
+import android.content.Context;
+
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+
+import com.example.edubridge.data.local.AppDatabase;
+import com.example.edubridge.data.local.dao.CommunityPostDao;
+import com.example.edubridge.data.local.entity.LocalCommunityPost;
+import com.example.edubridge.data.local.metrics.QueryMetrics;
+
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * Async facade over {@link CommunityPostDao}.
+ */
+public class CommunityPostRepository extends AsyncRepository {
+
+    private static volatile CommunityPostRepository INSTANCE;
+
+    private final CommunityPostDao dao;
+
+    private CommunityPostRepository(Context context) {
+        dao = QueryMetrics.instrument(CommunityPostDao.class,
+                AppDatabase.getInstance(context).communityPostDao());
+    }
+
+    public static CommunityPostRepository getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (CommunityPostRepository.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new CommunityPostRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    public LiveData<List<LocalCommunityPost>> getAllPosts() {
+        return dao.getAllPosts();
+    }
+
+    public Future<?> loadAllPosts(DbCallback<List<LocalCommunityPost>> callback) {
+        return query(dao::getAllPostsSync, callback);
+    }
+
+    /**
+     * Replace the cached posts with a fresh snapshot in one transaction.
+     */
+    public void replaceAll(List<LocalCommunityPost> posts, @Nullable Runnable onDone) {
+        execute(() -> dao.replaceAll(posts), onDone);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.edubridge.data.local.repository;
+
+import android.content.Context;
+
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+
+import com.example.edubridge.data.local.AppDatabase;
+import com.example.edubridge.data.local.dao.CourseDao;
+import com.example.edubridge.data.local.entity.Course;
+import com.example.edubridge.data.local.metrics.QueryMetrics;
+
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * Async facade over {@link CourseDao}.
+ */
+public class CourseRepository extends AsyncRepository {
+
+    private static volatile CourseRepository INSTANCE;
+
+    private final CourseDao dao;
+
+    private CourseRepository(Context context) {
+        dao = QueryMetrics.instrument(CourseDao.class,
+                AppDatabase.getInstance(context).courseDao());
+    }
+
+    public static CourseRepository getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (CourseRepository.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new CourseRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    public LiveData<List<Course>> getAllCourses() {
+        return dao.getAllCourses();
+    }
+
+    public Future<?> loadAllCourses(DbCallback<List<Course>> callback) {
+        return query(dao::getAllCoursesSync, callback);
+    }
+
+    public Future<?> loadCourseById(String courseId, DbCallback<Course> callback) {
+        return query(() -> dao.getCourseByIdSync(courseId), callback);
+    }
+
+    public void insert(Course course) {
+        execute(() -> dao.insert(course), null);
+    }
+
+    /**
+     * Clear the table and insert the given courses in one transaction.
+     */
+    public void replaceAll(List<Course> courses, @Nullable Runnable onDone) {
+        execute(() -> dao.replaceAll(courses), onDone);
+    }
+
+    /**
+     * Apply upserts and deletions in one transaction.
+     */
+    public void applyChanges(List<Course> upserts, List<String> removedIds) {
+        execute(() -> dao.applyChanges(upserts, removedIds), null);
+    }
+
+    public void deleteAll() {
+        execute(dao::deleteAll, null);
+    }
+}
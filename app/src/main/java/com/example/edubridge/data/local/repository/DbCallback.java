@@ -0,0 +1,13 @@
+package com.example.edubridge.data.local.repository;
+
+/**
+ * Result callback for repository reads. Always invoked on the main thread.
+ */
+public interface DbCallback<T> {
+    void onResult(T result);
+
+    /**
+     * Called instead of onResult when the read failed; the error is already logged.
+     */
+    default void onError(Exception error) {}
+}
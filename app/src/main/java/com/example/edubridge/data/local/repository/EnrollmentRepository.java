@@ -0,0 +1,300 @@
+package com.example.edubridge.data.local.repository;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.example.edubridge.data.local.AppDatabase;
+import com.example.edubridge.data.local.dao.EnrollmentDao;
+import com.example.edubridge.data.local.entity.Enrollment;
+import com.example.edubridge.data.local.metrics.QueryMetrics;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * M3.3 Enrollment cache with three tiers:
+ * - memory: courseId -> Enrollment for the signed-in user, answered synchronously
+ * - Room: enrollments table, loads the memory tier on cold start
+ * - Firestore: one snapshot listener on users/{uid}/enrollments keeps both fresh
+ *
+ * The cache is "warm" once it has either a Firestore baseline or rows restored from Room;
+ * until then callers fall back to a network read.
+ *
+ * The same listener also backs {@link #observe()}: every screen that needs the user's
+ * enrollments shares it instead of attaching its own listener or issuing a get().
+ */
+public class EnrollmentRepository extends AsyncRepository {
+
+    private static final String TAG = "EnrollmentRepository";
+    // Recent course-id sets whose versions are handed out again when a set comes back
+    private static final int MAX_RECENT_ID_SETS = 8;
+
+    private static volatile EnrollmentRepository INSTANCE;
+
+    private final EnrollmentDao dao;
+    private final Map<String, Enrollment> memory = new ConcurrentHashMap<>();
+
+    private volatile String userId;
+    private volatile boolean warm = false;
+    private boolean hasBaseline = false;
+    private ListenerRegistration listener;
+    private final MutableLiveData<Snapshot> stream = new MutableLiveData<>();
+    private long idsVersion = 0; // main thread
+    private final Map<Set<String>, Long> recentIdsVersions = // main thread
+            new LinkedHashMap<Set<String>, Long>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Set<String>, Long> eldest) {
+                    return size() > MAX_RECENT_ID_SETS;
+                }
+            };
+
+    private EnrollmentRepository(Context context) {
+        dao = QueryMetrics.instrument(EnrollmentDao.class,
+                AppDatabase.getInstance(context).enrollmentDao());
+    }
+
+    public static EnrollmentRepository getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (EnrollmentRepository.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new EnrollmentRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Start caching enrollments for a user. No-op if already running for them.
+     */
+    @MainThread
+    public void start(String uid) {
+        if (uid == null || (uid.equals(userId) && listener != null)) return;
+        stop();
+        userId = uid;
+
+        query(() -> dao.getAllForUser(uid), rows -> {
+            if (!uid.equals(userId) || hasBaseline) return;
+            for (Enrollment e : rows) memory.put(e.courseId, e);
+            // An empty table may just mean we never synced; wait for Firestore then
+            if (!rows.isEmpty()) {
+                warm = true;
+                publish(uid);
+            }
+        });
+
+        listener = FirebaseFirestore.getInstance()
+                .collection("users").document(uid).collection("enrollments")
+                .addSnapshotListener((snapshots, e) -> onSnapshot(uid, snapshots, e));
+    }
+
+    /**
+     * Detach the listener and drop the memory tier (e.g. on sign-out). Room rows are kept.
+     */
+    @MainThread
+    public void stop() {
+        if (listener != null) {
+            listener.remove();
+            listener = null;
+        }
+        userId = null;
+        warm = false;
+        hasBaseline = false;
+        memory.clear();
+        recentIdsVersions.clear();
+        stream.setValue(null);
+    }
+
+    public boolean isWarm(String uid) {
+        return warm && uid != null && uid.equals(userId);
+    }
+
+    /**
+     * Cached enrollment for the current user, or null if not enrolled (or not warm).
+     */
+    @Nullable
+    public Enrollment peek(String courseId) {
+        return courseId == null ? null : memory.get(courseId);
+    }
+
+    public Set<String> enrolledCourseIds() {
+        Snapshot latest = stream.getValue();
+        if (latest != null) return latest.courseIds;
+        return Collections.unmodifiableSet(new HashSet<>(memory.keySet()));
+    }
+
+    /**
+     * The current user's enrollments, re-emitted after every change once the cache is warm.
+     * Null after {@link #stop()}; check {@link Snapshot#userId} against the signed-in user,
+     * since LiveData replays the last value to new observers.
+     */
+    public LiveData<Snapshot> observe() {
+        return stream;
+    }
+
+    /**
+     * Apply a progress change made on this device before Firestore echoes it back, so the
+     * next change computes its stats delta from this one. Returns the previous row, or
+     * null if the course is not cached.
+     */
+    @MainThread
+    @Nullable
+    public Enrollment applyLocalProgress(String uid, String courseId, int progress,
+                                         @Nullable String status, long now) {
+        if (uid == null || !uid.equals(userId) || courseId == null) return null;
+        Enrollment previous = memory.get(courseId);
+        if (previous == null) return null;
+
+        Enrollment updated = copyOf(previous);
+        updated.progress = progress;
+        updated.lastAccessedAt = now;
+        if (status != null) updated.status = status;
+        if ("completed".equals(status)) updated.completedAt = now;
+        memory.put(courseId, updated);
+        publish(uid);
+        return previous;
+    }
+
+    private void onSnapshot(String uid, @Nullable QuerySnapshot snapshots,
+                            @Nullable FirebaseFirestoreException e) {
+        if (e != null) {
+            Log.w(TAG, "Listen failed.", e);
+            return;
+        }
+        if (snapshots == null || !uid.equals(userId)) return;
+
+        if (!hasBaseline) {
+            hasBaseline = true;
+            List<Enrollment> all = new ArrayList<>();
+            memory.clear();
+            for (QueryDocumentSnapshot doc : snapshots) {
+                Enrollment enrollment = fromDocument(uid, doc);
+                memory.put(enrollment.courseId, enrollment);
+                all.add(enrollment);
+            }
+            warm = true;
+            publish(uid);
+            execute(() -> dao.replaceAllForUser(uid, all), null);
+            return;
+        }
+
+        List<DocumentChange> changes = snapshots.getDocumentChanges();
+        if (changes.isEmpty()) return;
+
+        List<Enrollment> upserts = new ArrayList<>();
+        List<String> removedIds = new ArrayList<>();
+        for (DocumentChange change : changes) {
+            String courseId = change.getDocument().getId();
+            if (change.getType() == DocumentChange.Type.REMOVED) {
+                memory.remove(courseId);
+                removedIds.add(courseId);
+            } else {
+                Enrollment enrollment = fromDocument(uid, change.getDocument());
+                memory.put(courseId, enrollment);
+                upserts.add(enrollment);
+            }
+        }
+        publish(uid);
+        execute(() -> dao.applyChanges(uid, upserts, removedIds), null);
+    }
+
+    /**
+     * Build one immutable view of the memory tier and hand it to every observer.
+     */
+    @MainThread
+    private void publish(String uid) {
+        List<Enrollment> all = new ArrayList<>(memory.values());
+        // Same order as the Firestore query (document id) so lists don't reshuffle
+        all.sort((a, b) -> a.courseId.compareTo(b.courseId));
+        Set<String> ids = new HashSet<>();
+        for (Enrollment e : all) ids.add(e.courseId);
+
+        // Progress-only changes keep the version, and so does unenrolling and enrolling
+        // back, so caches keyed on the id set stay valid
+        Snapshot previous = stream.getValue();
+        if (previous != null && !uid.equals(previous.userId)) recentIdsVersions.clear();
+        Long version = recentIdsVersions.get(ids);
+        if (version == null) {
+            version = ++idsVersion;
+            recentIdsVersions.put(ids, version);
+        }
+        stream.setValue(new Snapshot(uid, all, ids, version));
+    }
+
+    private static Enrollment fromDocument(String uid, DocumentSnapshot doc) {
+        Enrollment e = new Enrollment();
+        e.userId = uid;
+        e.courseId = doc.getId();
+        e.courseTitle = doc.getString("courseTitle");
+        e.category = doc.getString("category");
+        e.totalLessons = intValue(doc.getLong("totalLessons"));
+        e.progress = intValue(doc.getLong("progress"));
+        e.status = doc.getString("status");
+        e.enrolledAt = longValue(doc.getLong("enrolledAt"));
+        e.lastAccessedAt = longValue(doc.getLong("lastAccessedAt"));
+        e.completedAt = doc.getLong("completedAt");
+        return e;
+    }
+
+    private static Enrollment copyOf(Enrollment source) {
+        Enrollment e = new Enrollment();
+        e.userId = source.userId;
+        e.courseId = source.courseId;
+        e.courseTitle = source.courseTitle;
+        e.category = source.category;
+        e.totalLessons = source.totalLessons;
+        e.progress = source.progress;
+        e.status = source.status;
+        e.enrolledAt = source.enrolledAt;
+        e.lastAccessedAt = source.lastAccessedAt;
+        e.completedAt = source.completedAt;
+        return e;
+    }
+
+    private static int intValue(@Nullable Long value) {
+        return value != null ? value.intValue() : 0;
+    }
+
+    private static long longValue(@Nullable Long value) {
+        return value != null ? value : 0;
+    }
+
+    /**
+     * Immutable enrollment list for one user, with the course-id set computed once.
+     */
+    public static final class Snapshot {
+        public final String userId;
+        public final List<Enrollment> enrollments;
+        public final Set<String> courseIds;
+        /**
+         * Equal versions mean equal {@link #courseIds} for the same user. A recently seen
+         * set gets its old version back, so toggling an enrollment reuses both versions.
+         */
+        public final long idsVersion;
+
+        Snapshot(String userId, List<Enrollment> enrollments, Set<String> courseIds, long idsVersion) {
+            this.userId = userId;
+            this.enrollments = Collections.unmodifiableList(enrollments);
+            this.courseIds = Collections.unmodifiableSet(courseIds);
+            this.idsVersion = idsVersion;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.edubridge.data.local.repository;
+
+import android.content.Context;
+
+import androidx.annotation.Nullable;
+
+import com.example.edubridge.data.local.AppDatabase;
+import com.example.edubridge.data.local.dao.LessonProgressDao;
+import com.example.edubridge.data.local.entity.LessonProgress;
+import com.example.edubridge.data.local.metrics.QueryMetrics;
+
+/**
+ * Async facade over {@link LessonProgressDao}.
+ */
+public class LessonProgressRepository extends AsyncRepository {
+
+    private static volatile LessonProgressRepository INSTANCE;
+
+    private final LessonProgressDao dao;
+
+    private LessonProgressRepository(Context context) {
+        dao = QueryMetrics.instrument(LessonProgressDao.class,
+                AppDatabase.getInstance(context).lessonProgressDao());
+    }
+
+    public static LessonProgressRepository getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (LessonProgressRepository.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new LessonProgressRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    public void isLessonCompleted(String courseId, int lessonIndex, DbCallback<Boolean> callback) {
+        query(() -> {
+            LessonProgress progress = dao.get(courseId);
+            return progress != null && progress.isCompleted(lessonIndex);
+        }, callback);
+    }
+
+    public void loadProgress(String courseId, DbCallback<LessonProgress> callback) {
+        query(() -> {
+            LessonProgress progress = dao.get(courseId);
+            return progress != null ? progress : new LessonProgress(courseId);
+        }, callback);
+    }
+
+    public void markLessonCompleted(String courseId, int lessonIndex, @Nullable DbCallback<Boolean> callback) {
+        query(() -> dao.markCompleted(courseId, lessonIndex), callback);
+    }
+
+    public void loadCompletedCount(String courseId, DbCallback<Integer> callback) {
+        query(() -> dao.getCompletedCount(courseId), callback);
+    }
+
+    public void clearCourse(String courseId, @Nullable Runnable onDone) {
+        execute(() -> dao.clear(courseId), onDone);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.edubridge.data.local.repository;
+
+import android.content.Context;
+
+import androidx.annotation.WorkerThread;
+import androidx.lifecycle.LiveData;
+
+import com.example.edubridge.data.local.AppDatabase;
+import com.example.edubridge.data.local.dao.NotificationDao;
+import com.example.edubridge.data.local.entity.Notification;
+import com.example.edubridge.data.local.metrics.QueryMetrics;
+
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Async facade over {@link NotificationDao}.
+ *
+ * The inbox is bounded: {@link #compactBlocking()} (run periodically by
+ * NotificationCompactionWorker) keeps at most {@link #MAX_ROWS} rows, none older
+ * than {@link #MAX_AGE_MS}.
+ */
+public class NotificationRepository extends AsyncRepository {
+
+    public static final int MAX_ROWS = 500;
+    public static final long MAX_AGE_MS = TimeUnit.DAYS.toMillis(30);
+
+    private static volatile NotificationRepository INSTANCE;
+
+    private final NotificationDao dao;
+
+    private NotificationRepository(Context context) {
+        dao = QueryMetrics.instrument(NotificationDao.class,
+                AppDatabase.getInstance(context).notificationDao());
+    }
+
+    public static NotificationRepository getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (NotificationRepository.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new NotificationRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Newest page of the inbox; re-emits whenever the table changes.
+     */
+    public LiveData<List<Notification>> observeLatestPage(int limit) {
+        return dao.observeLatestPage(limit);
+    }
+
+    public Future<?> loadPageBefore(long beforeTimestamp, String beforeId, int limit,
+                                    DbCallback<List<Notification>> callback) {
+        return query(() -> dao.getPageBefore(beforeTimestamp, beforeId, limit), callback);
+    }
+
+    /**
+     * Reload everything from the newest row down to the given cursor (inclusive).
+     */
+    public Future<?> loadNewestDownTo(long oldestTimestamp, String oldestId,
+                                      DbCallback<List<Notification>> callback) {
+        return query(() -> dao.getNewestDownTo(oldestTimestamp, oldestId), callback);
+    }
+
+    public LiveData<Integer> getUnreadCount() {
+        return dao.getUnreadCount();
+    }
+
+    public void insert(Notification notification) {
+        execute(() -> dao.insert(notification), null);
+    }
+
+    public void upsertAll(List<Notification> notifications) {
+        execute(() -> dao.upsertAll(notifications), null);
+    }
+
+    public void markAsRead(String notificationId) {
+        execute(() -> dao.markAsRead(notificationId), null);
+    }
+
+    public void deleteAll() {
+        execute(dao::deleteAll, null);
+    }
+
+    /**
+     * Enforce the retention policy on the calling (background) thread.
+     * Returns the number of notifications removed.
+     */
+    @WorkerThread
+    public int compactBlocking() {
+        long now = System.currentTimeMillis();
+        return dao.compact(now - MAX_AGE_MS, MAX_ROWS, now);
+    }
+}
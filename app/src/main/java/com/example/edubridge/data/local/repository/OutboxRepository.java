@@ -0,0 +1,260 @@
+package com.example.edubridge.data.local.repository;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import androidx.lifecycle.LiveData;
+
+import com.example.edubridge.data.local.AppDatabase;
+import com.example.edubridge.data.local.dao.OutboxDao;
+import com.example.edubridge.data.local.entity.OutboxEntry;
+import com.example.edubridge.data.local.metrics.QueryMetrics;
+import com.example.edubridge.data.local.outbox.OutboxCodec;
+import com.example.edubridge.data.local.outbox.OutboxWrite;
+import com.example.edubridge.data.local.work.OutboxFlushWorker;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Durable outbox for Firestore writes.
+ *
+ * Writes are recorded in Room first, so they survive process death and work offline,
+ * and are sent only under the account that queued them.
+ * Repeated writes of one kind to a document coalesce while queued (see OutboxDao#enqueue), and
+ * OutboxFlushWorker sends them in WriteBatch chunks once the device is online.
+ *
+ * Delivery is at-least-once: a batch committed just before the process dies is sent
+ * again on the next flush. Network errors and cancellation never drop a write; only a
+ * group Firestore rejects on its own (see {@link #MAX_ATTEMPTS}) is given up on.
+ */
+public class OutboxRepository extends AsyncRepository {
+
+    private static final String TAG = "OutboxRepository";
+
+    // Firestore's WriteBatch limit
+    public static final int MAX_BATCH_SIZE = 500;
+    // A group rejected on its own this many times is dropped so it cannot block the queue
+    public static final int MAX_ATTEMPTS = 5;
+    private static final long COMMIT_TIMEOUT_SECONDS = 30;
+
+    // Errors retrying will not fix; anything else is treated as transient
+    private static final EnumSet<FirebaseFirestoreException.Code> PERMANENT_ERRORS = EnumSet.of(
+            FirebaseFirestoreException.Code.INVALID_ARGUMENT,
+            FirebaseFirestoreException.Code.NOT_FOUND,
+            FirebaseFirestoreException.Code.ALREADY_EXISTS,
+            FirebaseFirestoreException.Code.PERMISSION_DENIED,
+            FirebaseFirestoreException.Code.FAILED_PRECONDITION,
+            FirebaseFirestoreException.Code.OUT_OF_RANGE,
+            FirebaseFirestoreException.Code.UNIMPLEMENTED);
+
+    private static volatile OutboxRepository INSTANCE;
+
+    private final Context appContext;
+    private final OutboxDao dao;
+
+    private OutboxRepository(Context context) {
+        appContext = context;
+        dao = QueryMetrics.instrument(OutboxDao.class,
+                AppDatabase.getInstance(context).outboxDao());
+    }
+
+    public static OutboxRepository getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (OutboxRepository.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new OutboxRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Queue writes that must be applied together, then schedule a flush.
+     * onQueued runs on the main thread once they are on disk.
+     */
+    public void enqueue(List<OutboxWrite> writes, @Nullable Runnable onQueued) {
+        long now = System.currentTimeMillis();
+        List<OutboxEntry> group = new ArrayList<>(writes.size());
+        String uid = FirebaseAuth.getInstance().getUid();
+        for (OutboxWrite write : writes) {
+            OutboxEntry entry = OutboxCodec.toEntry(write, now);
+            entry.uid = uid;
+            group.add(entry);
+        }
+        execute(() -> {
+            dao.enqueue(group);
+            OutboxFlushWorker.schedule(appContext);
+        }, onQueued);
+    }
+
+    public void enqueue(OutboxWrite write, @Nullable Runnable onQueued) {
+        List<OutboxWrite> writes = new ArrayList<>(1);
+        writes.add(write);
+        enqueue(writes, onQueued);
+    }
+
+    public LiveData<Integer> observePendingCount() {
+        return dao.observePendingCount();
+    }
+
+    /**
+     * Writes of uid still waiting to be sent.
+     */
+    @WorkerThread
+    public int pendingCountBlocking(String uid) {
+        return dao.countPending(uid);
+    }
+
+    /**
+     * Send everything the signed-in account queued, one WriteBatch at a time. Writes of
+     * other accounts wait until they sign in again (DashboardActivity schedules a flush),
+     * since Firestore would refuse them under this session.
+     *
+     * @return false if anything is left to retry later
+     */
+    @WorkerThread
+    public boolean flushBlocking() {
+        String uid = FirebaseAuth.getInstance().getUid();
+        if (uid == null) return true;
+        // Only one flush runs at a time (unique work), so any claim left over is stale
+        dao.resetInFlight();
+        FirebaseFirestore firestore = FirebaseFirestore.getInstance();
+
+        // Rejected groups stay claimed until the flush ends so they are not retried at once
+        List<OutboxEntry> rejected = new ArrayList<>();
+        try {
+            List<OutboxEntry> batch;
+            while (!(batch = dao.claim(uid, MAX_BATCH_SIZE)).isEmpty()) {
+                if (!send(firestore, batch, rejected)) return false;
+            }
+            return rejected.isEmpty();
+        } finally {
+            dao.releaseAll(rejected, true);
+        }
+    }
+
+    /**
+     * Commit claimed entries as one WriteBatch. A WriteBatch is all-or-nothing, so when
+     * Firestore rejects it for good the entries are split along group boundaries and
+     * sent again until the rejected group is on its own; the others still go through.
+     *
+     * @return false after a transient failure; the entries are handed back untouched
+     */
+    private boolean send(FirebaseFirestore firestore, List<OutboxEntry> entries,
+                         List<OutboxEntry> rejected) {
+        try {
+            WriteBatch writeBatch = firestore.batch();
+            for (OutboxEntry entry : entries) {
+                apply(writeBatch, firestore.document(entry.documentPath), entry);
+            }
+            Tasks.await(writeBatch.commit(), COMMIT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            // The batch is in Firestore's own persisted write queue by now and will
+            // be sent from there; committing it again would double any increments.
+            Log.w(TAG, "Commit not acknowledged in time; leaving " + entries.size()
+                    + " writes to Firestore's queue");
+        } catch (InterruptedException e) {
+            // The worker was stopped; not an attempt
+            dao.releaseAll(entries, false);
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | IllegalArgumentException e) {
+            if (!isPermanent(e)) {
+                Log.w(TAG, "Outbox batch of " + entries.size() + " failed", e);
+                dao.releaseAll(entries, false);
+                return false;
+            }
+            int split = groupSplitPoint(entries);
+            if (split > 0) {
+                List<OutboxEntry> first = new ArrayList<>(entries.subList(0, split));
+                List<OutboxEntry> second = new ArrayList<>(entries.subList(split, entries.size()));
+                if (!send(firestore, first, rejected)) {
+                    dao.releaseAll(second, false);
+                    return false;
+                }
+                return send(firestore, second, rejected);
+            }
+            reject(entries, e, rejected);
+            return true;
+        }
+        dao.complete(entries);
+        return true;
+    }
+
+    /**
+     * Start of the group closest to the middle of entries, or 0 if they are one group.
+     * Each entry without a group counts as a group of its own.
+     */
+    private static int groupSplitPoint(List<OutboxEntry> entries) {
+        int split = 0;
+        for (int i = 1; i < entries.size(); i++) {
+            long groupId = entries.get(i).groupId;
+            if (groupId == OutboxEntry.NO_GROUP || groupId != entries.get(i - 1).groupId) {
+                split = i;
+                if (i >= entries.size() / 2) break;
+            }
+        }
+        return split;
+    }
+
+    /**
+     * Firestore refused this group on its own: drop it once it has used up its attempts,
+     * otherwise hold it back for the next flush.
+     */
+    private void reject(List<OutboxEntry> group, Exception error, List<OutboxEntry> rejected) {
+        OutboxEntry first = group.get(0);
+        if (first.attempts + 1 >= MAX_ATTEMPTS) {
+            Log.e(TAG, "Dropping " + group.size() + " writes starting with " + first.type + " "
+                    + first.documentPath + " after " + MAX_ATTEMPTS + " rejections", error);
+            dao.complete(group);
+        } else {
+            Log.w(TAG, "Firestore rejected " + first.type + " " + first.documentPath, error);
+            rejected.addAll(group);
+        }
+    }
+
+    private static boolean isPermanent(Exception error) {
+        // Bad paths or undecodable fields surface while building the batch
+        if (error instanceof IllegalArgumentException) return true;
+        for (Throwable t = error.getCause(); t != null; t = t.getCause()) {
+            if (t instanceof FirebaseFirestoreException) {
+                return PERMANENT_ERRORS.contains(((FirebaseFirestoreException) t).getCode());
+            }
+        }
+        return false;
+    }
+
+    private static void apply(WriteBatch batch, DocumentReference ref, OutboxEntry entry) {
+        Map<String, Object> fields = OutboxCodec.toFirestore(OutboxCodec.decode(entry.fieldsJson));
+        switch (OutboxWrite.Type.valueOf(entry.type)) {
+            case SET:
+                batch.set(ref, fields);
+                break;
+            case SET_MERGE:
+                batch.set(ref, fields, SetOptions.merge());
+                break;
+            case UPDATE:
+                batch.update(ref, fields);
+                break;
+            case DELETE:
+                batch.delete(ref);
+                break;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.edubridge.data.local.repository;
+
+import android.content.Context;
+
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+
+import com.example.edubridge.data.local.AppDatabase;
+import com.example.edubridge.data.local.dao.PlannerTaskDao;
+import com.example.edubridge.data.local.entity.PlannerTask;
+import com.example.edubridge.data.local.metrics.QueryMetrics;
+
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * Async facade over {@link PlannerTaskDao}.
+ */
+public class PlannerTaskRepository extends AsyncRepository {
+
+    private static volatile PlannerTaskRepository INSTANCE;
+
+    private final PlannerTaskDao dao;
+
+    private PlannerTaskRepository(Context context) {
+        dao = QueryMetrics.instrument(PlannerTaskDao.class,
+                AppDatabase.getInstance(context).plannerTaskDao());
+    }
+
+    public static PlannerTaskRepository getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (PlannerTaskRepository.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new PlannerTaskRepository(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    public LiveData<List<PlannerTask>> getAllTasks(String userId) {
+        return dao.getAllTasks(userId);
+    }
+
+    public LiveData<List<PlannerTask>> getTodayTasks(String userId, long todayStart) {
+        return dao.getTodayTasks(userId, todayStart);
+    }
+
+    public LiveData<List<PlannerTask>> getOverdueTasks(String userId, long todayStart) {
+        return dao.getOverdueTasks(userId, todayStart);
+    }
+
+    public Future<?> loadPendingTaskCount(String userId, DbCallback<Integer> callback) {
+        return query(() -> dao.getPendingTaskCount(userId), callback);
+    }
+
+    public void insert(PlannerTask task, @Nullable Runnable onDone) {
+        execute(() -> dao.insert(task), onDone);
+    }
+
+    public void update(PlannerTask task) {
+        execute(() -> dao.update(task), null);
+    }
+
+    public void delete(PlannerTask task, @Nullable Runnable onDone) {
+        execute(() -> dao.delete(task), onDone);
+    }
+
+    public void deleteAllForUser(String userId) {
+        execute(() -> dao.deleteAllForUser(userId), null);
+    }
+
+    /**
+     * Replace all tasks of a user in one transaction.
+     */
+    public void replaceAllForUser(String userId, List<PlannerTask> tasks, @Nullable Runnable onDone) {
+        execute(() -> dao.replaceAllForUser(userId, tasks), onDone);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.edubridge.data.local.search;
+
+import androidx.annotation.Nullable;
+
+import com.example.edubridge.data.local.entity.CourseSearchHit;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Builds FTS4 MATCH expressions from user input and ranks hits by field weight.
+ */
+public final class CourseSearchRanker {
+
+    /**
+     * Weights in courses_fts column order: title, category, description.
+     */
+    private static final double[] COLUMN_WEIGHTS = { 10.0, 5.0, 1.0 };
+
+    private CourseSearchRanker() {}
+
+    /**
+     * "alg equa" becomes "alg* equa*": every term must match, each as a prefix.
+     * Returns null when the input has no searchable terms.
+     */
+    @Nullable
+    public static String toMatchQuery(String input) {
+        StringBuilder sb = new StringBuilder();
+        for (String term : terms(input)) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(term).append('*');
+        }
+        return sb.length() == 0 ? null : sb.toString();
+    }
+
+    /**
+     * Lowercased letter/digit runs of the input, in order; empty for null.
+     */
+    static List<String> terms(@Nullable String input) {
+        List<String> terms = new ArrayList<>();
+        if (input == null) return terms;
+        for (String term : input.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!term.isEmpty()) terms.add(term);
+        }
+        return terms;
+    }
+
+    /**
+     * Sort hits best first and return their course ids.
+     */
+    public static List<String> rank(List<CourseSearchHit> hits) {
+        List<double[]> scored = new ArrayList<>(hits.size());
+        for (int i = 0; i < hits.size(); i++) {
+            scored.add(new double[] { score(hits.get(i).matchInfo), i });
+        }
+        Collections.sort(scored, (a, b) -> Double.compare(b[0], a[0]));
+
+        List<String> ids = new ArrayList<>(hits.size());
+        for (double[] s : scored) {
+            ids.add(hits.get((int) s[1]).courseId);
+        }
+        return ids;
+    }
+
+    /**
+     * Sum over terms and columns of column weight * hits in this row.
+     * matchinfo('pcx') layout: [phrases, columns, then per (phrase, column):
+     * hits in row, hits in all rows, rows with hits].
+     */
+    static double score(byte[] matchInfo) {
+        if (matchInfo == null || matchInfo.length < 8) return 0;
+        ByteBuffer buf = ByteBuffer.wrap(matchInfo).order(ByteOrder.nativeOrder());
+        int phrases = buf.getInt(0);
+        int columns = buf.getInt(4);
+        double score = 0;
+        for (int p = 0; p < phrases; p++) {
+            for (int c = 0; c < columns && c < COLUMN_WEIGHTS.length; c++) {
+                int base = 4 * (2 + 3 * (p * columns + c));
+                score += COLUMN_WEIGHTS[c] * buf.getInt(base);
+            }
+        }
+        return score;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.edubridge.data.local.search;
+
+import androidx.annotation.Nullable;
+
+import com.example.edubridge.data.local.entity.Course;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Recommendations memoized on top of a {@link RecommendationEngine}.
+ *
+ * - Per goal: one {@link RecommendationEngine.Ranking}, so a new goal is scored once
+ *   and enrolling or unenrolling only re-walks it.
+ * - Per (goal, enrolled-set version): the final list, so repeated snapshots with the
+ *   same enrollments (progress updates, toggling back and forth) cost a map lookup.
+ *   Toggling back only hits if the caller reuses versions for recurring sets, as
+ *   {@link com.example.edubridge.data.local.repository.EnrollmentRepository} does.
+ *
+ * Both are small LRU maps. Boosts from {@link #setBoosts} are part of every ranking;
+ * changing them clears both. Not thread-safe; owned by one screen.
+ */
+public final class RecommendationCache {
+
+    private static final int MAX_RANKINGS = 4;
+    private static final int MAX_RESULTS = 16;
+    // Kept per goal beyond the limit, to absorb enrollments without a rescan
+    private static final int RANKING_RESERVE = 20;
+
+    private final RecommendationEngine engine;
+    private final int limit;
+    private final Map<String, RecommendationEngine.Ranking> rankings = lru(MAX_RANKINGS);
+    private final Map<String, List<Course>> results = lru(MAX_RESULTS);
+    private Map<String, Integer> boosts = Collections.emptyMap();
+
+    public RecommendationCache(RecommendationEngine engine, int limit) {
+        this.engine = engine;
+        this.limit = limit;
+    }
+
+    /**
+     * Per-course score added to the goal score (e.g. co-enrollment); null for none.
+     */
+    public void setBoosts(@Nullable Map<String, Integer> boosts) {
+        Map<String, Integer> next = boosts != null ? boosts : Collections.<String, Integer>emptyMap();
+        if (next.equals(this.boosts)) return;
+        this.boosts = next;
+        rankings.clear();
+        results.clear();
+    }
+
+    /**
+     * @param excludedVersion identifies the contents of {@code excludedIds}; equal
+     *                        versions must mean equal sets
+     */
+    public List<Course> get(@Nullable String goal, @Nullable Set<String> excludedIds, long excludedVersion) {
+        String goalKey = RecommendationEngine.goalKey(goal);
+        String resultKey = goalKey + '\u0000' + excludedVersion;
+        List<Course> cached = results.get(resultKey);
+        if (cached != null) return cached;
+
+        RecommendationEngine.Ranking ranking = rankings.get(goalKey);
+        if (ranking == null) {
+            ranking = engine.rank(goal, boosts, limit + RANKING_RESERVE);
+            rankings.put(goalKey, ranking);
+        }
+        List<Course> top = Collections.unmodifiableList(ranking.top(excludedIds, limit));
+        results.put(resultKey, top);
+        return top;
+    }
+
+    private static <V> Map<String, V> lru(int maxSize) {
+        return new LinkedHashMap<String, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+}
@@ -0,0 +1,315 @@
+package com.example.edubridge.data.local.search;
+
+import androidx.annotation.Nullable;
+
+import com.example.edubridge.data.local.entity.Course;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Picks the courses to recommend for a learning goal out of a fixed catalog.
+ *
+ * The catalog is tokenized once into an inverted index (token -> courses and the
+ * fields it occurs in). A query scores only the courses that share a term with the
+ * goal, then keeps the best {@code limit} in a bounded heap instead of sorting the
+ * whole catalog.
+ *
+ * Ranking: goal score (per goal term, the weights of the fields it matches), then
+ * status (Not Started first), then difficulty (Beginner first), then catalog order.
+ * Goal terms of {@link #MIN_PREFIX_LENGTH}+ characters also match as prefixes,
+ * so "math" matches "Mathematics". Instances are immutable and thread-safe.
+ *
+ * {@link #rank} scores a goal once and keeps the best courses of the whole catalog;
+ * the resulting {@link Ranking} answers for any exclusion set without rescoring.
+ * It can also add per-course boosts from other signals (co-enrollment) to the goal score.
+ */
+public final class RecommendationEngine {
+
+    public static final int DEFAULT_LIMIT = 5;
+
+    static final int CATEGORY_WEIGHT = 8;
+    static final int TITLE_WEIGHT = 4;
+    static final int DESCRIPTION_WEIGHT = 1;
+    static final int MIN_PREFIX_LENGTH = 3;
+
+    private static final int FIELD_CATEGORY = 1;
+    private static final int FIELD_TITLE = 1 << 1;
+    private static final int FIELD_DESCRIPTION = 1 << 2;
+
+    // Goal words that say nothing about the subject
+    private static final Set<String> STOP_WORDS = new HashSet<>(Arrays.asList(
+            "a", "an", "and", "the", "to", "of", "in", "on", "for", "with", "at", "by",
+            "i", "me", "my", "want", "learn", "learning", "study", "get", "be", "become",
+            "better", "how", "about", "more", "some", "is", "am"));
+
+    private final Course[] courses;
+    private final Map<String, Integer> indexOf = new HashMap<>();
+    private final int[] statusPriority;
+    private final int[] difficultyPriority;
+    private final TreeMap<String, Postings> index = new TreeMap<>();
+
+    public RecommendationEngine(List<Course> catalog) {
+        int n = catalog.size();
+        courses = catalog.toArray(new Course[0]);
+        statusPriority = new int[n];
+        difficultyPriority = new int[n];
+
+        Map<String, Postings> building = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            Course c = courses[i];
+            indexOf.put(c.courseId, i);
+            statusPriority[i] = statusPriority(c.status);
+            difficultyPriority[i] = difficultyPriority(c.difficulty);
+            addField(building, i, c.category, FIELD_CATEGORY);
+            addField(building, i, c.title, FIELD_TITLE);
+            addField(building, i, c.description, FIELD_DESCRIPTION);
+        }
+        for (Postings p : building.values()) p.trim();
+        index.putAll(building);
+    }
+
+    public int size() {
+        return courses.length;
+    }
+
+    /**
+     * Best {@code limit} courses for the goal, best first, skipping excluded ids.
+     *
+     * @param goal        free text; null or empty ranks by status and difficulty only
+     * @param excludedIds course ids to leave out (e.g. enrolled); should be a hash set
+     */
+    public List<Course> recommend(@Nullable String goal, @Nullable Set<String> excludedIds, int limit) {
+        return toCourses(select(score(goal), excludedIds, limit));
+    }
+
+    /**
+     * Score the goal and keep the best {@code depth} courses of the whole catalog.
+     * Exclusions are applied later, per {@link Ranking#top} call.
+     */
+    public Ranking rank(@Nullable String goal, int depth) {
+        return rank(goal, null, depth);
+    }
+
+    /**
+     * @param boosts added to the goal score of the course with that id; ids outside the
+     *               catalog are ignored
+     */
+    public Ranking rank(@Nullable String goal, @Nullable Map<String, Integer> boosts, int depth) {
+        int[] scores = score(goal);
+        if (boosts != null && !boosts.isEmpty()) {
+            if (scores == null) scores = new int[courses.length];
+            for (Map.Entry<String, Integer> boost : boosts.entrySet()) {
+                Integer i = indexOf.get(boost.getKey());
+                if (i != null) scores[i] += boost.getValue();
+            }
+        }
+        return new Ranking(scores, select(scores, null, depth));
+    }
+
+    /**
+     * Normalized goal: equal keys give equal rankings ("Learn  Math" and "math").
+     */
+    public static String goalKey(@Nullable String goal) {
+        StringBuilder sb = new StringBuilder();
+        for (String term : goalTerms(goal)) {
+            if (sb.length() > 0) sb.append(' ');
+            sb.append(term);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Indices of the best {@code limit} non-excluded courses, best first.
+     */
+    private int[] select(@Nullable int[] scores, @Nullable Set<String> excludedIds, int limit) {
+        if (limit <= 0 || courses.length == 0) return new int[0];
+
+        // Worst of the kept courses at the head
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, (a, b) -> compare(b, a, scores));
+        for (int i = 0; i < courses.length; i++) {
+            if (excludedIds != null && excludedIds.contains(courses[i].courseId)) continue;
+            if (heap.size() < limit) {
+                heap.add(i);
+            } else if (compare(i, heap.peek(), scores) < 0) {
+                heap.poll();
+                heap.add(i);
+            }
+        }
+
+        Integer[] picked = heap.toArray(new Integer[0]);
+        Arrays.sort(picked, (a, b) -> compare(a, b, scores));
+        int[] result = new int[picked.length];
+        for (int k = 0; k < picked.length; k++) result[k] = picked[k];
+        return result;
+    }
+
+    private List<Course> toCourses(int[] indices) {
+        List<Course> result = new ArrayList<>(indices.length);
+        for (int i : indices) result.add(courses[i]);
+        return result;
+    }
+
+    /**
+     * Goal score per course, or null if the goal has no usable terms.
+     */
+    @Nullable
+    int[] score(@Nullable String goal) {
+        Set<String> terms = goalTerms(goal);
+        if (terms.isEmpty()) return null;
+
+        int[] scores = new int[courses.length];
+        // Fields a term matched per course; a field counts once per term however many tokens match
+        int[] masks = new int[courses.length];
+        int[] touched = new int[courses.length];
+        for (String term : terms) {
+            int touchedCount = 0;
+            Iterable<Postings> matches = term.length() >= MIN_PREFIX_LENGTH
+                    ? prefixRange(term).values()
+                    : singleton(index.get(term));
+            for (Postings p : matches) {
+                for (int k = 0; k < p.size; k++) {
+                    int course = p.courses[k];
+                    if (masks[course] == 0) touched[touchedCount++] = course;
+                    masks[course] |= p.fields[k];
+                }
+            }
+            for (int k = 0; k < touchedCount; k++) {
+                int course = touched[k];
+                scores[course] += weight(masks[course]);
+                masks[course] = 0;
+            }
+        }
+        return scores;
+    }
+
+    private static Set<String> goalTerms(@Nullable String goal) {
+        Set<String> terms = new LinkedHashSet<>();
+        for (String term : CourseSearchRanker.terms(goal)) {
+            if (!STOP_WORDS.contains(term)) terms.add(term);
+        }
+        return terms;
+    }
+
+    /**
+     * Negative if course a ranks above course b.
+     */
+    private int compare(int a, int b, @Nullable int[] scores) {
+        if (scores != null && scores[a] != scores[b]) return Integer.compare(scores[b], scores[a]);
+        if (statusPriority[a] != statusPriority[b]) return Integer.compare(statusPriority[a], statusPriority[b]);
+        if (difficultyPriority[a] != difficultyPriority[b]) {
+            return Integer.compare(difficultyPriority[a], difficultyPriority[b]);
+        }
+        return Integer.compare(a, b);
+    }
+
+    private SortedMap<String, Postings> prefixRange(String prefix) {
+        return index.subMap(prefix, prefix + Character.MAX_VALUE);
+    }
+
+    private static Iterable<Postings> singleton(@Nullable Postings p) {
+        return p == null ? Collections.emptyList() : Collections.singletonList(p);
+    }
+
+    private static void addField(Map<String, Postings> index, int course, @Nullable String text, int field) {
+        for (String token : CourseSearchRanker.terms(text)) {
+            Postings p = index.get(token);
+            if (p == null) {
+                p = new Postings();
+                index.put(token, p);
+            }
+            p.add(course, field);
+        }
+    }
+
+    private static int weight(int fieldMask) {
+        int w = 0;
+        if ((fieldMask & FIELD_CATEGORY) != 0) w += CATEGORY_WEIGHT;
+        if ((fieldMask & FIELD_TITLE) != 0) w += TITLE_WEIGHT;
+        if ((fieldMask & FIELD_DESCRIPTION) != 0) w += DESCRIPTION_WEIGHT;
+        return w;
+    }
+
+    static int statusPriority(@Nullable String status) {
+        if (status == null) return 4;
+        if (status.equalsIgnoreCase("Not Started")) return 1;
+        if (status.equalsIgnoreCase("In Progress")) return 2;
+        if (status.equalsIgnoreCase("Completed")) return 3;
+        return 4;
+    }
+
+    static int difficultyPriority(@Nullable String difficulty) {
+        if (difficulty == null) return 4;
+        if (difficulty.equalsIgnoreCase("Beginner")) return 1;
+        if (difficulty.equalsIgnoreCase("Intermediate")) return 2;
+        if (difficulty.equalsIgnoreCase("Advanced")) return 3;
+        return 4;
+    }
+
+    /**
+     * One goal's scores and best courses. Excluding a course (enrolling) just skips it;
+     * only when too few are left does {@link #top} rescan the catalog.
+     */
+    public final class Ranking {
+        @Nullable
+        private final int[] scores;
+        private final int[] best;
+
+        private Ranking(@Nullable int[] scores, int[] best) {
+            this.scores = scores;
+            this.best = best;
+        }
+
+        public List<Course> top(@Nullable Set<String> excludedIds, int limit) {
+            List<Course> result = new ArrayList<>(limit);
+            for (int i : best) {
+                if (result.size() == limit) return result;
+                if (excludedIds == null || !excludedIds.contains(courses[i].courseId)) {
+                    result.add(courses[i]);
+                }
+            }
+            // Enough found, or the whole catalog was ranked and nothing else qualifies
+            if (result.size() == limit || best.length == courses.length) return result;
+            return toCourses(select(scores, excludedIds, limit));
+        }
+    }
+
+    /**
+     * Courses containing one token, in catalog order, with the fields it occurs in.
+     */
+    private static final class Postings {
+        int[] courses = new int[4];
+        int[] fields = new int[4];
+        int size;
+
+        void add(int course, int field) {
+            // Courses are indexed in order, so a repeat can only be the last entry
+            if (size > 0 && courses[size - 1] == course) {
+                fields[size - 1] |= field;
+                return;
+            }
+            if (size == courses.length) {
+                courses = Arrays.copyOf(courses, size * 2);
+                fields = Arrays.copyOf(fields, size * 2);
+            }
+            courses[size] = course;
+            fields[size] = field;
+            size++;
+        }
+
+        void trim() {
+            courses = Arrays.copyOf(courses, size);
+            fields = Arrays.copyOf(fields, size);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.edubridge.data.local.snapshot;
+
+import com.example.edubridge.data.local.entity.Course;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Last rendered state of the dashboard, persisted so a cold start can draw it
+ * before any Firestore listener has answered.
+ *
+ * Only what the dashboard shows is kept; level is derived from points when rendering.
+ */
+public class DashboardSnapshot {
+
+    private static final int FORMAT_VERSION = 1;
+
+    public String userId;
+
+    public long points;
+    public long streakCount;
+    public String learningGoal;
+    public List<String> badgeIds = new ArrayList<>();
+
+    // Percent from the stats document; -1 if never read
+    public int overallProgress = -1;
+
+    public List<Course> inProgressCourses = new ArrayList<>();
+    public List<Course> recommendations = new ArrayList<>();
+
+    public DashboardSnapshot(String userId) {
+        this.userId = userId;
+    }
+
+    String toJson() throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("version", FORMAT_VERSION);
+        json.put("userId", userId);
+        json.put("points", points);
+        json.put("streakCount", streakCount);
+        json.put("learningGoal", learningGoal);
+        json.put("badgeIds", new JSONArray(badgeIds));
+        json.put("overallProgress", overallProgress);
+        json.put("inProgressCourses", coursesToJson(inProgressCourses));
+        json.put("recommendations", coursesToJson(recommendations));
+        return json.toString();
+    }
+
+    /**
+     * @return null if the data was written by an incompatible version
+     */
+    static DashboardSnapshot fromJson(String text) throws JSONException {
+        JSONObject json = new JSONObject(text);
+        if (json.optInt("version") != FORMAT_VERSION) return null;
+
+        DashboardSnapshot s = new DashboardSnapshot(json.getString("userId"));
+        s.points = json.optLong("points");
+        s.streakCount = json.optLong("streakCount");
+        s.learningGoal = json.isNull("learningGoal") ? null : json.optString("learningGoal");
+
+        JSONArray badges = json.optJSONArray("badgeIds");
+        if (badges != null) {
+            for (int i = 0; i < badges.length(); i++) s.badgeIds.add(badges.getString(i));
+        }
+        s.overallProgress = json.optInt("overallProgress", -1);
+        s.inProgressCourses = coursesFromJson(json.optJSONArray("inProgressCourses"));
+        s.recommendations = coursesFromJson(json.optJSONArray("recommendations"));
+        return s;
+    }
+
+    private static JSONArray coursesToJson(List<Course> courses) throws JSONException {
+        JSONArray array = new JSONArray();
+        for (Course c : courses) {
+            JSONObject o = new JSONObject();
+            o.put("courseId", c.courseId);
+            o.put("title", c.title);
+            o.put("description", c.description);
+            o.put("category", c.category);
+            o.put("difficulty", c.difficulty);
+            o.put("duration", c.duration);
+            o.put("progress", c.progress);
+            o.put("totalLessons", c.totalLessons);
+            o.put("status", c.status);
+            array.put(o);
+        }
+        return array;
+    }
+
+    private static List<Course> coursesFromJson(JSONArray array) throws JSONException {
+        List<Course> courses = new ArrayList<>();
+        if (array == null) return courses;
+        for (int i = 0; i < array.length(); i++) {
+            JSONObject o = array.getJSONObject(i);
+            Course c = new Course();
+            c.courseId = o.getString("courseId");
+            c.title = optString(o, "title");
+            c.description = optString(o, "description");
+            c.category = optString(o, "category");
+            c.difficulty = optString(o, "difficulty");
+            c.duration = optString(o, "duration");
+            c.progress = o.optInt("progress");
+            c.totalLessons = o.optInt("totalLessons");
+            c.status = optString(o, "status");
+            courses.add(c);
+        }
+        return courses;
+    }
+
+    private static String optString(JSONObject o, String key) {
+        return o.isNull(key) ? null : o.optString(key);
+    }
+}
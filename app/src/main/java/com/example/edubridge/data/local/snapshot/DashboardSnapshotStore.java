@@ -0,0 +1,124 @@
+package com.example.edubridge.data.local.snapshot;
+
+import android.content.Context;
+import android.util.AtomicFile;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.edubridge.data.local.repository.DbCallback;
+import com.example.edubridge.utils.AppExecutors;
+
+import org.json.JSONException;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps the latest {@link DashboardSnapshot} in a single file.
+ *
+ * Writes go through AtomicFile, so a crash mid-write leaves the previous snapshot
+ * intact. Saves are coalesced: if several arrive before the disk executor gets to
+ * them, only the newest is written.
+ */
+public class DashboardSnapshotStore {
+
+    private static final String TAG = "DashboardSnapshotStore";
+    private static final String FILE_NAME = "dashboard_snapshot.json";
+
+    private static volatile DashboardSnapshotStore INSTANCE;
+
+    private final AtomicFile file;
+    private final AtomicReference<String> pendingJson = new AtomicReference<>();
+    private String lastWrittenJson;
+
+    private DashboardSnapshotStore(Context context) {
+        file = new AtomicFile(new File(context.getFilesDir(), FILE_NAME));
+    }
+
+    public static DashboardSnapshotStore getInstance(Context context) {
+        if (INSTANCE == null) {
+            synchronized (DashboardSnapshotStore.class) {
+                if (INSTANCE == null) {
+                    INSTANCE = new DashboardSnapshotStore(context.getApplicationContext());
+                }
+            }
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Deliver the saved snapshot for this user on the main thread, or null if there is none.
+     */
+    public void load(String userId, DbCallback<DashboardSnapshot> callback) {
+        AppExecutors executors = AppExecutors.getInstance();
+        executors.diskIO().execute(() -> {
+            DashboardSnapshot snapshot = read();
+            DashboardSnapshot result =
+                    snapshot != null && snapshot.userId.equals(userId) ? snapshot : null;
+            executors.mainThread().execute(() -> callback.onResult(result));
+        });
+    }
+
+    /**
+     * Serialize now (the caller may keep mutating its copy) and write in the background.
+     */
+    public void save(DashboardSnapshot snapshot) {
+        String json;
+        try {
+            json = snapshot.toJson();
+        } catch (JSONException e) {
+            Log.e(TAG, "Cannot serialize dashboard snapshot", e);
+            return;
+        }
+        if (pendingJson.getAndSet(json) == null) {
+            AppExecutors.getInstance().diskIO().execute(this::writePending);
+        }
+    }
+
+    /**
+     * Forget the snapshot, e.g. on sign-out.
+     */
+    public void clear() {
+        AppExecutors.getInstance().diskIO().execute(() -> {
+            pendingJson.set(null);
+            lastWrittenJson = null;
+            file.delete();
+        });
+    }
+
+    private void writePending() {
+        String json = pendingJson.getAndSet(null);
+        if (json == null) return;
+        // Live listeners often re-deliver identical data
+        if (json.equals(lastWrittenJson)) return;
+
+        FileOutputStream out = null;
+        try {
+            out = file.startWrite();
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+            file.finishWrite(out);
+            lastWrittenJson = json;
+        } catch (IOException e) {
+            if (out != null) file.failWrite(out);
+            Log.w(TAG, "Failed to write dashboard snapshot", e);
+        }
+    }
+
+    @Nullable
+    private DashboardSnapshot read() {
+        try {
+            byte[] bytes = file.readFully();
+            return DashboardSnapshot.fromJson(new String(bytes, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            // No snapshot yet
+            return null;
+        } catch (JSONException e) {
+            Log.w(TAG, "Discarding corrupt dashboard snapshot", e);
+            return null;
+        }
+    }
+}
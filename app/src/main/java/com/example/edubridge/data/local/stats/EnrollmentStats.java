@@ -0,0 +1,155 @@
+package com.example.edubridge.data.local.stats;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.example.edubridge.data.local.outbox.OutboxWrite;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-user enrollment aggregate kept in users/{uid}/stats/enrollments, so the dashboard
+ * header reads one document instead of the whole enrollments subcollection.
+ *
+ * Writers adjust it with increments in the same batch as the enrollment change
+ * ({@link #enrollDelta}, {@link #unenrollDelta}, {@link #progressDelta}). Completed
+ * lessons are counted up to each course's lesson total. EnrollmentStatsWorker
+ * recomputes it from the subcollection to repair any drift.
+ */
+public final class EnrollmentStats {
+
+    public static final String ENROLLED_COUNT = "enrolledCount";
+    public static final String TOTAL_LESSONS = "totalLessons";
+    public static final String COMPLETED_LESSONS = "completedLessons";
+    public static final String COMPLETED_COURSES = "completedCourses";
+    public static final String LAST_ACTIVITY_AT = "lastActivityAt";
+    public static final String RECONCILED_AT = "reconciledAt";
+
+    public long enrolledCount;
+    public long totalLessons;
+    public long completedLessons;
+    public long completedCourses;
+    public long lastActivityAt;
+
+    public static String documentPath(@NonNull String uid) {
+        return "users/" + uid + "/stats/enrollments";
+    }
+
+    /**
+     * Null if the document does not exist yet.
+     */
+    @Nullable
+    public static EnrollmentStats fromSnapshot(@Nullable DocumentSnapshot doc) {
+        if (doc == null || !doc.exists()) return null;
+        EnrollmentStats stats = new EnrollmentStats();
+        stats.enrolledCount = longValue(doc.getLong(ENROLLED_COUNT));
+        stats.totalLessons = longValue(doc.getLong(TOTAL_LESSONS));
+        stats.completedLessons = longValue(doc.getLong(COMPLETED_LESSONS));
+        stats.completedCourses = longValue(doc.getLong(COMPLETED_COURSES));
+        stats.lastActivityAt = longValue(doc.getLong(LAST_ACTIVITY_AT));
+        return stats;
+    }
+
+    /**
+     * Add one enrollment document (progress, totalLessons, status, lastAccessedAt).
+     */
+    public void add(DocumentSnapshot enrollment) {
+        int total = (int) longValue(enrollment.getLong("totalLessons"));
+        int progress = (int) longValue(enrollment.getLong("progress"));
+        enrolledCount++;
+        totalLessons += total;
+        completedLessons += countedLessons(progress, total);
+        if ("completed".equals(enrollment.getString("status"))) completedCourses++;
+        lastActivityAt = Math.max(lastActivityAt, longValue(enrollment.getLong("lastAccessedAt")));
+    }
+
+    /**
+     * Overall progress in percent: completed lessons over all enrolled lessons.
+     */
+    public int overallPercent() {
+        if (totalLessons <= 0) return 0;
+        return (int) Math.min(100, completedLessons * 100 / totalLessons);
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put(ENROLLED_COUNT, enrolledCount);
+        map.put(TOTAL_LESSONS, totalLessons);
+        map.put(COMPLETED_LESSONS, completedLessons);
+        map.put(COMPLETED_COURSES, completedCourses);
+        map.put(LAST_ACTIVITY_AT, lastActivityAt);
+        return map;
+    }
+
+    /**
+     * Lessons a course contributes to {@link #completedLessons}.
+     */
+    public static int countedLessons(int progress, int totalLessons) {
+        return Math.max(0, Math.min(progress, totalLessons));
+    }
+
+    /* -------- Increments, for set(..., merge) in the writer's batch -------- */
+
+    public static Map<String, Object> enrollDelta(int totalLessons, long now) {
+        Map<String, Object> delta = new HashMap<>();
+        delta.put(ENROLLED_COUNT, FieldValue.increment(1));
+        delta.put(TOTAL_LESSONS, FieldValue.increment(totalLessons));
+        delta.put(LAST_ACTIVITY_AT, now);
+        return delta;
+    }
+
+    public static Map<String, Object> unenrollDelta(int progress, int totalLessons) {
+        Map<String, Object> delta = new HashMap<>();
+        delta.put(ENROLLED_COUNT, FieldValue.increment(-1));
+        delta.put(TOTAL_LESSONS, FieldValue.increment(-totalLessons));
+        delta.put(COMPLETED_LESSONS, FieldValue.increment(-countedLessons(progress, totalLessons)));
+        return delta;
+    }
+
+    /**
+     * Outbox write for a progress change, queued together with the enrollment update.
+     */
+    public static OutboxWrite progressDelta(@NonNull String uid, int lessonsDelta,
+                                            boolean becameCompleted, long now) {
+        OutboxWrite write = OutboxWrite.setMerge(documentPath(uid))
+                .put(LAST_ACTIVITY_AT, now);
+        if (lessonsDelta != 0) write.increment(COMPLETED_LESSONS, lessonsDelta);
+        if (becameCompleted) write.increment(COMPLETED_COURSES, 1);
+        return write;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EnrollmentStats)) return false;
+        EnrollmentStats other = (EnrollmentStats) o;
+        return enrolledCount == other.enrolledCount
+                && totalLessons == other.totalLessons
+                && completedLessons == other.completedLessons
+                && completedCourses == other.completedCourses
+                && lastActivityAt == other.lastActivityAt;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(enrolledCount);
+        result = 31 * result + Long.hashCode(totalLessons);
+        result = 31 * result + Long.hashCode(completedLessons);
+        result = 31 * result + Long.hashCode(completedCourses);
+        return 31 * result + Long.hashCode(lastActivityAt);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "EnrollmentStats{enrolled=" + enrolledCount + ", lessons=" + completedLessons
+                + "/" + totalLessons + ", completedCourses=" + completedCourses + "}";
+    }
+
+    private static long longValue(@Nullable Long value) {
+        return value != null ? value : 0;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.edubridge.data.local.sync;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.example.edubridge.data.local.entity.Course;
+import com.example.edubridge.data.local.repository.CourseRepository;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.EventListener;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * M2.1 Online/Offline Data Sync: mirrors users/{uid}/courses into the Room courses table.
+ *
+ * The first snapshot from the server replaces the table (it is the full result set),
+ * even when empty, so courses deleted while the app was closed, or left behind by
+ * another account, are cleared. After that only getDocumentChanges() are applied, as
+ * one batched upsert/delete transaction per snapshot; snapshots with no changes are
+ * skipped. Register with MetadataChanges.INCLUDE: a server result identical to the
+ * cache only changes isFromCache, which is otherwise never delivered.
+ */
+public class CourseSyncStage implements EventListener<QuerySnapshot> {
+
+    private static final String TAG = "CourseSyncStage";
+
+    private final CourseRepository repository;
+    private boolean hasBaseline = false;
+
+    public CourseSyncStage(Context context) {
+        this.repository = CourseRepository.getInstance(context);
+    }
+
+    @Override
+    public void onEvent(@Nullable QuerySnapshot snapshots, @Nullable FirebaseFirestoreException e) {
+        if (e != null) {
+            Log.w(TAG, "Listen failed.", e);
+            return;
+        }
+        if (snapshots == null) return;
+
+        if (!hasBaseline) {
+            // The cache may be stale; Room already is the offline copy
+            if (snapshots.getMetadata().isFromCache()) return;
+            hasBaseline = true;
+            List<QueryDocumentSnapshot> docs = new ArrayList<>();
+            for (QueryDocumentSnapshot doc : snapshots) docs.add(doc);
+            repository.replaceAll(toCourses(docs), null);
+            Log.d(TAG, "Baseline sync: " + docs.size() + " courses");
+            return;
+        }
+
+        List<DocumentChange> changes = snapshots.getDocumentChanges();
+        if (changes.isEmpty()) {
+            // Nothing to apply (e.g. a metadata-only snapshot)
+            return;
+        }
+
+        List<QueryDocumentSnapshot> changedDocs = new ArrayList<>();
+        List<String> removedIds = new ArrayList<>();
+        for (DocumentChange change : changes) {
+            if (change.getType() == DocumentChange.Type.REMOVED) {
+                removedIds.add(change.getDocument().getId());
+            } else {
+                changedDocs.add(change.getDocument());
+            }
+        }
+
+        repository.applyChanges(toCourses(changedDocs), removedIds);
+        Log.d(TAG, "Delta sync: " + changedDocs.size() + " upserts, " + removedIds.size() + " removals");
+    }
+
+    /**
+     * Map documents to entities. The repository then writes them on the disk executor.
+     */
+    private static List<Course> toCourses(List<QueryDocumentSnapshot> docs) {
+        List<Course> courses = new ArrayList<>(docs.size());
+        for (QueryDocumentSnapshot doc : docs) {
+            Course c = doc.toObject(Course.class);
+            c.courseId = doc.getId();
+            courses.add(c);
+        }
+        return courses;
+    }
+}
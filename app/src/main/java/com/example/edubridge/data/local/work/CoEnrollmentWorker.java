@@ -0,0 +1,112 @@
+package com.example.edubridge.data.local.work;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.edubridge.data.local.coenroll.CoEnrollmentJob;
+import com.example.edubridge.data.local.coenroll.CourseNeighbors;
+import com.example.edubridge.data.local.coenroll.FirestoreEnrollmentSource;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.WriteBatch;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rebuilds courseNeighbors/* from all users' enrollments with {@link CoEnrollmentJob}.
+ *
+ * Reads every user's enrollments, so it only succeeds for an admin account; it is
+ * scheduled weekly and on demand from the admin dashboard. A permission error ends
+ * the run instead of retrying.
+ */
+public class CoEnrollmentWorker extends Worker {
+
+    private static final String TAG = "CoEnrollmentWorker";
+    private static final String PERIODIC_WORK_NAME = "co_enrollment_rebuild";
+    private static final String ONE_TIME_WORK_NAME = "co_enrollment_rebuild_now";
+    private static final long TIMEOUT_SECONDS = 60;
+
+    public CoEnrollmentWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Idempotent: keeps the existing schedule if one is already enqueued.
+     */
+    public static void schedule(Context context) {
+        PeriodicWorkRequest request =
+                new PeriodicWorkRequest.Builder(CoEnrollmentWorker.class, 7, TimeUnit.DAYS)
+                        .setConstraints(constraints(NetworkType.UNMETERED))
+                        .build();
+        WorkManager.getInstance(context.getApplicationContext())
+                .enqueueUniquePeriodicWork(PERIODIC_WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    /**
+     * Rebuild as soon as there is a connection; ignored while a rebuild is pending.
+     */
+    public static void runNow(Context context) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(CoEnrollmentWorker.class)
+                .setConstraints(constraints(NetworkType.CONNECTED))
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 1, TimeUnit.MINUTES)
+                .build();
+        WorkManager.getInstance(context.getApplicationContext())
+                .enqueueUniqueWork(ONE_TIME_WORK_NAME, ExistingWorkPolicy.KEEP, request);
+    }
+
+    private static Constraints constraints(NetworkType network) {
+        return new Constraints.Builder()
+                .setRequiredNetworkType(network)
+                .build();
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        FirebaseFirestore db = FirebaseFirestore.getInstance();
+        FirestoreEnrollmentSource source = new FirestoreEnrollmentSource(db);
+        long computedAt = System.currentTimeMillis();
+        try {
+            CoEnrollmentJob.Result result = new CoEnrollmentJob().run(source, batch -> {
+                WriteBatch writes = db.batch();
+                for (CourseNeighbors neighbors : batch) {
+                    writes.set(db.collection(CourseNeighbors.COLLECTION).document(neighbors.courseId),
+                            neighbors.toMap(computedAt));
+                }
+                Tasks.await(writes.commit(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            });
+            Log.i(TAG, "Rebuilt from " + result + " (" + source.documentsRead() + " documents read)");
+            return Result.success();
+        } catch (Exception e) {
+            if (isPermissionDenied(e)) {
+                Log.w(TAG, "Not allowed to read all enrollments; skipping");
+                return Result.failure();
+            }
+            Log.w(TAG, "Rebuild failed", e);
+            return Result.retry();
+        }
+    }
+
+    private static boolean isPermissionDenied(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof FirebaseFirestoreException
+                    && ((FirebaseFirestoreException) t).getCode() == FirebaseFirestoreException.Code.PERMISSION_DENIED) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.edubridge.data.local.work;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.edubridge.data.local.repository.OutboxRepository;
+import com.example.edubridge.data.local.stats.EnrollmentStats;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.Source;
+
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Recomputes the signed-in user's EnrollmentStats from their enrollments subcollection
+ * and rewrites it if it drifted (a lost increment, a write made by an older app version).
+ *
+ * Runs daily, and on demand when the stats document is missing or an update could not
+ * compute its delta. It waits until the outbox is empty so queued increments are not
+ * counted twice, and commits only if the stats document did not change while it counted.
+ */
+public class EnrollmentStatsWorker extends Worker {
+
+    private static final String TAG = "EnrollmentStats";
+    private static final String PERIODIC_WORK_NAME = "enrollment_stats_reconcile";
+    private static final String ONE_TIME_WORK_NAME = "enrollment_stats_reconcile_now";
+    private static final long TIMEOUT_SECONDS = 30;
+
+    public EnrollmentStatsWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Idempotent: keeps the existing schedule if one is already enqueued.
+     */
+    public static void schedule(Context context) {
+        PeriodicWorkRequest request =
+                new PeriodicWorkRequest.Builder(EnrollmentStatsWorker.class, 1, TimeUnit.DAYS)
+                        .setConstraints(connected())
+                        .build();
+        WorkManager.getInstance(context.getApplicationContext())
+                .enqueueUniquePeriodicWork(PERIODIC_WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    /**
+     * Reconcile as soon as there is a connection; requests made while one is pending
+     * are folded into it.
+     */
+    public static void reconcileSoon(Context context) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(EnrollmentStatsWorker.class)
+                .setConstraints(connected())
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 30, TimeUnit.SECONDS)
+                .build();
+        WorkManager.getInstance(context.getApplicationContext())
+                .enqueueUniqueWork(ONE_TIME_WORK_NAME, ExistingWorkPolicy.KEEP, request);
+    }
+
+    private static Constraints connected() {
+        return new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.CONNECTED)
+                .build();
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        String uid = FirebaseAuth.getInstance().getUid();
+        if (uid == null) return Result.success();
+
+        if (OutboxRepository.getInstance(getApplicationContext()).pendingCountBlocking(uid) > 0) {
+            Log.d(TAG, "Outbox not empty; reconciling later");
+            return Result.retry();
+        }
+
+        try {
+            reconcile(FirebaseFirestore.getInstance(), uid);
+            return Result.success();
+        } catch (ExecutionException | TimeoutException e) {
+            Log.w(TAG, "Reconcile failed", e);
+            return Result.retry();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.retry();
+        }
+    }
+
+    private static void reconcile(FirebaseFirestore db, String uid)
+            throws ExecutionException, InterruptedException, TimeoutException {
+        DocumentReference statsRef = db.document(EnrollmentStats.documentPath(uid));
+
+        EnrollmentStats before = EnrollmentStats.fromSnapshot(
+                Tasks.await(statsRef.get(Source.SERVER), TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        QuerySnapshot enrollments = Tasks.await(
+                db.collection("users").document(uid).collection("enrollments").get(Source.SERVER),
+                TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        EnrollmentStats actual = new EnrollmentStats();
+        for (DocumentSnapshot doc : enrollments.getDocuments()) {
+            actual.add(doc);
+        }
+        // Unenrolling removes activity from the subcollection; never move it backwards
+        if (before != null) actual.lastActivityAt = Math.max(actual.lastActivityAt, before.lastActivityAt);
+
+        if (actual.equals(before)) {
+            Log.d(TAG, "In sync: " + actual);
+            return;
+        }
+        Log.i(TAG, "Repairing " + before + " -> " + actual);
+
+        Map<String, Object> data = actual.toMap();
+        data.put(EnrollmentStats.RECONCILED_AT, FieldValue.serverTimestamp());
+        // Compare-and-set: an increment that landed after we counted aborts the rewrite
+        Tasks.await(db.runTransaction(transaction -> {
+            EnrollmentStats current = EnrollmentStats.fromSnapshot(transaction.get(statsRef));
+            if (current == null ? before != null : !current.equals(before)) {
+                throw new FirebaseFirestoreException("Stats changed while reconciling",
+                        FirebaseFirestoreException.Code.CANCELLED);
+            }
+            transaction.set(statsRef, data);
+            return null;
+        }), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.edubridge.data.local.work;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.PeriodicWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.edubridge.data.local.repository.NotificationRepository;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Daily retention pass over the local notification inbox (max rows and max age).
+ */
+public class NotificationCompactionWorker extends Worker {
+
+    private static final String TAG = "NotificationCompaction";
+    private static final String WORK_NAME = "notification_compaction";
+
+    public NotificationCompactionWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Idempotent: keeps the existing schedule if one is already enqueued.
+     */
+    public static void schedule(Context context) {
+        PeriodicWorkRequest request =
+                new PeriodicWorkRequest.Builder(NotificationCompactionWorker.class, 1, TimeUnit.DAYS)
+                        .build();
+        WorkManager.getInstance(context.getApplicationContext())
+                .enqueueUniquePeriodicWork(WORK_NAME, ExistingPeriodicWorkPolicy.KEEP, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            int removed = NotificationRepository.getInstance(getApplicationContext()).compactBlocking();
+            Log.d(TAG, "Removed " + removed + " notifications");
+            return Result.success();
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Compaction failed", e);
+            return Result.retry();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.edubridge.data.local.work;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.BackoffPolicy;
+import androidx.work.Constraints;
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.NetworkType;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.edubridge.data.local.repository.OutboxRepository;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the Firestore write outbox whenever the device has a network connection.
+ */
+public class OutboxFlushWorker extends Worker {
+
+    private static final String TAG = "OutboxFlush";
+    private static final String WORK_NAME = "outbox_flush";
+
+    public OutboxFlushWorker(@NonNull Context context, @NonNull WorkerParameters params) {
+        super(context, params);
+    }
+
+    /**
+     * Appends a flush after any one already queued, so writes enqueued while a
+     * flush is running are still picked up.
+     */
+    public static void schedule(Context context) {
+        OneTimeWorkRequest request = new OneTimeWorkRequest.Builder(OutboxFlushWorker.class)
+                .setConstraints(new Constraints.Builder()
+                        .setRequiredNetworkType(NetworkType.CONNECTED)
+                        .build())
+                .setBackoffCriteria(BackoffPolicy.EXPONENTIAL, 30, TimeUnit.SECONDS)
+                .build();
+        WorkManager.getInstance(context.getApplicationContext())
+                .enqueueUniqueWork(WORK_NAME, ExistingWorkPolicy.APPEND_OR_REPLACE, request);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        try {
+            return OutboxRepository.getInstance(getApplicationContext()).flushBlocking()
+                    ? Result.success()
+                    : Result.retry();
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Flush failed", e);
+            return Result.retry();
+        }
+    }
+}
@@ -1,25 +1,245 @@
 package com.example.edubridge.utils;
 
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+
+import androidx.annotation.NonNull;
+
+import com.example.edubridge.data.local.metrics.ExecutorMetrics;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Process-wide executors. Use these instead of new Thread() or private executors.
+ *
+ * - diskIO: one thread, so Room and file writes run in submission order
+ * - networkIO: small fixed pool for blocking network calls (also backs OkHttp's dispatcher)
+ * - computation: one thread per core for CPU-bound work (ranking, diffing, parsing)
+ * - mainThread: posts to the UI thread
+ *
+ * Every background queue has a soft bound. A thread outside these pools (a Firestore or
+ * WorkManager callback, say) that submits to a full queue waits for space, which
+ * throttles producers such as sync listeners during a burst. The main thread and the
+ * pools' own threads never wait, since that could freeze the UI or deadlock a pool on
+ * itself; their tasks are queued past the bound. Nothing is rejected until shutdown,
+ * and diskIO still runs its tasks one at a time in submission order.
+ *
+ * Each pool reports queue depth, wait and run time to ExecutorMetrics; name a task
+ * with ExecutorMetrics.tag(...) to get its own row there.
+ */
 public class AppExecutors {
-    private static final Object LOCK = new Object();
-    private static AppExecutors sInstance;
+
+    private static final int DISK_QUEUE_CAPACITY = 1024;
+    private static final int NETWORK_THREADS = 4;
+    private static final int NETWORK_QUEUE_CAPACITY = 64;
+    private static final int COMPUTATION_QUEUE_CAPACITY = 256;
+
+    private static volatile AppExecutors sInstance;
+
     private final ExecutorService diskIO;
+    private final ExecutorService networkIO;
+    private final ExecutorService computation;
+    private final Executor mainThread;
 
-    public AppExecutors(ExecutorService diskIO){
+    public AppExecutors(ExecutorService diskIO, ExecutorService networkIO,
+                        ExecutorService computation, Executor mainThread) {
         this.diskIO = diskIO;
+        this.networkIO = networkIO;
+        this.computation = computation;
+        this.mainThread = mainThread;
     }
 
-    public static AppExecutors getInstance(){
-        if (sInstance == null ){
-            synchronized (LOCK){
-                sInstance = new AppExecutors(Executors.newSingleThreadExecutor());
+    public static AppExecutors getInstance() {
+        if (sInstance == null) {
+            synchronized (AppExecutors.class) {
+                if (sInstance == null) {
+                    int cores = Math.max(2, Runtime.getRuntime().availableProcessors());
+                    sInstance = new AppExecutors(
+                            newBoundedPool("disk", 1, DISK_QUEUE_CAPACITY,
+                                    Process.THREAD_PRIORITY_BACKGROUND),
+                            newBoundedPool("net", NETWORK_THREADS, NETWORK_QUEUE_CAPACITY,
+                                    Process.THREAD_PRIORITY_BACKGROUND),
+                            newBoundedPool("cpu", cores, COMPUTATION_QUEUE_CAPACITY,
+                                    Process.THREAD_PRIORITY_DEFAULT),
+                            new MainThreadExecutor());
+                }
             }
         }
         return sInstance;
     }
 
-    public ExecutorService diskIO(){return diskIO;}
+    public ExecutorService diskIO() { return diskIO; }
+
+    public ExecutorService networkIO() { return networkIO; }
+
+    public ExecutorService computation() { return computation; }
+
+    public Executor mainThread() { return mainThread; }
+
+    /**
+     * Number of threads in {@link #networkIO()}; OkHttp clients cap concurrent calls to it.
+     */
+    public static int networkThreadCount() {
+        return NETWORK_THREADS;
+    }
+
+    private static ExecutorService newBoundedPool(String name, int threads, int queueCapacity,
+                                                  int priority) {
+        ThreadPoolExecutor pool = new InstrumentedPool(name, threads, queueCapacity,
+                new NamedThreadFactory(name, priority));
+        // Idle pools release their threads; they are recreated on demand
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    /**
+     * Wraps each task to time it from enqueue to start and from start to finish, and
+     * applies the soft queue bound (see the class doc).
+     */
+    private static final class InstrumentedPool extends ThreadPoolExecutor {
+        // The pool whose worker is the current thread, if any
+        private static final ThreadLocal<InstrumentedPool> WORKER_OF = new ThreadLocal<>();
+
+        private final String name;
+        private final int queueCapacity;
+        private final Object space = new Object();
+        private volatile int waiters;
+
+        InstrumentedPool(String name, int threads, int queueCapacity, ThreadFactory threadFactory) {
+            // The queue itself is unbounded so a submission is never refused
+            super(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+            this.name = name;
+            this.queueCapacity = queueCapacity;
+        }
+
+        @Override
+        public void execute(@NonNull Runnable command) {
+            if (WORKER_OF.get() == null && Looper.myLooper() != Looper.getMainLooper()) {
+                awaitSpace();
+            }
+            ExecutorMetrics.recordEnqueue(name, getQueue().size());
+            try {
+                super.execute(new TimedTask(name, ExecutorMetrics.tagOf(command), command));
+            } catch (RejectedExecutionException e) {
+                // Shut down: the task never starts, so take it back out of the depth
+                ExecutorMetrics.recordRejected(name);
+                throw e;
+            }
+        }
+
+        private void awaitSpace() {
+            if (getQueue().size() < queueCapacity) return;
+            synchronized (space) {
+                waiters++;
+                try {
+                    while (getQueue().size() >= queueCapacity) space.wait();
+                } catch (InterruptedException e) {
+                    // Queue the task anyway rather than lose it
+                    Thread.currentThread().interrupt();
+                } finally {
+                    waiters--;
+                }
+            }
+        }
+
+        @Override
+        protected void beforeExecute(Thread t, Runnable r) {
+            WORKER_OF.set(this);
+            // A task left the queue
+            if (waiters > 0) {
+                synchronized (space) {
+                    space.notifyAll();
+                }
+            }
+        }
+
+        // Keep the caller's tag on submit()ted tasks, which arrive here as FutureTasks
+        @Override
+        protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+            return new TaggedFuture<>(ExecutorMetrics.tagOf(runnable), Executors.callable(runnable, value));
+        }
+
+        @Override
+        protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+            return new TaggedFuture<>(ExecutorMetrics.tagOf(callable), callable);
+        }
+    }
+
+    private static final class TimedTask implements Runnable {
+        private final String pool;
+        private final String tag;
+        private final Runnable task;
+        private final long enqueuedAt = System.nanoTime();
+
+        TimedTask(String pool, String tag, Runnable task) {
+            this.pool = pool;
+            this.tag = tag;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            ExecutorMetrics.recordStart(pool);
+            try {
+                task.run();
+            } finally {
+                ExecutorMetrics.recordTask(pool, tag, start - enqueuedAt, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private static final class TaggedFuture<T> extends FutureTask<T> implements ExecutorMetrics.Tagged {
+        private final String tag;
+
+        TaggedFuture(String tag, Callable<T> callable) {
+            super(callable);
+            this.tag = tag;
+        }
+
+        @Override
+        public String tag() {
+            return tag;
+        }
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final int priority;
+        private final AtomicInteger count = new AtomicInteger(1);
+
+        NamedThreadFactory(String name, int priority) {
+            this.prefix = "edubridge-" + name + "-";
+            this.priority = priority;
+        }
+
+        @Override
+        public Thread newThread(@NonNull Runnable runnable) {
+            return new Thread(() -> {
+                Process.setThreadPriority(priority);
+                runnable.run();
+            }, prefix + count.getAndIncrement());
+        }
+    }
+
+    private static class MainThreadExecutor implements Executor {
+        private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+        @Override
+        public void execute(Runnable command) {
+            mainHandler.post(command);
+        }
+    }
 }
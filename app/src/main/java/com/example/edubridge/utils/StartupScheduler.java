@@ -0,0 +1,233 @@
+package com.example.edubridge.utils;
+
+import android.app.Activity;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.MessageQueue;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.example.edubridge.data.local.metrics.StartupMetrics;
+
+import java.util.ArrayDeque;
+import java.util.Locale;
+
+/**
+ * Orders a screen's startup work into tiers so only what the first frame needs runs
+ * before it:
+ * - CRITICAL: run inline by {@link #start()}, before the first draw
+ * - AFTER_FIRST_FRAME: one main-thread message each, once the first frame is drawn
+ * - IDLE: one task per main looper idle callback after that, or all of them once
+ *   {@link #IDLE_TIMEOUT_MS} has passed without the looper going idle
+ *
+ * Each phase's wall time from activity creation and each task's run time go to
+ * {@link StartupMetrics}. Pending tasks are dropped when the owner is destroyed.
+ *
+ * Usage: {@code private final StartupScheduler startup = StartupScheduler.of(this, "Dashboard");}
+ * as an activity field, then add tasks in onCreate and call {@link #start()} at its end.
+ * All methods are main-thread only.
+ */
+public final class StartupScheduler implements LifecycleEventObserver {
+
+    private static final String TAG = "StartupScheduler";
+
+    public static final long IDLE_TIMEOUT_MS = 5_000;
+
+    public enum Tier {
+        CRITICAL, AFTER_FIRST_FRAME, IDLE
+    }
+
+    private final Activity activity;
+    private final String screen;
+    private final long createdAt = SystemClock.elapsedRealtimeNanos();
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    private final ArrayDeque<Task> critical = new ArrayDeque<>();
+    private final ArrayDeque<Task> afterFirstFrame = new ArrayDeque<>();
+    private final ArrayDeque<Task> idle = new ArrayDeque<>();
+
+    private boolean started = false;
+    private boolean destroyed = false;
+    private boolean firstFrameSeen = false;
+    private View decorView;
+    private final ViewTreeObserver.OnDrawListener drawListener = () -> {
+        if (firstFrameSeen) return;
+        firstFrameSeen = true;
+        recordPhase("first_frame");
+        // Listeners can't be removed from inside onDraw
+        handler.post(this::onFirstFrame);
+    };
+    private MessageQueue.IdleHandler idleHandler;
+    private final Runnable idleTimeout = this::drainIdle;
+
+    private <A extends Activity & LifecycleOwner> StartupScheduler(A activity, String screen) {
+        this.activity = activity;
+        this.screen = screen;
+        activity.getLifecycle().addObserver(this);
+    }
+
+    @MainThread
+    public static <A extends Activity & LifecycleOwner> StartupScheduler of(A activity, String screen) {
+        return new StartupScheduler(activity, screen);
+    }
+
+    @Override
+    public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+        if (event == Lifecycle.Event.ON_DESTROY) {
+            source.getLifecycle().removeObserver(this);
+            cancel();
+        }
+    }
+
+    @MainThread
+    public StartupScheduler add(Tier tier, String name, Runnable task) {
+        if (started && tier == Tier.CRITICAL) {
+            throw new IllegalStateException("Critical tasks must be added before start()");
+        }
+        queueFor(tier).add(new Task(tier, name, task));
+        return this;
+    }
+
+    /**
+     * Run the critical tier now and schedule the rest. Call at the end of onCreate.
+     */
+    @MainThread
+    public void start() {
+        if (started || destroyed) return;
+        started = true;
+
+        while (!critical.isEmpty()) {
+            run(critical.poll());
+        }
+        recordPhase("critical");
+
+        decorView = activity.getWindow().getDecorView();
+        decorView.getViewTreeObserver().addOnDrawListener(drawListener);
+    }
+
+    private void onFirstFrame() {
+        if (destroyed) return;
+        removeDrawListener();
+        if (afterFirstFrame.isEmpty()) {
+            onAfterFirstFrameDone();
+            return;
+        }
+        // Separate messages, so input that arrives meanwhile is handled between tasks
+        for (int i = afterFirstFrame.size(); i > 0; i--) {
+            handler.post(this::runNextAfterFirstFrame);
+        }
+    }
+
+    private void runNextAfterFirstFrame() {
+        if (destroyed || afterFirstFrame.isEmpty()) return;
+        run(afterFirstFrame.poll());
+        if (afterFirstFrame.isEmpty()) onAfterFirstFrameDone();
+    }
+
+    private void onAfterFirstFrameDone() {
+        recordPhase("after_first_frame");
+        if (idle.isEmpty()) {
+            recordPhase("idle_done");
+            return;
+        }
+        idleHandler = () -> {
+            if (destroyed || idle.isEmpty()) return false;
+            run(idle.poll());
+            if (idle.isEmpty()) {
+                onIdleDone();
+                return false;
+            }
+            return true;
+        };
+        Looper.myQueue().addIdleHandler(idleHandler);
+        handler.postDelayed(idleTimeout, IDLE_TIMEOUT_MS);
+    }
+
+    /**
+     * The looper never went idle (e.g. a running animation): run what is left.
+     */
+    private void drainIdle() {
+        if (destroyed || idle.isEmpty()) return;
+        Log.w(TAG, screen + ": looper not idle after " + IDLE_TIMEOUT_MS + " ms, running "
+                + idle.size() + " idle task(s)");
+        if (idleHandler != null) Looper.myQueue().removeIdleHandler(idleHandler);
+        while (!idle.isEmpty()) {
+            run(idle.poll());
+        }
+        onIdleDone();
+    }
+
+    private void onIdleDone() {
+        idleHandler = null;
+        handler.removeCallbacks(idleTimeout);
+        recordPhase("idle_done");
+    }
+
+    private void run(Task task) {
+        long begin = SystemClock.elapsedRealtimeNanos();
+        try {
+            task.runnable.run();
+        } finally {
+            long took = SystemClock.elapsedRealtimeNanos() - begin;
+            StartupMetrics.record(screen, task.tier.name().toLowerCase(Locale.US) + "/" + task.name, took);
+        }
+    }
+
+    private void recordPhase(String phase) {
+        long elapsed = SystemClock.elapsedRealtimeNanos() - createdAt;
+        StartupMetrics.record(screen, phase, elapsed);
+        Log.d(TAG, String.format(Locale.US, "%s %s at %.1f ms", screen, phase, elapsed / 1e6));
+    }
+
+    private ArrayDeque<Task> queueFor(Tier tier) {
+        switch (tier) {
+            case CRITICAL:
+                return critical;
+            case AFTER_FIRST_FRAME:
+                return afterFirstFrame;
+            default:
+                return idle;
+        }
+    }
+
+    private void removeDrawListener() {
+        if (decorView == null) return;
+        ViewTreeObserver observer = decorView.getViewTreeObserver();
+        if (observer.isAlive()) observer.removeOnDrawListener(drawListener);
+        decorView = null;
+    }
+
+    @MainThread
+    private void cancel() {
+        destroyed = true;
+        critical.clear();
+        afterFirstFrame.clear();
+        idle.clear();
+        handler.removeCallbacksAndMessages(null);
+        if (idleHandler != null) {
+            Looper.myQueue().removeIdleHandler(idleHandler);
+            idleHandler = null;
+        }
+        removeDrawListener();
+    }
+
+    private static final class Task {
+        final Tier tier;
+        final String name;
+        final Runnable runnable;
+
+        Task(Tier tier, String name, Runnable runnable) {
+            this.tier = tier;
+            this.name = name;
+            this.runnable = runnable;
+        }
+    }
+}
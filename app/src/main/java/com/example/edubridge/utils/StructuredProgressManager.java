@@ -1,57 +1,50 @@
 package com.example.edubridge.utils;
 
 import android.content.Context;
-import android.content.SharedPreferences;
+
+import androidx.annotation.Nullable;
+
+import com.example.edubridge.data.local.repository.DbCallback;
+import com.example.edubridge.data.local.repository.LessonProgressRepository;
 
 /**
  * Manages structured content progress for M3.4.
- * Progress is stored locally to support offline usage.
+ * Progress is stored locally to support offline usage: one lesson_progress row
+ * per course id, holding a completion bitset (see LessonProgress).
  */
 public class StructuredProgressManager {
 
-    private static final String PREF_NAME = "structured_content_progress";
+    // Legacy title-keyed prefs file; its keys cannot be mapped to course ids
+    private static final String LEGACY_PREF_NAME = "structured_content_progress";
+
+    private static volatile boolean legacyPrefsCleared = false;
 
     /**
      * Check if a specific lesson is completed.
      */
-    public static boolean isLessonCompleted(Context context,
-                                            String courseTitle,
-                                            int lessonIndex) {
-        SharedPreferences prefs =
-                context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
-
-        return prefs.getBoolean(courseTitle + "_lesson_" + lessonIndex, false);
+    public static void isLessonCompleted(Context context,
+                                         String courseId,
+                                         int lessonIndex,
+                                         DbCallback<Boolean> callback) {
+        repository(context).isLessonCompleted(courseId, lessonIndex, callback);
     }
 
     /**
      * Mark a lesson as completed.
      */
     public static void markLessonCompleted(Context context,
-                                           String courseTitle,
+                                           String courseId,
                                            int lessonIndex) {
-
-        SharedPreferences prefs =
-                context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
-
-        prefs.edit()
-                .putBoolean(courseTitle + "_lesson_" + lessonIndex, true)
-                .apply();
+        repository(context).markLessonCompleted(courseId, lessonIndex, null);
     }
 
     /**
      * Returns how many lessons are completed in this course.
      */
-    public static int getCompletedLessons(Context context,
-                                          String courseTitle,
-                                          int totalLessons) {
-
-        int count = 0;
-        for (int i = 1; i <= totalLessons; i++) {
-            if (isLessonCompleted(context, courseTitle, i)) {
-                count++;
-            }
-        }
-        return count;
+    public static void getCompletedLessons(Context context,
+                                           String courseId,
+                                           DbCallback<Integer> callback) {
+        repository(context).loadCompletedCount(courseId, callback);
     }
 
     /**
@@ -59,17 +52,17 @@ public class StructuredProgressManager {
      * Used when user unenrolls.
      */
     public static void clearCourse(Context context,
-                                   String courseTitle,
-                                   int totalLessons) {
-
-        SharedPreferences.Editor editor =
-                context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE)
-                        .edit();
+                                   String courseId,
+                                   @Nullable Runnable onDone) {
+        repository(context).clearCourse(courseId, onDone);
+    }
 
-        for (int i = 1; i <= totalLessons; i++) {
-            editor.remove(courseTitle + "_lesson_" + i);
+    private static LessonProgressRepository repository(Context context) {
+        if (!legacyPrefsCleared) {
+            legacyPrefsCleared = true;
+            Context app = context.getApplicationContext();
+            AppExecutors.getInstance().diskIO().execute(() -> app.deleteSharedPreferences(LEGACY_PREF_NAME));
         }
-
-        editor.apply();
+        return LessonProgressRepository.getInstance(context);
     }
 }
@@ -0,0 +1,169 @@
+package com.example.edubridge.utils;
+
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleEventObserver;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.example.edubridge.data.local.repository.DbCallback;
+import com.google.firebase.firestore.ListenerRegistration;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import okhttp3.Call;
+
+/**
+ * Background work owned by one activity (or any LifecycleOwner).
+ *
+ * Futures, Firestore listeners and OkHttp calls added here are cancelled together
+ * when the owner is destroyed, and callbacks wrapped with {@link #bind} are dropped
+ * from then on, so results never reach a dead UI.
+ *
+ * Usage: {@code private final TaskScope scope = TaskScope.of(this);} as an activity field.
+ * All methods are main-thread only.
+ */
+public final class TaskScope implements LifecycleEventObserver {
+
+    private static final String TAG = "TaskScope";
+
+    /**
+     * Anything that can be cancelled.
+     */
+    public interface Cancellable {
+        void cancel();
+    }
+
+    private final List<Cancellable> tasks = new ArrayList<>();
+    private final List<Future<?>> futures = new ArrayList<>();
+    private boolean active = true;
+
+    private TaskScope() {}
+
+    @MainThread
+    public static TaskScope of(LifecycleOwner owner) {
+        TaskScope scope = new TaskScope();
+        owner.getLifecycle().addObserver(scope);
+        return scope;
+    }
+
+    @Override
+    public void onStateChanged(@NonNull LifecycleOwner source, @NonNull Lifecycle.Event event) {
+        if (event == Lifecycle.Event.ON_DESTROY) {
+            source.getLifecycle().removeObserver(this);
+            cancelAll();
+        }
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    @MainThread
+    public <F extends Future<?>> F add(F future) {
+        if (future == null) return null;
+        if (!active) {
+            future.cancel(false);
+            return future;
+        }
+        // Drop finished futures so long-lived screens don't accumulate them
+        Iterator<Future<?>> it = futures.iterator();
+        while (it.hasNext()) {
+            if (it.next().isDone()) it.remove();
+        }
+        futures.add(future);
+        return future;
+    }
+
+    @MainThread
+    public ListenerRegistration add(ListenerRegistration registration) {
+        if (registration != null) add(registration::remove);
+        return registration;
+    }
+
+    @MainThread
+    public Call add(Call call) {
+        if (call != null) add(call::cancel);
+        return call;
+    }
+
+    @MainThread
+    public void add(Cancellable task) {
+        if (!active) {
+            task.cancel();
+            return;
+        }
+        tasks.add(task);
+    }
+
+    /**
+     * Stop tracking a task that finished or was cancelled by its owner.
+     */
+    @MainThread
+    public void remove(Cancellable task) {
+        tasks.remove(task);
+    }
+
+    /**
+     * Wrap a main-thread callback so it is skipped once the scope is cancelled.
+     */
+    public <T> DbCallback<T> bind(DbCallback<T> callback) {
+        return new DbCallback<T>() {
+            @Override
+            public void onResult(T result) {
+                if (active) callback.onResult(result);
+            }
+
+            @Override
+            public void onError(Exception error) {
+                if (active) callback.onError(error);
+            }
+        };
+    }
+
+    /**
+     * Like {@link #bind(DbCallback)}, running onError instead if the read fails.
+     */
+    public <T> DbCallback<T> bind(DbCallback<T> callback, Runnable onError) {
+        return bind(new DbCallback<T>() {
+            @Override
+            public void onResult(T result) {
+                callback.onResult(result);
+            }
+
+            @Override
+            public void onError(Exception error) {
+                onError.run();
+            }
+        });
+    }
+
+    public Runnable bind(Runnable callback) {
+        return () -> {
+            if (active) callback.run();
+        };
+    }
+
+    @MainThread
+    public void cancelAll() {
+        active = false;
+        // Not interrupting: a Room read that already started finishes, its callback is dropped
+        for (Future<?> future : futures) {
+            future.cancel(false);
+        }
+        futures.clear();
+        for (Cancellable task : tasks) {
+            try {
+                task.cancel();
+            } catch (RuntimeException e) {
+                Log.w(TAG, "Cancel failed", e);
+            }
+        }
+        tasks.clear();
+    }
+}
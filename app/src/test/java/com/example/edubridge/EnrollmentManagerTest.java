@@ -0,0 +1,221 @@
+package com.example.edubridge;
+
+import androidx.lifecycle.LiveData;
+
+import com.example.edubridge.data.local.dao.OutboxDao;
+import com.example.edubridge.data.local.entity.Enrollment;
+import com.example.edubridge.data.local.entity.OutboxEntry;
+import com.example.edubridge.data.local.outbox.OutboxCodec;
+import com.example.edubridge.data.local.outbox.OutboxWrite;
+import com.example.edubridge.data.local.stats.EnrollmentStats;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Progress updates as they reach the outbox, queued through OutboxDao#enqueue against
+ * an in-memory table.
+ */
+public class EnrollmentManagerTest {
+
+    private static final String UID = "u1";
+
+    @Test
+    public void repeatedProgressUpdatesQueueOneGroup() throws Exception {
+        InMemoryOutboxDao dao = new InMemoryOutboxDao();
+
+        enqueue(dao, EnrollmentManager.progressWrites(UID, "algebra", 1, 10, enrollment(0, 10), 1000));
+        enqueue(dao, EnrollmentManager.progressWrites(UID, "algebra", 2, 10, enrollment(1, 10), 2000));
+
+        List<OutboxEntry> rows = dao.all();
+        assertEquals(2, rows.size());
+        assertEquals(rows.get(0).groupId, rows.get(1).groupId);
+        Map<String, Object> update = OutboxCodec.decode(rows.get(0).fieldsJson);
+        assertEquals(2L, ((Number) update.get("progress")).longValue());
+        assertEquals(2000L, ((Number) update.get("lastAccessedAt")).longValue());
+        // Both ticks' lessons still count, as one increment
+        JSONObject stats = new JSONObject(rows.get(1).fieldsJson);
+        assertEquals(2, stats.getJSONObject(EnrollmentStats.COMPLETED_LESSONS).getLong("v"));
+        assertEquals(2000L, stats.getLong(EnrollmentStats.LAST_ACTIVITY_AT));
+    }
+
+    @Test
+    public void progressOnAnotherCourseInBetweenStartsNewGroup() {
+        InMemoryOutboxDao dao = new InMemoryOutboxDao();
+
+        enqueue(dao, EnrollmentManager.progressWrites(UID, "algebra", 1, 10, enrollment(0, 10), 1000));
+        enqueue(dao, EnrollmentManager.progressWrites(UID, "physics", 1, 10, enrollment(0, 10), 1500));
+        enqueue(dao, EnrollmentManager.progressWrites(UID, "algebra", 2, 10, enrollment(1, 10), 2000));
+
+        // The stats write of physics is newer than algebra's, so algebra cannot fold back
+        assertEquals(6, dao.all().size());
+    }
+
+    @Test
+    public void claimedGroupIsNotCoalescedInto() {
+        InMemoryOutboxDao dao = new InMemoryOutboxDao();
+
+        enqueue(dao, EnrollmentManager.progressWrites(UID, "algebra", 1, 10, enrollment(0, 10), 1000));
+        dao.claim(UID, OutboxDao.MAX_BIND_ARGS);
+        enqueue(dao, EnrollmentManager.progressWrites(UID, "algebra", 2, 10, enrollment(1, 10), 2000));
+
+        assertEquals(4, dao.all().size());
+    }
+
+    @Test
+    public void otherAccountsWritesAreNeitherCoalescedNorClaimed() {
+        InMemoryOutboxDao dao = new InMemoryOutboxDao();
+
+        enqueue(dao, "other", EnrollmentManager.progressWrites("other", "algebra", 1, 10, enrollment(0, 10), 1000));
+        enqueue(dao, EnrollmentManager.progressWrites(UID, "algebra", 1, 10, enrollment(0, 10), 1000));
+
+        List<OutboxEntry> claimed = dao.claim(UID, OutboxDao.MAX_BIND_ARGS);
+        assertEquals(2, claimed.size());
+        for (OutboxEntry e : claimed) assertEquals(UID, e.uid);
+        assertEquals(2, dao.countPending("other"));
+    }
+
+    private static void enqueue(OutboxDao dao, List<OutboxWrite> writes) {
+        enqueue(dao, UID, writes);
+    }
+
+    private static void enqueue(OutboxDao dao, String uid, List<OutboxWrite> writes) {
+        List<OutboxEntry> group = new ArrayList<>();
+        for (OutboxWrite write : writes) {
+            OutboxEntry entry = OutboxCodec.toEntry(write, 0);
+            entry.uid = uid;
+            group.add(entry);
+        }
+        dao.enqueue(group);
+    }
+
+    private static Enrollment enrollment(int progress, int totalLessons) {
+        Enrollment e = new Enrollment();
+        e.progress = progress;
+        e.totalLessons = totalLessons;
+        e.status = progress > 0 ? "in_progress" : "enrolled";
+        return e;
+    }
+
+    /**
+     * The queries OutboxDao's default methods build on, over a sorted map.
+     */
+    private static final class InMemoryOutboxDao implements OutboxDao {
+        private final TreeMap<Long, OutboxEntry> rows = new TreeMap<>();
+        private long nextId = 1;
+
+        List<OutboxEntry> all() {
+            return new ArrayList<>(rows.values());
+        }
+
+        @Override
+        public long insert(OutboxEntry entry) {
+            entry.id = nextId++;
+            rows.put(entry.id, copy(entry));
+            return entry.id;
+        }
+
+        @Override
+        public void update(OutboxEntry entry) {
+            rows.put(entry.id, copy(entry));
+        }
+
+        @Override
+        public OutboxEntry getLatestPending(String documentPath, String uid) {
+            for (OutboxEntry e : rows.descendingMap().values()) {
+                if (!e.inFlight && e.documentPath.equals(documentPath) && Objects.equals(e.uid, uid)) {
+                    return copy(e);
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public List<OutboxEntry> getGroup(long groupId, int limit) {
+            List<OutboxEntry> group = new ArrayList<>();
+            for (OutboxEntry e : rows.subMap(groupId, groupId + limit).values()) {
+                if (e.groupId == groupId) group.add(copy(e));
+            }
+            return group;
+        }
+
+        @Override
+        public List<OutboxEntry> getPending(String uid, int limit) {
+            List<OutboxEntry> pending = new ArrayList<>();
+            for (OutboxEntry e : rows.values()) {
+                if (pending.size() == limit) break;
+                if (!e.inFlight && (e.uid == null || e.uid.equals(uid))) pending.add(copy(e));
+            }
+            return pending;
+        }
+
+        @Override
+        public void markInFlight(List<Long> ids) {
+            for (Long id : ids) rows.get(id).inFlight = true;
+        }
+
+        @Override
+        public void deleteByIds(List<Long> ids) {
+            for (Long id : ids) rows.remove(id);
+        }
+
+        @Override
+        public void release(List<Long> ids) {
+            for (Long id : ids) rows.get(id).inFlight = false;
+        }
+
+        @Override
+        public void releaseRejected(List<Long> ids) {
+            for (Long id : ids) {
+                rows.get(id).inFlight = false;
+                rows.get(id).attempts++;
+            }
+        }
+
+        @Override
+        public int resetInFlight() {
+            int count = 0;
+            for (OutboxEntry e : rows.values()) {
+                if (e.inFlight) count++;
+                e.inFlight = false;
+            }
+            return count;
+        }
+
+        @Override
+        public LiveData<Integer> observePendingCount() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int countPending(String uid) {
+            int count = 0;
+            for (OutboxEntry e : rows.values()) {
+                if (e.uid == null || e.uid.equals(uid)) count++;
+            }
+            return count;
+        }
+
+        private static OutboxEntry copy(OutboxEntry e) {
+            OutboxEntry c = new OutboxEntry();
+            c.id = e.id;
+            c.groupId = e.groupId;
+            c.documentPath = e.documentPath;
+            c.type = e.type;
+            c.fieldsJson = e.fieldsJson;
+            c.createdAt = e.createdAt;
+            c.attempts = e.attempts;
+            c.inFlight = e.inFlight;
+            c.uid = e.uid;
+            return c;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.edubridge.data.local.coenroll;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the co-enrollment job locally against generated users, streamed one at a
+ * time the way FirestoreEnrollmentSource does, and checks what it would publish.
+ */
+public class CoEnrollmentJobTest {
+
+    @Test
+    public void publishesTopNeighboursForEveryCourse() throws Exception {
+        List<Set<String>> users = Arrays.asList(
+                set("algebra", "calculus", "stats"),
+                set("algebra", "calculus"),
+                set("algebra", "calculus", "physics"),
+                set("physics", "chemistry"),
+                set("physics", "chemistry"),
+                set("art"));
+        Map<String, CourseNeighbors> published = new HashMap<>();
+
+        CoEnrollmentJob.Result result = new CoEnrollmentJob(2, 2).run(users.iterator(), batch -> {
+            for (CourseNeighbors n : batch) published.put(n.courseId, n);
+        });
+
+        assertEquals(6, result.users);
+        assertEquals(6, published.size());
+        // algebra/calculus: 3 shared of 3 each
+        assertEquals(Arrays.asList("calculus"), published.get("algebra").neighborIds);
+        assertEquals(1.0, published.get("algebra").scores.get(0), 1e-9);
+        assertEquals(Arrays.asList("chemistry"), published.get("physics").neighborIds);
+        // Pairs seen by a single user are below min support
+        assertTrue(published.get("stats").neighborIds.isEmpty());
+        assertTrue(published.get("art").neighborIds.isEmpty());
+        assertEquals(3, published.get("physics").enrolledCount);
+    }
+
+    @Test
+    public void streamsManyUsersInPublishBatches() throws Exception {
+        int userCount = 50_000;
+        int catalogSize = 2_000;
+        List<Integer> batchSizes = new ArrayList<>();
+        Set<String> courses = new HashSet<>();
+
+        CoEnrollmentJob.Result result = new CoEnrollmentJob().run(generatedUsers(userCount, catalogSize), batch -> {
+            batchSizes.add(batch.size());
+            for (CourseNeighbors n : batch) {
+                courses.add(n.courseId);
+                assertTrue(n.neighborIds.size() <= CoEnrollmentJob.DEFAULT_NEIGHBORS);
+                assertEquals(n.neighborIds.size(), n.scores.size());
+                assertTrue(!n.neighborIds.contains(n.courseId));
+                for (int i = 1; i < n.scores.size(); i++) {
+                    assertTrue(n.scores.get(i - 1) >= n.scores.get(i));
+                }
+            }
+        });
+
+        assertEquals(userCount, result.users);
+        assertEquals(result.courses, courses.size());
+        for (int size : batchSizes) assertTrue(size <= CoEnrollmentJob.PUBLISH_BATCH_SIZE);
+    }
+
+    @Test
+    public void boostsSkipEnrolledCoursesAndSumSources() {
+        List<CourseNeighbors> sources = Arrays.asList(
+                new CourseNeighbors("a", 10, Arrays.asList("b", "c"), Arrays.asList(0.5, 0.3)),
+                new CourseNeighbors("b", 10, Arrays.asList("a", "c"), Arrays.asList(0.5, 0.2)));
+
+        Map<String, Integer> boosts = CoEnrollmentSignal.boosts(sources, set("a", "b"));
+
+        assertEquals(1, boosts.size());
+        assertEquals(Integer.valueOf(5), boosts.get("c"));
+    }
+
+    /**
+     * Users generated on demand, each in one of a few interest clusters, so nothing
+     * but the matrix itself holds on to them.
+     */
+    private static Iterator<Collection<String>> generatedUsers(int count, int catalogSize) {
+        Random random = new Random(1);
+        int clusters = 20;
+        int clusterSize = catalogSize / clusters;
+        return new Iterator<Collection<String>>() {
+            int produced = 0;
+
+            @Override
+            public boolean hasNext() {
+                return produced < count;
+            }
+
+            @Override
+            public Collection<String> next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                produced++;
+                int cluster = random.nextInt(clusters);
+                int enrolled = 1 + random.nextInt(8);
+                Set<String> user = new HashSet<>();
+                for (int i = 0; i < enrolled; i++) {
+                    int course = random.nextInt(5) == 0
+                            ? random.nextInt(catalogSize)
+                            : cluster * clusterSize + random.nextInt(clusterSize);
+                    user.add("course" + course);
+                }
+                return user;
+            }
+        };
+    }
+
+    private static Set<String> set(String... ids) {
+        return new HashSet<>(Arrays.asList(ids));
+    }
+}
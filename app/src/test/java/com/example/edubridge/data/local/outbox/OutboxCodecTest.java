@@ -0,0 +1,192 @@
+package com.example.edubridge.data.local.outbox;
+
+import com.example.edubridge.data.local.entity.OutboxEntry;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Merge and coalescing rules of the outbox.
+ */
+public class OutboxCodecTest {
+
+    // ===== merge =====
+
+    @Test
+    public void mergeSumsIncrements() {
+        Map<String, Object> merged = OutboxCodec.merge(
+                OutboxWrite.update("users/u").increment("xp", 5).getFields(),
+                OutboxWrite.update("users/u").increment("xp", 7).getFields(),
+                false);
+
+        assertEquals(12L, ((OutboxCodec.Increment) merged.get("xp")).delta.longValue());
+    }
+
+    @Test
+    public void mergeAddsIncrementToPlainNumber() {
+        Map<String, Object> merged = OutboxCodec.merge(
+                OutboxWrite.set("users/u").put("xp", 10L).getFields(),
+                OutboxWrite.set("users/u").increment("xp", 3).getFields(),
+                false);
+
+        assertEquals(13L, ((Number) merged.get("xp")).longValue());
+    }
+
+    @Test
+    public void mergeKeepsEarlierFieldsAndLetsLaterWin() {
+        Map<String, Object> merged = OutboxCodec.merge(
+                OutboxWrite.update("c/1").put("title", "Old").put("level", 1L).getFields(),
+                OutboxWrite.update("c/1").put("title", "New").getFields(),
+                false);
+
+        assertEquals("New", merged.get("title"));
+        assertEquals(1L, merged.get("level"));
+    }
+
+    @Test
+    public void deepMergeCombinesNestedMaps() {
+        Map<String, Object> earlier = OutboxWrite.setMerge("c/1")
+                .put("stats", OutboxWrite.setMerge("").put("views", 1L).getFields()).getFields();
+        Map<String, Object> later = OutboxWrite.setMerge("c/1")
+                .put("stats", OutboxWrite.setMerge("").put("likes", 2L).getFields()).getFields();
+
+        Map<?, ?> deep = (Map<?, ?>) OutboxCodec.merge(earlier, later, true).get("stats");
+        Map<?, ?> shallow = (Map<?, ?>) OutboxCodec.merge(earlier, later, false).get("stats");
+
+        assertEquals(1L, deep.get("views"));
+        assertEquals(2L, deep.get("likes"));
+        assertFalse(shallow.containsKey("views"));
+    }
+
+    @Test
+    public void serverTimestampSurvivesMerge() {
+        Map<String, Object> merged = OutboxCodec.merge(
+                OutboxWrite.update("c/1").put("title", "A").getFields(),
+                OutboxWrite.update("c/1").serverTimestamp("updatedAt").getFields(),
+                false);
+
+        assertSame(OutboxCodec.SERVER_TIMESTAMP, merged.get("updatedAt"));
+    }
+
+    // ===== coalesce groups =====
+
+    @Test
+    public void groupsWithSameShapeCoalesce() {
+        List<String> merged = OutboxCodec.coalesce(
+                entries(OutboxWrite.update("e/1").put("progress", 1L),
+                        OutboxWrite.setMerge("s/u").increment("lessons", 1)),
+                entries(OutboxWrite.update("e/1").put("progress", 2L),
+                        OutboxWrite.setMerge("s/u").increment("lessons", 1)));
+
+        assertEquals(2L, ((Number) OutboxCodec.decode(merged.get(0)).get("progress")).longValue());
+        assertEquals(2L, ((OutboxCodec.Increment) OutboxCodec.decode(merged.get(1)).get("lessons"))
+                .delta.longValue());
+    }
+
+    @Test
+    public void writesOfDifferentTypesNeverCoalesce() {
+        // An UPDATE fails on a missing document; folding into a SET_MERGE would create it
+        assertNull(OutboxCodec.coalesce(
+                entries(OutboxWrite.update("e/1").put("progress", 1L)),
+                entries(OutboxWrite.setMerge("e/1").put("progress", 2L))));
+        assertNull(OutboxCodec.coalesce(
+                entries(OutboxWrite.delete("e/1")),
+                entries(OutboxWrite.set("e/1").put("progress", 2L))));
+    }
+
+    @Test
+    public void groupsOfDifferentShapeNeverCoalesce() {
+        // Folding into a larger group would commit with writes queued for another reason
+        assertNull(OutboxCodec.coalesce(
+                entries(OutboxWrite.update("e/1").put("progress", 1L),
+                        OutboxWrite.setMerge("s/u").increment("lessons", 1)),
+                entries(OutboxWrite.update("e/1").put("progress", 2L))));
+        assertNull(OutboxCodec.coalesce(
+                entries(OutboxWrite.update("e/1").put("progress", 1L),
+                        OutboxWrite.setMerge("s/u").increment("lessons", 1)),
+                entries(OutboxWrite.update("e/2").put("progress", 2L),
+                        OutboxWrite.setMerge("s/u").increment("lessons", 1))));
+    }
+
+    @Test
+    public void deletesCoalesceWithoutFields() {
+        List<String> merged = OutboxCodec.coalesce(
+                entries(OutboxWrite.delete("e/1")), entries(OutboxWrite.delete("e/1")));
+
+        assertEquals(1, merged.size());
+        assertNull(merged.get(0));
+    }
+
+    @Test
+    public void groupWithNestedUpdatePathsDoesNotCoalesce() {
+        assertNull(OutboxCodec.coalesce(
+                entries(OutboxWrite.update("e/1").put("stats", 1L)),
+                entries(OutboxWrite.update("e/1").put("stats.likes", 2L))));
+    }
+
+    // ===== coalesce =====
+
+    @Test
+    public void laterSetReplacesWholeDocument() {
+        Map<String, Object> fields = OutboxCodec.coalesce(OutboxWrite.Type.SET,
+                OutboxWrite.set("c/1").put("title", "A").increment("views", 1).getFields(),
+                OutboxWrite.set("c/1").put("level", 2L).getFields());
+
+        assertEquals(1, fields.size());
+        assertEquals(2L, fields.get("level"));
+    }
+
+    @Test
+    public void setMergesCoalesceDeeply() {
+        Map<String, Object> fields = OutboxCodec.coalesce(OutboxWrite.Type.SET_MERGE,
+                OutboxWrite.setMerge("c/1")
+                        .put("stats", OutboxWrite.setMerge("").put("views", 1L).getFields()).getFields(),
+                OutboxWrite.setMerge("c/1")
+                        .put("stats", OutboxWrite.setMerge("").put("likes", 2L).getFields()).getFields());
+
+        assertEquals(2, ((Map<?, ?>) fields.get("stats")).size());
+    }
+
+    @Test
+    public void updatesCoalesceOnDisjointPaths() {
+        Map<String, Object> fields = OutboxCodec.coalesce(OutboxWrite.Type.UPDATE,
+                OutboxWrite.update("c/1").put("stats.views", 1L).put("title", "A").getFields(),
+                OutboxWrite.update("c/1").put("stats.likes", 2L).put("title", "B").getFields());
+
+        assertEquals(3, fields.size());
+        assertEquals("B", fields.get("title"));
+    }
+
+    @Test
+    public void updatesOnNestedPathsDoNotCoalesce() {
+        assertNull(OutboxCodec.coalesce(OutboxWrite.Type.UPDATE,
+                OutboxWrite.update("c/1").put("stats", 1L).getFields(),
+                OutboxWrite.update("c/1").put("stats.likes", 2L).getFields()));
+        assertNull(OutboxCodec.coalesce(OutboxWrite.Type.UPDATE,
+                OutboxWrite.update("c/1").put("stats.likes", 2L).getFields(),
+                OutboxWrite.update("c/1").put("stats", 1L).getFields()));
+    }
+
+    @Test
+    public void similarlyNamedPathsAreNotNested() {
+        Map<String, Object> fields = OutboxCodec.coalesce(OutboxWrite.Type.UPDATE,
+                OutboxWrite.update("c/1").put("stat", 1L).getFields(),
+                OutboxWrite.update("c/1").put("stats.likes", 2L).getFields());
+
+        assertEquals(2, fields.size());
+    }
+
+    private static List<OutboxEntry> entries(OutboxWrite... writes) {
+        List<OutboxEntry> entries = new ArrayList<>();
+        for (OutboxWrite write : writes) entries.add(OutboxCodec.toEntry(write, 0));
+        return entries;
+    }
+}
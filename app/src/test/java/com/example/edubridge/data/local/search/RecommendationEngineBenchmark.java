@@ -0,0 +1,266 @@
+package com.example.edubridge.data.local.search;
+
+import com.example.edubridge.data.local.entity.Course;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks the top-k selection against a full sort and times it against the old
+ * dashboard ranking (full sort, goal lowercased per comparison, List.contains
+ * exclusion) on 10k-course catalogs, plus the cached path for enroll/unenroll churn.
+ * Timings are printed, not asserted.
+ */
+public class RecommendationEngineBenchmark {
+
+    private static final int CATALOG_SIZE = 10_000;
+    private static final int ENROLLED = 200;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+
+    private static final String[] CATEGORIES = {
+            "Mathematics", "Science", "Coding", "Art", "Geography", "History", "Music", "Languages" };
+    private static final String[] DIFFICULTIES = { "Beginner", "Intermediate", "Advanced" };
+    private static final String[] STATUSES = { "Not Started", "In Progress", "Completed" };
+    private static final String[] WORDS = {
+            "algebra", "calculus", "statistics", "physics", "chemistry", "biology", "java",
+            "python", "web", "data", "drawing", "illustration", "maps", "cultures", "empires",
+            "harmony", "rhythm", "grammar", "vocabulary", "introduction", "advanced", "fundamentals",
+            "analysis", "design", "theory", "practice", "projects", "basics", "science", "history" };
+    private static final String[] GOALS = {
+            "I want to learn data science", "Mathematics", "calc", "web design projects",
+            "music theory", "get better at python", "", "quantum basket weaving" };
+
+    @Test
+    public void topKMatchesFullSort() {
+        List<Course> catalog = catalog(new Random(7), 2_000);
+        RecommendationEngine engine = new RecommendationEngine(catalog);
+        Set<String> excluded = enrolledIds(new Random(11), catalog, 100);
+
+        for (String goal : GOALS) {
+            List<Course> expected = fullSort(engine, catalog, goal, excluded, RecommendationEngine.DEFAULT_LIMIT);
+            List<Course> actual = engine.recommend(goal, excluded, RecommendationEngine.DEFAULT_LIMIT);
+            assertEquals("goal: " + goal, ids(expected), ids(actual));
+            for (Course c : actual) assertTrue(!excluded.contains(c.courseId));
+        }
+    }
+
+    @Test
+    public void rankingMatchesRecommendUnderExclusion() {
+        List<Course> catalog = catalog(new Random(3), 2_000);
+        RecommendationEngine engine = new RecommendationEngine(catalog);
+        int limit = RecommendationEngine.DEFAULT_LIMIT;
+
+        for (String goal : GOALS) {
+            RecommendationEngine.Ranking ranking = engine.rank(goal, limit + 3);
+            Set<String> excluded = new HashSet<>();
+            // Enroll in the current top course repeatedly, well past the ranking's depth
+            for (int step = 0; step < 12; step++) {
+                List<Course> expected = engine.recommend(goal, excluded, limit);
+                assertEquals("goal: " + goal + ", step " + step,
+                        ids(expected), ids(ranking.top(excluded, limit)));
+                excluded.add(expected.get(0).courseId);
+            }
+        }
+    }
+
+    @Test
+    public void benchmarkEnrollmentChurn() {
+        List<Course> catalog = catalog(new Random(42), CATALOG_SIZE);
+        RecommendationEngine engine = new RecommendationEngine(catalog);
+        RecommendationCache cache = new RecommendationCache(engine, RecommendationEngine.DEFAULT_LIMIT);
+        Set<String> base = enrolledIds(new Random(43), catalog, ENROLLED);
+        String goal = GOALS[0];
+
+        // Alternate between two enrolled sets, as rapid enroll/unenroll does
+        Set<String> withExtra = new HashSet<>(base);
+        withExtra.add(engine.recommend(goal, base, 1).get(0).courseId);
+
+        long[] uncached = new long[MEASURED_ROUNDS];
+        long[] cached = new long[MEASURED_ROUNDS];
+        int sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            Set<String> enrolled = round % 2 == 0 ? base : withExtra;
+            long version = round % 2 == 0 ? 1 : 2;
+
+            long t0 = System.nanoTime();
+            List<Course> fresh = engine.recommend(goal, enrolled, RecommendationEngine.DEFAULT_LIMIT);
+            long t1 = System.nanoTime();
+            List<Course> memo = cache.get(goal, enrolled, version);
+            long t2 = System.nanoTime();
+
+            assertEquals(ids(fresh), ids(memo));
+            sink += memo.size();
+            if (round >= WARMUP_ROUNDS) {
+                uncached[round - WARMUP_ROUNDS] = t1 - t0;
+                cached[round - WARMUP_ROUNDS] = t2 - t1;
+            }
+        }
+        assertTrue(sink > 0);
+
+        System.out.println(String.format(Locale.US,
+                "RecommendationCache, %d courses, enroll/unenroll churn:%n"
+                        + "  rescore       p50 %8.3f ms  p95 %8.3f ms%n"
+                        + "  cached        p50 %8.3f ms  p95 %8.3f ms",
+                CATALOG_SIZE,
+                percentile(uncached, 0.50) / 1e6, percentile(uncached, 0.95) / 1e6,
+                percentile(cached, 0.50) / 1e6, percentile(cached, 0.95) / 1e6));
+    }
+
+    @Test
+    public void benchmark10kCatalog() {
+        List<Course> catalog = catalog(new Random(42), CATALOG_SIZE);
+        Set<String> enrolledSet = enrolledIds(new Random(43), catalog, ENROLLED);
+        List<String> enrolledList = new ArrayList<>(enrolledSet);
+
+        long buildStart = System.nanoTime();
+        RecommendationEngine engine = new RecommendationEngine(catalog);
+        long buildNanos = System.nanoTime() - buildStart;
+
+        long[] legacy = new long[MEASURED_ROUNDS];
+        long[] topK = new long[MEASURED_ROUNDS];
+        int sink = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            String goal = GOALS[round % GOALS.length];
+
+            long t0 = System.nanoTime();
+            sink += legacyRecommend(catalog, goal, enrolledList).size();
+            long t1 = System.nanoTime();
+            sink += engine.recommend(goal, enrolledSet, RecommendationEngine.DEFAULT_LIMIT).size();
+            long t2 = System.nanoTime();
+
+            if (round >= WARMUP_ROUNDS) {
+                legacy[round - WARMUP_ROUNDS] = t1 - t0;
+                topK[round - WARMUP_ROUNDS] = t2 - t1;
+            }
+        }
+        assertTrue(sink > 0);
+
+        System.out.println(String.format(Locale.US,
+                "RecommendationEngine, %d courses, %d enrolled: build %.2f ms%n"
+                        + "  legacy sort   p50 %8.3f ms  p95 %8.3f ms%n"
+                        + "  top-k engine  p50 %8.3f ms  p95 %8.3f ms",
+                CATALOG_SIZE, ENROLLED, buildNanos / 1e6,
+                percentile(legacy, 0.50) / 1e6, percentile(legacy, 0.95) / 1e6,
+                percentile(topK, 0.50) / 1e6, percentile(topK, 0.95) / 1e6));
+    }
+
+    /* -------- Reference implementations -------- */
+
+    private static List<Course> fullSort(RecommendationEngine engine, List<Course> catalog, String goal,
+                                         Set<String> excluded, int limit) {
+        int[] scores = engine.score(goal);
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < catalog.size(); i++) {
+            if (!excluded.contains(catalog.get(i).courseId)) order.add(i);
+        }
+        order.sort((a, b) -> {
+            int sa = scores != null ? scores[a] : 0;
+            int sb = scores != null ? scores[b] : 0;
+            if (sa != sb) return Integer.compare(sb, sa);
+            Course ca = catalog.get(a);
+            Course cb = catalog.get(b);
+            int s = Integer.compare(RecommendationEngine.statusPriority(ca.status),
+                    RecommendationEngine.statusPriority(cb.status));
+            if (s != 0) return s;
+            int d = Integer.compare(RecommendationEngine.difficultyPriority(ca.difficulty),
+                    RecommendationEngine.difficultyPriority(cb.difficulty));
+            if (d != 0) return d;
+            return Integer.compare(a, b);
+        });
+        List<Course> result = new ArrayList<>();
+        for (int i = 0; i < Math.min(limit, order.size()); i++) result.add(catalog.get(order.get(i)));
+        return result;
+    }
+
+    /**
+     * The ranking DashboardActivity used before the engine.
+     */
+    private static List<Course> legacyRecommend(List<Course> catalog, String goal, List<String> enrolled) {
+        List<Course> filtered = new ArrayList<>();
+        for (Course c : catalog) {
+            if (!enrolled.contains(c.courseId)) filtered.add(c);
+        }
+        filtered.sort((c1, c2) -> {
+            boolean m1 = legacyGoalMatch(c1, goal);
+            boolean m2 = legacyGoalMatch(c2, goal);
+            if (m1 != m2) return m1 ? -1 : 1;
+            int s = Integer.compare(RecommendationEngine.statusPriority(c1.status),
+                    RecommendationEngine.statusPriority(c2.status));
+            if (s != 0) return s;
+            return Integer.compare(RecommendationEngine.difficultyPriority(c1.difficulty),
+                    RecommendationEngine.difficultyPriority(c2.difficulty));
+        });
+        return filtered.size() > 5 ? filtered.subList(0, 5) : filtered;
+    }
+
+    private static boolean legacyGoalMatch(Course course, String userGoal) {
+        if (userGoal == null || userGoal.isEmpty()) return false;
+        String goal = userGoal.toLowerCase().trim();
+        if (course.category != null) {
+            String cat = course.category.toLowerCase();
+            if (cat.contains(goal) || goal.contains(cat)) return true;
+        }
+        boolean inTitle = course.title != null && course.title.toLowerCase().contains(goal);
+        boolean inDesc = course.description != null && course.description.toLowerCase().contains(goal);
+        return inTitle || inDesc;
+    }
+
+    /* -------- Fixtures -------- */
+
+    private static List<Course> catalog(Random random, int size) {
+        List<Course> courses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Course c = new Course();
+            c.courseId = "course" + i;
+            c.category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            c.title = capitalize(words(random, 2 + random.nextInt(2)));
+            c.description = words(random, 6 + random.nextInt(8));
+            c.difficulty = DIFFICULTIES[random.nextInt(DIFFICULTIES.length)];
+            c.status = STATUSES[random.nextInt(STATUSES.length)];
+            courses.add(c);
+        }
+        return courses;
+    }
+
+    private static Set<String> enrolledIds(Random random, List<Course> catalog, int count) {
+        Set<String> ids = new HashSet<>();
+        while (ids.size() < count) ids.add(catalog.get(random.nextInt(catalog.size())).courseId);
+        return ids;
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static String capitalize(String s) {
+        return Character.toUpperCase(s.charAt(0)) + s.substring(1);
+    }
+
+    private static List<String> ids(List<Course> courses) {
+        List<String> ids = new ArrayList<>();
+        for (Course c : courses) ids.add(c.courseId);
+        return ids;
+    }
+
+    private static long percentile(long[] values, double quantile) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+}